@@ -0,0 +1,36 @@
+package com.util.simpleExcel.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @className: BenchmarkRunner
+ * @description: 基准测试入口, 默认运行全部基准并开启GC/分配率分析(gc.alloc.rate.norm为每次操作分配的字节数),
+ * 结果以JSON写入jmh-result.json便于与基线对比. 支持JMH命令行参数, 如: java -jar benchmarks.jar ExportBenchmark -p rows=1000
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLine.getResult().orElse("jmh-result.json"));
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("com\\.util\\.simpleExcel\\.benchmark\\..*");
+        }
+        new Runner(builder.build()).run();
+    }
+}
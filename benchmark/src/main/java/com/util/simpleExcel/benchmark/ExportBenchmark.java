@@ -0,0 +1,80 @@
+package com.util.simpleExcel.benchmark;
+
+import com.util.simpleExcel.util.CsvOptions;
+import com.util.simpleExcel.util.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ExportBenchmark
+ * @description: xls导出(exportExcelByte)以及写入输出流的xlsx流式导出与CSV导出, 按行数、列数与单元格值类型参数化.
+ * xls单sheet上限65536行, 更大的行数请使用{@link StreamingExportBenchmark}
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExportBenchmark {
+
+    @Param({"1000", "10000", "60000"})
+    private int rows;
+
+    @Param({"10", "50"})
+    private int columns;
+
+    @Param({"TEXT", "NUMBER", "MIXED"})
+    private SyntheticData.ValueType valueType;
+
+    private List<?> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SyntheticData.rows(valueType, columns, rows);
+    }
+
+    @Benchmark
+    public byte[] exportExcelByte() {
+        return ExcelUtil.exportExcelByte(sheets());
+    }
+
+    @Benchmark
+    public long exportBigExcelToStream() throws IOException {
+        NullOutputStream out = new NullOutputStream();
+        ExcelUtil.exportBigExcel(sheets(), null, null, out);
+        return out.getCount();
+    }
+
+    @Benchmark
+    public long exportCsvToStream() throws IOException {
+        NullOutputStream out = new NullOutputStream();
+        ExcelUtil.exportCsv(sheets().get(0), null, null, CsvOptions.csv(), out);
+        return out.getCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ExcelUtil.ExcelSheet<Object>> sheets() {
+        ExcelUtil.ExcelSheet<Object> sheet = new ExcelUtil.ExcelSheet<>();
+        sheet.setSheetName("benchmark");
+        sheet.setDataset((List<Object>) data);
+        return Collections.singletonList(sheet);
+    }
+}
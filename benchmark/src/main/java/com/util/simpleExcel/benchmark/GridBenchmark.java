@@ -0,0 +1,126 @@
+package com.util.simpleExcel.benchmark;
+
+import com.util.simpleExcel.util.ExcelUtil;
+import com.util.simpleExcel.util.ExcelVO;
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: GridBenchmark
+ * @description: ExcelVO表格绘制: fillFixColuSizeDataGrid、fillAutoColuSizeDataGrid、getCell、setColumnAutoSize、mergeCell,
+ * 每次调用前重新创建工作簿, 创建与预填充不计入耗时. 行数只到10000: ExcelVO基于HSSF, 单sheet上限65536行,
+ * 且每次调用都要在堆中重新预填充整个表格; 更大的行数(至100万行)见{@link StreamingExportBenchmark}
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GridBenchmark {
+
+    private static final String SHEET_NAME = "benchmark";
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    @Param({"10", "50"})
+    private int columns;
+
+    private List<SyntheticData.MixedRow> beans;
+    private List<List<String>> grid;
+    private List<ExcelVO.CellRangeVo> ranges;
+
+    /**空工作簿*/
+    private ExcelVO empty;
+    /**已绘制rows * columns表格的工作簿*/
+    private ExcelVO filled;
+
+    @Setup(Level.Trial)
+    public void setUpData() {
+        beans = SyntheticData.mixedRows(rows);
+        grid = SyntheticData.stringGrid(rows, columns);
+        // 每两行合并一次, 每行合并前两列
+        ranges = new ArrayList<>(rows);
+        for (int r = 0; r + 1 < rows; r += 2) {
+            ranges.add(new ExcelVO.CellRangeVo(r, r + 1, 0, 1, "合并" + r, null));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpWorkbook() {
+        empty = new ExcelVO();
+        filled = new ExcelVO();
+        ExcelUtil.fillAutoColuSizeDataGrid(filled, SHEET_NAME, Collections.singletonList(gridVo(grid)), false);
+    }
+
+    @Benchmark
+    public ExcelVO fillFixColuSizeDataGrid() {
+        ExcelVO.DataGridVo<SyntheticData.MixedRow> dataGridVo = new ExcelVO.DataGridVo<>();
+        dataGridVo.setIncludeBaseheader(Boolean.TRUE);
+        dataGridVo.setHasBorder(Boolean.TRUE);
+        dataGridVo.setTClass(SyntheticData.MixedRow.class);
+        dataGridVo.setDataList(beans);
+        ExcelUtil.fillFixColuSizeDataGrid(empty, SHEET_NAME, Collections.singletonList(dataGridVo));
+        return empty;
+    }
+
+    @Benchmark
+    public ExcelVO fillAutoColuSizeDataGrid() {
+        ExcelUtil.fillAutoColuSizeDataGrid(empty, SHEET_NAME, Collections.singletonList(gridVo(grid)), true);
+        return empty;
+    }
+
+    @Benchmark
+    public void getCell(Blackhole blackhole) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                HSSFCell cell = filled.getCell(SHEET_NAME, r, c);
+                blackhole.consume(cell);
+            }
+        }
+    }
+
+    @Benchmark
+    public ExcelVO setColumnAutoSize() {
+        ExcelUtil.setColumnAutoSize(filled, SHEET_NAME, 0, columns - 1);
+        return filled;
+    }
+
+    @Benchmark
+    public ExcelVO setColumnEstimatedSize() {
+        ExcelUtil.setColumnEstimatedSize(filled, SHEET_NAME, 0, columns - 1, 0);
+        return filled;
+    }
+
+    @Benchmark
+    public ExcelVO mergeCell() {
+        ExcelUtil.mergeCell(empty, SHEET_NAME, ranges);
+        return empty;
+    }
+
+    private static ExcelVO.DataGridVo<List<String>> gridVo(List<List<String>> data) {
+        ExcelVO.DataGridVo<List<String>> dataGridVo = new ExcelVO.DataGridVo<>();
+        dataGridVo.setDataList(data);
+        return dataGridVo;
+    }
+}
@@ -0,0 +1,106 @@
+package com.util.simpleExcel.benchmark;
+
+import cn.jointwisdom.mrad.ai.hab.param.ImportParams;
+import com.util.simpleExcel.util.CsvOptions;
+import com.util.simpleExcel.util.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ImportBenchmark
+ * @description: 导入基准, 先按参数生成合成的xls/xlsx文件, 对比一次性加载工作簿的importExcel与流式回调导入.
+ * xls单sheet上限65536行, 更大的行数以及csv见{@link StreamingImportBenchmark}
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ImportBenchmark {
+
+    @Param({"1000", "60000"})
+    private int rows;
+
+    @Param({"xls", "xlsx"})
+    private String format;
+
+    private final ExcelUtil excelUtil = new ExcelUtil();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = generate(format, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object importExcel() throws IOException {
+        return excelUtil.importExcel(open(file), SyntheticData.MixedRow.class, params(format));
+    }
+
+    @Benchmark
+    public Object importExcelStreaming(Blackhole blackhole) throws IOException {
+        return excelUtil.importExcel(open(file), SyntheticData.MixedRow.class, params(format),
+                (rowNum, row) -> blackhole.consume(row));
+    }
+
+    /**
+     * @description 生成指定格式与行数的合成文件, 数据列与{@link SyntheticData.MixedRow}一致
+     */
+    static Path generate(String format, int rows) throws IOException {
+        Path path = Files.createTempFile("simpleExcel-benchmark-", "." + format);
+        ExcelUtil.ExcelSheet<SyntheticData.MixedRow> sheet = new ExcelUtil.ExcelSheet<>();
+        sheet.setSheetName("benchmark");
+        sheet.setDataset(SyntheticData.mixedRows(rows));
+        if ("csv".equals(format)) {
+            ExcelUtil.exportCsv(sheet, null, null, CsvOptions.csv(), path);
+        } else if ("xlsx".equals(format)) {
+            ExcelUtil.exportBigExcel(Collections.singletonList(sheet), null, null, path);
+        } else {
+            try (OutputStream out = Files.newOutputStream(path)) {
+                ExcelUtil.exportExcel(Collections.singletonList(sheet), null, null, out);
+            }
+        }
+        return path;
+    }
+
+    static ImportParams params(String format) {
+        ImportParams params = new ImportParams();
+        params.setFileName("benchmark." + format);
+        params.setSheetNum(0);
+        params.setHeadRow(0);
+        return params;
+    }
+
+    static InputStream open(Path path) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+    }
+}
@@ -0,0 +1,28 @@
+package com.util.simpleExcel.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * @className: NullOutputStream
+ * @description: 丢弃写入内容只记录字节数, 基准测试中排除磁盘与内存拷贝的影响
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+final class NullOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,62 @@
+package com.util.simpleExcel.benchmark;
+
+import com.util.simpleExcel.util.ColumnWidthStrategy;
+import com.util.simpleExcel.util.ExcelDataSource;
+import com.util.simpleExcel.util.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: StreamingExportBenchmark
+ * @description: 大数据量xlsx流式导出, 数据通过分页数据源按需生成, 对比串行与并行格式化以及列宽策略
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StreamingExportBenchmark {
+
+    private static final int PAGE_SIZE = 5000;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"AUTO_SIZE", "SAMPLE"})
+    private ColumnWidthStrategy widthStrategy;
+
+    @Benchmark
+    public long exportBigExcel() throws IOException {
+        ExcelUtil.ExcelSheet<SyntheticData.MixedRow> sheet = new ExcelUtil.ExcelSheet<>();
+        sheet.setSheetName("benchmark");
+        sheet.setParallel(parallel);
+        sheet.setWidthStrategy(widthStrategy);
+        sheet.setDataSource(ExcelDataSource.paged((pageIndex, pageSize, last) -> {
+            int remaining = rows - pageIndex * pageSize;
+            return remaining <= 0 ? null : SyntheticData.mixedRows(Math.min(pageSize, remaining));
+        }, PAGE_SIZE));
+        List<ExcelUtil.ExcelSheet<SyntheticData.MixedRow>> sheets = Collections.singletonList(sheet);
+        NullOutputStream out = new NullOutputStream();
+        ExcelUtil.exportBigExcel(sheets, null, null, out);
+        return out.getCount();
+    }
+}
@@ -0,0 +1,69 @@
+package com.util.simpleExcel.benchmark;
+
+import com.util.simpleExcel.util.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: StreamingImportBenchmark
+ * @description: 流式导入, 1千至100万行的xlsx与csv, 堆大小固定为1g以验证内存占用与文件大小无关,
+ * 并行绑定与单线程绑定对比
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StreamingImportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"xlsx", "csv"})
+    private String format;
+
+    private final ExcelUtil excelUtil = new ExcelUtil();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = ImportBenchmark.generate(format, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object importExcelStreaming(Blackhole blackhole) throws IOException {
+        return excelUtil.importExcel(ImportBenchmark.open(file), SyntheticData.MixedRow.class,
+                ImportBenchmark.params(format), (rowNum, row) -> blackhole.consume(row));
+    }
+
+    @Benchmark
+    public Object importExcelParallel(Blackhole blackhole) throws IOException {
+        return excelUtil.importExcel(ImportBenchmark.open(file), SyntheticData.MixedRow.class,
+                ImportBenchmark.params(format), null, (rowNum, row) -> blackhole.consume(row));
+    }
+}
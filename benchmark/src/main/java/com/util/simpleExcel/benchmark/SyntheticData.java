@@ -0,0 +1,596 @@
+package com.util.simpleExcel.benchmark;
+
+import cn.jointwisdom.mrad.ai.base.annotation.Excel;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @className: SyntheticData
+ * @description: 基准测试用的合成数据, 固定随机种子保证每次运行数据一致
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class SyntheticData {
+
+    private static final long SEED = 20261018L;
+    /**宽表列数*/
+    public static final int WIDE_COLUMNS = 50;
+    private static final String[] WORDS = {"北京青蓝大酒店", "标准间", "Deluxe King", "预付", "会员价", "早餐",
+            "含税", "OTA渠道", "携程", "Booking", "取消", "已入住"};
+
+    private SyntheticData() {
+    }
+
+    /**
+     * 单元格值类型组合
+     */
+    public enum ValueType {
+        /**全部为字符串*/
+        TEXT,
+        /**Integer/Long/Double/BigDecimal*/
+        NUMBER,
+        /**字符串、数值、日期、布尔混合*/
+        MIXED
+    }
+
+    /**
+     * @description 按值类型与列数生成数据
+     * @param type    值类型
+     * @param columns 列数, 支持10与50
+     * @param count   行数
+     * @return
+     */
+    public static List<?> rows(ValueType type, int columns, int count) {
+        if (columns == 10) {
+            switch (type) {
+                case TEXT:
+                    return textRows(count);
+                case NUMBER:
+                    return numberRows(count);
+                default:
+                    return mixedRows(count);
+            }
+        }
+        if (columns == WIDE_COLUMNS) {
+            switch (type) {
+                case TEXT:
+                    return wideRows(WideTextRow.class, count);
+                case NUMBER:
+                    return wideRows(WideNumberRow.class, count);
+                default:
+                    return wideRows(WideMixedRow.class, count);
+            }
+        }
+        throw new IllegalArgumentException("不支持的列数:" + columns);
+    }
+
+    public static List<TextRow> textRows(int count) {
+        Random random = new Random(SEED);
+        List<TextRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TextRow row = new TextRow();
+            row.c1 = "R" + i;
+            row.c2 = word(random);
+            row.c3 = word(random);
+            row.c4 = word(random) + random.nextInt(1000);
+            row.c5 = word(random);
+            row.c6 = String.valueOf(random.nextInt(100000));
+            row.c7 = word(random) + "," + word(random);
+            row.c8 = word(random);
+            row.c9 = word(random);
+            row.c10 = word(random);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public static List<NumberRow> numberRows(int count) {
+        Random random = new Random(SEED);
+        List<NumberRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            NumberRow row = new NumberRow();
+            row.c1 = i;
+            row.c2 = random.nextLong();
+            row.c3 = random.nextDouble() * 10000;
+            row.c4 = BigDecimal.valueOf(random.nextInt(10000000), 2);
+            row.c5 = random.nextInt(1000);
+            row.c6 = (long) random.nextInt();
+            row.c7 = random.nextGaussian();
+            row.c8 = BigDecimal.valueOf(random.nextInt(1000), 0);
+            row.c9 = random.nextInt();
+            row.c10 = random.nextDouble();
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public static List<MixedRow> mixedRows(int count) {
+        Random random = new Random(SEED);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<MixedRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MixedRow row = new MixedRow();
+            row.name = word(random);
+            row.roomNights = random.nextInt(30);
+            row.price = random.nextDouble() * 2000;
+            row.amount = BigDecimal.valueOf(random.nextInt(10000000), 2);
+            row.checkIn = start.plusDays(random.nextInt(1000));
+            row.createTime = LocalDateTime.of(row.checkIn, LocalTime.of(random.nextInt(24), random.nextInt(60)));
+            row.payTime = new Date(1577836800000L + random.nextInt(Integer.MAX_VALUE) * 10L);
+            row.member = random.nextBoolean();
+            row.channel = word(random);
+            row.remark = random.nextInt(10) == 0 ? null : word(random) + " " + word(random);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * @description 列数可变的字符串表格, 用于fillAutoColuSizeDataGrid
+     * @param count   行数
+     * @param columns 列数
+     * @return
+     */
+    public static List<List<String>> stringGrid(int count, int columns) {
+        Random random = new Random(SEED);
+        List<List<String>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] row = new String[columns];
+            for (int c = 0; c < columns; c++) {
+                row[c] = c == 0 ? String.valueOf(i) : word(random);
+            }
+            rows.add(Arrays.asList(row));
+        }
+        return rows;
+    }
+
+    /**
+     * @description 50列的宽表, 字段较多, 按字段类型反射赋值, 数据生成不计入基准耗时
+     * @param type  宽表类型
+     * @param count 行数
+     * @return
+     */
+    public static <T> List<T> wideRows(Class<T> type, int count) {
+        Random random = new Random(SEED);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        Field[] fields = type.getDeclaredFields();
+        for (Field field : fields) {
+            field.setAccessible(true);
+        }
+        List<T> rows = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                T row = type.newInstance();
+                for (Field field : fields) {
+                    field.set(row, value(field.getType(), random, start));
+                }
+                rows.add(row);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return rows;
+    }
+
+    private static Object value(Class<?> type, Random random, LocalDate start) {
+        if (type == Integer.class) {
+            return random.nextInt(100000);
+        } else if (type == Long.class) {
+            return random.nextLong();
+        } else if (type == Double.class) {
+            return random.nextDouble() * 10000;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(random.nextInt(10000000), 2);
+        } else if (type == LocalDate.class) {
+            return start.plusDays(random.nextInt(1000));
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.of(start.plusDays(random.nextInt(1000)),
+                    LocalTime.of(random.nextInt(24), random.nextInt(60)));
+        } else if (type == Date.class) {
+            return new Date(1577836800000L + random.nextInt(Integer.MAX_VALUE) * 10L);
+        } else if (type == Boolean.class) {
+            return random.nextBoolean();
+        }
+        return word(random);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static class TextRow {
+        @Excel(index = 1, name = "列1")
+        private String c1;
+        @Excel(index = 2, name = "列2")
+        private String c2;
+        @Excel(index = 3, name = "列3")
+        private String c3;
+        @Excel(index = 4, name = "列4")
+        private String c4;
+        @Excel(index = 5, name = "列5")
+        private String c5;
+        @Excel(index = 6, name = "列6")
+        private String c6;
+        @Excel(index = 7, name = "列7")
+        private String c7;
+        @Excel(index = 8, name = "列8")
+        private String c8;
+        @Excel(index = 9, name = "列9")
+        private String c9;
+        @Excel(index = 10, name = "列10")
+        private String c10;
+    }
+
+    public static class NumberRow {
+        @Excel(index = 1, name = "Integer")
+        private Integer c1;
+        @Excel(index = 2, name = "Long")
+        private Long c2;
+        @Excel(index = 3, name = "Double")
+        private Double c3;
+        @Excel(index = 4, name = "BigDecimal")
+        private BigDecimal c4;
+        @Excel(index = 5, name = "Integer2")
+        private Integer c5;
+        @Excel(index = 6, name = "Long2")
+        private Long c6;
+        @Excel(index = 7, name = "Double2")
+        private Double c7;
+        @Excel(index = 8, name = "BigDecimal2")
+        private BigDecimal c8;
+        @Excel(index = 9, name = "Integer3")
+        private Integer c9;
+        @Excel(index = 10, name = "Double3")
+        private Double c10;
+    }
+
+    public static class MixedRow {
+        @Excel(index = 1, name = "酒店名称")
+        private String name;
+        @Excel(index = 2, name = "间夜数")
+        private Integer roomNights;
+        @Excel(index = 3, name = "房价")
+        private Double price;
+        @Excel(index = 4, name = "金额")
+        private BigDecimal amount;
+        @Excel(index = 5, name = "入住日期")
+        private LocalDate checkIn;
+        @Excel(index = 6, name = "创建时间")
+        private LocalDateTime createTime;
+        @Excel(index = 7, name = "支付时间")
+        private Date payTime;
+        @Excel(index = 8, name = "会员")
+        private Boolean member;
+        @Excel(index = 9, name = "渠道")
+        private String channel;
+        @Excel(index = 10, name = "备注", defaultValue = "-")
+        private String remark;
+    }
+
+    /**
+     * 50列字符串
+     */
+    public static class WideTextRow {
+        @Excel(index = 1, name = "列1")
+        private String c1;
+        @Excel(index = 2, name = "列2")
+        private String c2;
+        @Excel(index = 3, name = "列3")
+        private String c3;
+        @Excel(index = 4, name = "列4")
+        private String c4;
+        @Excel(index = 5, name = "列5")
+        private String c5;
+        @Excel(index = 6, name = "列6")
+        private String c6;
+        @Excel(index = 7, name = "列7")
+        private String c7;
+        @Excel(index = 8, name = "列8")
+        private String c8;
+        @Excel(index = 9, name = "列9")
+        private String c9;
+        @Excel(index = 10, name = "列10")
+        private String c10;
+        @Excel(index = 11, name = "列11")
+        private String c11;
+        @Excel(index = 12, name = "列12")
+        private String c12;
+        @Excel(index = 13, name = "列13")
+        private String c13;
+        @Excel(index = 14, name = "列14")
+        private String c14;
+        @Excel(index = 15, name = "列15")
+        private String c15;
+        @Excel(index = 16, name = "列16")
+        private String c16;
+        @Excel(index = 17, name = "列17")
+        private String c17;
+        @Excel(index = 18, name = "列18")
+        private String c18;
+        @Excel(index = 19, name = "列19")
+        private String c19;
+        @Excel(index = 20, name = "列20")
+        private String c20;
+        @Excel(index = 21, name = "列21")
+        private String c21;
+        @Excel(index = 22, name = "列22")
+        private String c22;
+        @Excel(index = 23, name = "列23")
+        private String c23;
+        @Excel(index = 24, name = "列24")
+        private String c24;
+        @Excel(index = 25, name = "列25")
+        private String c25;
+        @Excel(index = 26, name = "列26")
+        private String c26;
+        @Excel(index = 27, name = "列27")
+        private String c27;
+        @Excel(index = 28, name = "列28")
+        private String c28;
+        @Excel(index = 29, name = "列29")
+        private String c29;
+        @Excel(index = 30, name = "列30")
+        private String c30;
+        @Excel(index = 31, name = "列31")
+        private String c31;
+        @Excel(index = 32, name = "列32")
+        private String c32;
+        @Excel(index = 33, name = "列33")
+        private String c33;
+        @Excel(index = 34, name = "列34")
+        private String c34;
+        @Excel(index = 35, name = "列35")
+        private String c35;
+        @Excel(index = 36, name = "列36")
+        private String c36;
+        @Excel(index = 37, name = "列37")
+        private String c37;
+        @Excel(index = 38, name = "列38")
+        private String c38;
+        @Excel(index = 39, name = "列39")
+        private String c39;
+        @Excel(index = 40, name = "列40")
+        private String c40;
+        @Excel(index = 41, name = "列41")
+        private String c41;
+        @Excel(index = 42, name = "列42")
+        private String c42;
+        @Excel(index = 43, name = "列43")
+        private String c43;
+        @Excel(index = 44, name = "列44")
+        private String c44;
+        @Excel(index = 45, name = "列45")
+        private String c45;
+        @Excel(index = 46, name = "列46")
+        private String c46;
+        @Excel(index = 47, name = "列47")
+        private String c47;
+        @Excel(index = 48, name = "列48")
+        private String c48;
+        @Excel(index = 49, name = "列49")
+        private String c49;
+        @Excel(index = 50, name = "列50")
+        private String c50;
+    }
+
+    /**
+     * 50列Integer/Long/Double/BigDecimal
+     */
+    public static class WideNumberRow {
+        @Excel(index = 1, name = "列1")
+        private Integer c1;
+        @Excel(index = 2, name = "列2")
+        private Long c2;
+        @Excel(index = 3, name = "列3")
+        private Double c3;
+        @Excel(index = 4, name = "列4")
+        private BigDecimal c4;
+        @Excel(index = 5, name = "列5")
+        private Integer c5;
+        @Excel(index = 6, name = "列6")
+        private Integer c6;
+        @Excel(index = 7, name = "列7")
+        private Long c7;
+        @Excel(index = 8, name = "列8")
+        private Double c8;
+        @Excel(index = 9, name = "列9")
+        private BigDecimal c9;
+        @Excel(index = 10, name = "列10")
+        private Integer c10;
+        @Excel(index = 11, name = "列11")
+        private Integer c11;
+        @Excel(index = 12, name = "列12")
+        private Long c12;
+        @Excel(index = 13, name = "列13")
+        private Double c13;
+        @Excel(index = 14, name = "列14")
+        private BigDecimal c14;
+        @Excel(index = 15, name = "列15")
+        private Integer c15;
+        @Excel(index = 16, name = "列16")
+        private Integer c16;
+        @Excel(index = 17, name = "列17")
+        private Long c17;
+        @Excel(index = 18, name = "列18")
+        private Double c18;
+        @Excel(index = 19, name = "列19")
+        private BigDecimal c19;
+        @Excel(index = 20, name = "列20")
+        private Integer c20;
+        @Excel(index = 21, name = "列21")
+        private Integer c21;
+        @Excel(index = 22, name = "列22")
+        private Long c22;
+        @Excel(index = 23, name = "列23")
+        private Double c23;
+        @Excel(index = 24, name = "列24")
+        private BigDecimal c24;
+        @Excel(index = 25, name = "列25")
+        private Integer c25;
+        @Excel(index = 26, name = "列26")
+        private Integer c26;
+        @Excel(index = 27, name = "列27")
+        private Long c27;
+        @Excel(index = 28, name = "列28")
+        private Double c28;
+        @Excel(index = 29, name = "列29")
+        private BigDecimal c29;
+        @Excel(index = 30, name = "列30")
+        private Integer c30;
+        @Excel(index = 31, name = "列31")
+        private Integer c31;
+        @Excel(index = 32, name = "列32")
+        private Long c32;
+        @Excel(index = 33, name = "列33")
+        private Double c33;
+        @Excel(index = 34, name = "列34")
+        private BigDecimal c34;
+        @Excel(index = 35, name = "列35")
+        private Integer c35;
+        @Excel(index = 36, name = "列36")
+        private Integer c36;
+        @Excel(index = 37, name = "列37")
+        private Long c37;
+        @Excel(index = 38, name = "列38")
+        private Double c38;
+        @Excel(index = 39, name = "列39")
+        private BigDecimal c39;
+        @Excel(index = 40, name = "列40")
+        private Integer c40;
+        @Excel(index = 41, name = "列41")
+        private Integer c41;
+        @Excel(index = 42, name = "列42")
+        private Long c42;
+        @Excel(index = 43, name = "列43")
+        private Double c43;
+        @Excel(index = 44, name = "列44")
+        private BigDecimal c44;
+        @Excel(index = 45, name = "列45")
+        private Integer c45;
+        @Excel(index = 46, name = "列46")
+        private Integer c46;
+        @Excel(index = 47, name = "列47")
+        private Long c47;
+        @Excel(index = 48, name = "列48")
+        private Double c48;
+        @Excel(index = 49, name = "列49")
+        private BigDecimal c49;
+        @Excel(index = 50, name = "列50")
+        private Integer c50;
+    }
+
+    /**
+     * 50列混合类型, 类型分布与MixedRow相同
+     */
+    public static class WideMixedRow {
+        @Excel(index = 1, name = "列1")
+        private String c1;
+        @Excel(index = 2, name = "列2")
+        private Integer c2;
+        @Excel(index = 3, name = "列3")
+        private Double c3;
+        @Excel(index = 4, name = "列4")
+        private BigDecimal c4;
+        @Excel(index = 5, name = "列5")
+        private LocalDate c5;
+        @Excel(index = 6, name = "列6")
+        private LocalDateTime c6;
+        @Excel(index = 7, name = "列7")
+        private Date c7;
+        @Excel(index = 8, name = "列8")
+        private Boolean c8;
+        @Excel(index = 9, name = "列9")
+        private String c9;
+        @Excel(index = 10, name = "列10")
+        private String c10;
+        @Excel(index = 11, name = "列11")
+        private String c11;
+        @Excel(index = 12, name = "列12")
+        private Integer c12;
+        @Excel(index = 13, name = "列13")
+        private Double c13;
+        @Excel(index = 14, name = "列14")
+        private BigDecimal c14;
+        @Excel(index = 15, name = "列15")
+        private LocalDate c15;
+        @Excel(index = 16, name = "列16")
+        private LocalDateTime c16;
+        @Excel(index = 17, name = "列17")
+        private Date c17;
+        @Excel(index = 18, name = "列18")
+        private Boolean c18;
+        @Excel(index = 19, name = "列19")
+        private String c19;
+        @Excel(index = 20, name = "列20")
+        private String c20;
+        @Excel(index = 21, name = "列21")
+        private String c21;
+        @Excel(index = 22, name = "列22")
+        private Integer c22;
+        @Excel(index = 23, name = "列23")
+        private Double c23;
+        @Excel(index = 24, name = "列24")
+        private BigDecimal c24;
+        @Excel(index = 25, name = "列25")
+        private LocalDate c25;
+        @Excel(index = 26, name = "列26")
+        private LocalDateTime c26;
+        @Excel(index = 27, name = "列27")
+        private Date c27;
+        @Excel(index = 28, name = "列28")
+        private Boolean c28;
+        @Excel(index = 29, name = "列29")
+        private String c29;
+        @Excel(index = 30, name = "列30")
+        private String c30;
+        @Excel(index = 31, name = "列31")
+        private String c31;
+        @Excel(index = 32, name = "列32")
+        private Integer c32;
+        @Excel(index = 33, name = "列33")
+        private Double c33;
+        @Excel(index = 34, name = "列34")
+        private BigDecimal c34;
+        @Excel(index = 35, name = "列35")
+        private LocalDate c35;
+        @Excel(index = 36, name = "列36")
+        private LocalDateTime c36;
+        @Excel(index = 37, name = "列37")
+        private Date c37;
+        @Excel(index = 38, name = "列38")
+        private Boolean c38;
+        @Excel(index = 39, name = "列39")
+        private String c39;
+        @Excel(index = 40, name = "列40")
+        private String c40;
+        @Excel(index = 41, name = "列41")
+        private String c41;
+        @Excel(index = 42, name = "列42")
+        private Integer c42;
+        @Excel(index = 43, name = "列43")
+        private Double c43;
+        @Excel(index = 44, name = "列44")
+        private BigDecimal c44;
+        @Excel(index = 45, name = "列45")
+        private LocalDate c45;
+        @Excel(index = 46, name = "列46")
+        private LocalDateTime c46;
+        @Excel(index = 47, name = "列47")
+        private Date c47;
+        @Excel(index = 48, name = "列48")
+        private Boolean c48;
+        @Excel(index = 49, name = "列49")
+        private String c49;
+        @Excel(index = 50, name = "列50")
+        private String c50;
+    }
+}
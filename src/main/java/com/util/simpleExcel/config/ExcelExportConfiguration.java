@@ -0,0 +1,22 @@
+package com.util.simpleExcel.config;
+
+import com.util.simpleExcel.util.ExcelExportPlanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @className: ExcelExportConfiguration
+ * @description: 通过simple-excel.export.heap-budget(如512MB)配置单次导出的堆内存预算, 未配置时为最大堆的1/4
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "simple-excel.export", name = "heap-budget")
+public class ExcelExportConfiguration {
+
+    public ExcelExportConfiguration(@Value("${simple-excel.export.heap-budget}") DataSize heapBudget) {
+        ExcelExportPlanner.setHeapBudget(heapBudget.toBytes());
+    }
+}
@@ -0,0 +1,46 @@
+package com.util.simpleExcel.config;
+
+import com.util.simpleExcel.util.ExcelMetrics;
+import com.util.simpleExcel.util.ExcelMetricsListener;
+import com.util.simpleExcel.util.MicrometerExcelMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @className: ExcelMetricsConfiguration
+ * @description: 引入micrometer时注册导入导出指标, 绑定到容器中的MeterRegistry, 没有时绑定到全局注册表.
+ * 通过simple-excel.metrics.enabled=false关闭, 关闭后使用空实现
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "simple-excel.metrics", name = "enabled", matchIfMissing = true)
+public class ExcelMetricsConfiguration implements DisposableBean {
+
+    @Bean
+    public MicrometerExcelMetricsListener excelMetricsListener(ObjectProvider<MeterRegistry> registries) {
+        MicrometerExcelMetricsListener listener = new MicrometerExcelMetricsListener();
+        List<MeterRegistry> meterRegistries = registries.orderedStream().collect(Collectors.toList());
+        if (meterRegistries.isEmpty()) {
+            listener.bindTo(Metrics.globalRegistry);
+        }
+        meterRegistries.forEach(listener::bindTo);
+        ExcelMetrics.setListener(listener);
+        return listener;
+    }
+
+    @Override
+    public void destroy() {
+        ExcelMetrics.setListener(ExcelMetricsListener.NOOP);
+    }
+}
@@ -0,0 +1,168 @@
+package com.util.simpleExcel.service;
+
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @className: ExcelExportJob
+ * @description: 异步导出任务, 记录状态与进度, 写入线程与查询线程之间通过volatile字段共享
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelExportJob {
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED, EXPIRED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private final String id;
+    private final Path file;
+    /**数据总行数, 未知时为-1*/
+    private final long totalRows;
+    /**各sheet已写入的行数*/
+    private final AtomicLongArray sheetRows;
+    private final long createTime;
+    /**截止时间, System.currentTimeMillis, 0表示不限制*/
+    private final long deadline;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile String errorMessage;
+    private volatile long finishTime;
+    private volatile Future<?> future;
+
+    ExcelExportJob(String id, Path file, long totalRows, int sheetCount, long deadline) {
+        this.id = id;
+        this.file = file;
+        this.totalRows = totalRows;
+        this.sheetRows = new AtomicLongArray(sheetCount);
+        this.createTime = System.currentTimeMillis();
+        this.deadline = deadline;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getRowsWritten() {
+        long rows = 0;
+        for (int i = 0; i < sheetRows.length(); i++) {
+            rows += sheetRows.get(i);
+        }
+        return rows;
+    }
+
+    /**
+     * @description 完成百分比
+     * @return 0-100, 总行数未知时返回-1
+     */
+    public int getPercent() {
+        if (status == Status.SUCCEEDED) {
+            return 100;
+        }
+        if (totalRows <= 0) {
+            return totalRows == 0 ? 0 : -1;
+        }
+        return (int) Math.min(99, getRowsWritten() * 100 / totalRows);
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public long getFinishTime() {
+        return finishTime;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * @description 请求取消, 排队中的任务直接移出队列, 执行中的任务在下一个检查点终止
+     */
+    synchronized void cancel() {
+        cancelRequested = true;
+        if (status == Status.QUEUED) {
+            Future<?> current = future;
+            if (current != null) {
+                current.cancel(false);
+            }
+            finish(Status.CANCELLED, null);
+        }
+    }
+
+    /**
+     * @description 写入检查点, 记录进度并检查取消与超时
+     * @param sheetIndex  sheet下标
+     * @param rowsWritten 该sheet已写入的行数
+     */
+    void checkpoint(int sheetIndex, long rowsWritten) {
+        sheetRows.set(sheetIndex, rowsWritten);
+        checkAlive();
+    }
+
+    void checkAlive() {
+        if (cancelRequested || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("导出已取消");
+        }
+        if (deadline > 0 && System.currentTimeMillis() > deadline) {
+            throw new ExpiredException();
+        }
+    }
+
+    /**
+     * @description 开始执行
+     * @return 任务已被取消时返回false
+     */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void finish(Status finalStatus, String message) {
+        if (status.isFinished()) {
+            return;
+        }
+        this.errorMessage = message;
+        this.finishTime = System.currentTimeMillis();
+        this.status = finalStatus;
+    }
+
+    /**
+     * 超过截止时间
+     */
+    static final class ExpiredException extends CancellationException {
+        ExpiredException() {
+            super("导出超时");
+        }
+    }
+}
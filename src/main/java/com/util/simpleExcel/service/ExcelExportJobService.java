@@ -0,0 +1,286 @@
+package com.util.simpleExcel.service;
+
+import com.util.simpleExcel.util.ExcelDataSource;
+import com.util.simpleExcel.util.ExcelEngine;
+import com.util.simpleExcel.util.ExcelExportPlanner;
+import com.util.simpleExcel.util.ExcelUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * @className: ExcelExportJobService
+ * @description: 异步导出服务. 导出任务提交到有界线程池, 同时执行的任务数与排队数都有上限, 超出时直接拒绝,
+ * 避免突发请求同时在堆中构建多个工作簿. 结果以流式xlsx写入托管的暂存目录, 客户端轮询状态后读取文件,
+ * 执行中的任务在每批数据行写完后检查取消与超时. 已结束的任务超过保留时间后由定时任务清理.
+ * 每个实例在暂存目录下创建独立的子目录, 只清理自己创建的导出文件, 暂存目录可与其他实例或程序共用
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Slf4j
+@Service
+public class ExcelExportJobService implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService purger;
+    private static final Pattern JOB_FILE = Pattern.compile("[0-9a-f]{32}\\.xlsx");
+
+    /**本实例的暂存子目录*/
+    private final Path spoolDir;
+    private final long retentionMillis;
+    private final Map<String, ExcelExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExcelExportJobService(@Value("${simple-excel.export.concurrency:2}") int concurrency,
+                                 @Value("${simple-excel.export.queue-capacity:20}") int queueCapacity,
+                                 @Value("${simple-excel.export.spool-dir:${java.io.tmpdir}/simple-excel-spool}") String spoolDir,
+                                 @Value("${simple-excel.export.retention:PT1H}") Duration retention,
+                                 @Value("${simple-excel.export.purge-interval:PT5M}") Duration purgeInterval) throws IOException {
+        Assert.state(concurrency > 0, "并发数必须大于0");
+        Assert.state(queueCapacity > 0, "队列长度必须大于0");
+        Assert.state(!purgeInterval.isNegative() && !purgeInterval.isZero(), "清理间隔必须大于0");
+        this.spoolDir = Files.createTempDirectory(Files.createDirectories(Paths.get(spoolDir)), "jobs-");
+        this.retentionMillis = retention.toMillis();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ExportThreadFactory("excel-export-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.purger = Executors.newSingleThreadScheduledExecutor(new ExportThreadFactory("excel-export-purge-"));
+        long period = purgeInterval.toMillis();
+        purger.scheduleWithFixedDelay(this::purgeExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @description 提交导出任务
+     * @param sheets            {@link ExcelUtil.ExcelSheet}的集合, 建议使用分页数据源
+     * @param dateTimeFormatter 日期时间格式化
+     * @param datePattern       日期格式
+     * @param timeout           超时时间, 从提交时开始计算, 为null时不限制
+     * @return 导出任务
+     * @throws RejectedExecutionException 排队任务已满
+     * @throws IllegalStateException       堆内存估算超出预算
+     */
+    public <T> ExcelExportJob submit(List<ExcelUtil.ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                     String datePattern, Duration timeout) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        // 超出堆内存预算时直接拒绝, 不占用队列
+        ExcelExportPlanner.admit(sheets, ExcelEngine.SXSSF);
+        purgeExpired();
+        String id = UUID.randomUUID().toString().replace("-", "");
+        long deadline = timeout == null ? 0L : System.currentTimeMillis() + timeout.toMillis();
+        ExcelExportJob job = new ExcelExportJob(id, spoolDir.resolve(id + ".xlsx"), totalRows(sheets),
+                sheets.size(), deadline);
+        for (int i = 0; i < sheets.size(); i++) {
+            int sheetIndex = i;
+            sheets.get(i).setMonitor(rows -> job.checkpoint(sheetIndex, rows));
+        }
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, sheets, dateTimeFormatter, datePattern)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new RejectedExecutionException("导出任务已满, 请稍后再试", e);
+        }
+        return job;
+    }
+
+    /**
+     * @description 查询任务
+     * @param id 任务id
+     * @return 不存在或已清理时返回null
+     */
+    public ExcelExportJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @description 取消任务
+     * @param id 任务id
+     * @return 任务不存在或已结束时返回false
+     */
+    public boolean cancel(String id) {
+        ExcelExportJob job = jobs.get(id);
+        if (job == null || job.getStatus().isFinished()) {
+            return false;
+        }
+        job.cancel();
+        // 排队中的任务取消后仍占用队列位置, 直到轮到执行时才被跳过
+        executor.purge();
+        return true;
+    }
+
+    /**
+     * @description 打开导出结果, 由调用方负责关闭
+     * @param id 任务id
+     * @return 导出文件流
+     */
+    public InputStream openResult(String id) throws IOException {
+        ExcelExportJob job = jobs.get(id);
+        Assert.state(job != null, "导出任务不存在");
+        Assert.state(job.getStatus() == ExcelExportJob.Status.SUCCEEDED, "导出任务未完成");
+        return Files.newInputStream(job.getFile());
+    }
+
+    /**
+     * @description 删除任务及导出文件, 执行中的任务先取消
+     * @param id 任务id
+     */
+    public void delete(String id) {
+        ExcelExportJob job = jobs.remove(id);
+        if (job != null) {
+            job.cancel();
+            executor.purge();
+            deleteFile(job);
+        }
+    }
+
+    /**
+     * @description 当前排队中的任务数
+     * @return
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        purger.shutdownNow();
+        for (ExcelExportJob job : jobs.values()) {
+            job.cancel();
+        }
+        executor.shutdownNow();
+        // 等待执行中的任务在检查点退出后再清空暂存目录
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("导出任务未能在关闭前结束");
+        }
+        jobs.clear();
+        cleanSpoolDir();
+        try {
+            Files.deleteIfExists(spoolDir);
+        } catch (IOException e) {
+            log.warn("删除暂存目录失败:" + spoolDir, e);
+        }
+    }
+
+    private <T> void run(ExcelExportJob job, List<ExcelUtil.ExcelSheet<T>> sheets,
+                         DateTimeFormatter dateTimeFormatter, String datePattern) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            job.checkAlive();
+            ExcelUtil.exportBigExcel(sheets, dateTimeFormatter, datePattern, job.getFile());
+            job.finish(ExcelExportJob.Status.SUCCEEDED, null);
+        } catch (ExcelExportJob.ExpiredException e) {
+            deleteFile(job);
+            job.finish(ExcelExportJob.Status.EXPIRED, e.getMessage());
+        } catch (CancellationException e) {
+            deleteFile(job);
+            job.finish(ExcelExportJob.Status.CANCELLED, e.getMessage());
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted() || executor.isShutdown()) {
+                // 关闭服务时中断执行中的任务, 抛出的异常(如"导出被中断")不视为导出失败
+                deleteFile(job);
+                job.finish(ExcelExportJob.Status.CANCELLED, e.getMessage());
+                return;
+            }
+            log.error("导出任务失败:" + job.getId(), e);
+            deleteFile(job);
+            job.finish(ExcelExportJob.Status.FAILED, e.toString());
+        }
+    }
+
+    /**
+     * @description 清理超过保留时间的已结束任务
+     */
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> {
+            if (job.getStatus().isFinished() && now - job.getFinishTime() > retentionMillis) {
+                deleteFile(job);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * @description 删除本实例暂存子目录中的导出文件, 只删除按任务id命名的文件
+     */
+    private void cleanSpoolDir() {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            files.filter(file -> JOB_FILE.matcher(file.getFileName().toString()).matches()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("删除导出文件失败:" + file, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("清理暂存目录失败:" + spoolDir, e);
+        }
+    }
+
+    private static void deleteFile(ExcelExportJob job) {
+        try {
+            Files.deleteIfExists(job.getFile());
+        } catch (IOException e) {
+            log.warn("删除导出文件失败:" + job.getFile(), e);
+        }
+    }
+
+    private static <T> long totalRows(List<ExcelUtil.ExcelSheet<T>> sheets) {
+        long total = 0;
+        for (ExcelUtil.ExcelSheet<T> sheet : sheets) {
+            ExcelDataSource<T> dataSource = sheet.getDataSource();
+            if (dataSource != null) {
+                if (dataSource.size() < 0) {
+                    return -1;
+                }
+                total += dataSource.size();
+            } else if (sheet.getDataset() != null) {
+                total += sheet.getDataset().size();
+            }
+        }
+        return total;
+    }
+
+    private static final class ExportThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        ExportThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
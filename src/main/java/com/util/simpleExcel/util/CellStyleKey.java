@@ -0,0 +1,65 @@
+package com.util.simpleExcel.util;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * @className: CellStyleKey
+ * @description: 单元格样式描述, 作为{@link CellStylePool}的key, 描述相同的样式在同一工作簿中只创建一次
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class CellStyleKey {
+
+    @Builder.Default
+    FillPatternType fillPattern = FillPatternType.NO_FILL;
+    @Builder.Default
+    short fillForegroundColor = IndexedColors.AUTOMATIC.getIndex();
+    @Builder.Default
+    BorderStyle borderTop = BorderStyle.NONE;
+    @Builder.Default
+    BorderStyle borderBottom = BorderStyle.NONE;
+    @Builder.Default
+    BorderStyle borderLeft = BorderStyle.NONE;
+    @Builder.Default
+    BorderStyle borderRight = BorderStyle.NONE;
+    /**字体加粗*/
+    boolean bold;
+    @Builder.Default
+    HorizontalAlignment alignment = HorizontalAlignment.GENERAL;
+    @Builder.Default
+    VerticalAlignment verticalAlignment = VerticalAlignment.BOTTOM;
+    /**数据格式, 为null时使用常规格式*/
+    String dataFormat;
+
+    /**默认样式*/
+    public static final CellStyleKey DEFAULT = CellStyleKey.builder().build();
+
+    public static class CellStyleKeyBuilder {
+
+        /**
+         * @description 四边使用相同边框
+         * @param borderStyle
+         * @return
+         */
+        public CellStyleKeyBuilder border(BorderStyle borderStyle) {
+            return borderTop(borderStyle).borderBottom(borderStyle).borderLeft(borderStyle).borderRight(borderStyle);
+        }
+
+        /**
+         * @description 纯色背景
+         * @param color
+         * @return
+         */
+        public CellStyleKeyBuilder solidFill(IndexedColors color) {
+            return fillPattern(FillPatternType.SOLID_FOREGROUND).fillForegroundColor(color.getIndex());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * @className: CellStylePool
+ * @description: 工作簿级别的样式池, 按{@link CellStyleKey}去重, 相同描述的样式只创建一次,
+ * 样式数量只与不同样式的种类有关, 与表格、sheet数量及调用次数无关(xls单个工作簿最多约4000个样式).
+ * 池中返回的样式为共享实例, 请勿直接修改
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class CellStylePool {
+
+    private final Workbook workbook;
+    private final Map<CellStyleKey, CellStyle> styles = new HashMap<>();
+    /**样式 -> 描述, 用于在已有样式基础上派生新样式*/
+    private final Map<CellStyle, CellStyleKey> keys = new IdentityHashMap<>();
+    /**数据格式 -> 以样式下标为下标的派生样式*/
+    private final Map<String, CellStyle[]> formatted = new HashMap<>();
+    /**派生方式(边框、填充等) -> 以样式下标为下标的派生样式*/
+    private final Map<String, CellStyle[]> derived = new HashMap<>();
+    private Font boldFont;
+    private DataFormat dataFormat;
+
+    public CellStylePool(Workbook workbook) {
+        Assert.notNull(workbook, "workbook不能为空");
+        this.workbook = workbook;
+    }
+
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    /**
+     * @description 获取样式, 没有则创建
+     * @param key
+     * @return
+     */
+    public CellStyle get(CellStyleKey key) {
+        CellStyle style = styles.get(key);
+        if (style == null) {
+            style = create(key);
+            styles.put(key, style);
+            keys.put(style, key);
+        }
+        return style;
+    }
+
+    /**
+     * @description 在已有样式基础上叠加数据格式, 按(样式, 格式)缓存, 同一组合只创建一次
+     * @param base   原样式, 可以是非池中创建的样式
+     * @param format 数据格式, 如yyyy/MM/dd、0.00
+     * @return
+     */
+    public CellStyle withDataFormat(CellStyle base, String format) {
+        CellStyle[] byBase = formatted.get(format);
+        int index = base.getIndex() & 0xFFFF;
+        if (byBase == null || index >= byBase.length) {
+            int length = Math.max(index + 1, Math.max(16, workbook.getNumCellStyles()));
+            byBase = byBase == null ? new CellStyle[length] : Arrays.copyOf(byBase, Math.max(length, byBase.length * 2));
+            formatted.put(format, byBase);
+        }
+        CellStyle style = byBase[index];
+        if (style == null) {
+            CellStyleKey key = keys.get(base);
+            if (key != null) {
+                style = get(key.toBuilder().dataFormat(format).build());
+            } else {
+                style = workbook.createCellStyle();
+                style.cloneStyleFrom(base);
+                style.setDataFormat(getDataFormat().getFormat(format));
+            }
+            byBase[index] = style;
+        }
+        return style;
+    }
+
+    /**
+     * @description 在已有样式基础上修改边框, 为null的边不变, 按(样式, 边框)缓存
+     * @param base 原样式, 可以是非池中创建的样式
+     * @return
+     */
+    public CellStyle withBorders(CellStyle base, BorderStyle top, BorderStyle bottom, BorderStyle left, BorderStyle right) {
+        String derivation = "border:" + top + ',' + bottom + ',' + left + ',' + right;
+        return derive(base, derivation, builder -> {
+            if (top != null) {
+                builder.borderTop(top);
+            }
+            if (bottom != null) {
+                builder.borderBottom(bottom);
+            }
+            if (left != null) {
+                builder.borderLeft(left);
+            }
+            if (right != null) {
+                builder.borderRight(right);
+            }
+            return builder;
+        }, style -> {
+            if (top != null) {
+                style.setBorderTop(top);
+            }
+            if (bottom != null) {
+                style.setBorderBottom(bottom);
+            }
+            if (left != null) {
+                style.setBorderLeft(left);
+            }
+            if (right != null) {
+                style.setBorderRight(right);
+            }
+        });
+    }
+
+    /**
+     * @description 在已有样式基础上设置纯色背景, 按(样式, 颜色)缓存
+     * @param base  原样式, 可以是非池中创建的样式
+     * @param color 颜色下标
+     * @return
+     */
+    public CellStyle withFill(CellStyle base, short color) {
+        return derive(base, "fill:" + color,
+                builder -> builder.fillPattern(FillPatternType.SOLID_FOREGROUND).fillForegroundColor(color),
+                style -> {
+                    style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                    style.setFillForegroundColor(color);
+                });
+    }
+
+    /**
+     * @description 按派生方式缓存的样式派生. 池中样式修改描述后从池中获取, 其它样式复制后修改
+     * @param base        原样式
+     * @param derivation  派生方式的唯一标识
+     * @param keyChange   池中样式的描述修改
+     * @param styleChange 非池中样式的修改
+     * @return
+     */
+    private CellStyle derive(CellStyle base, String derivation, UnaryOperator<CellStyleKey.CellStyleKeyBuilder> keyChange,
+                             Consumer<CellStyle> styleChange) {
+        CellStyle[] byBase = derived.get(derivation);
+        int index = base.getIndex() & 0xFFFF;
+        if (byBase == null || index >= byBase.length) {
+            int length = Math.max(index + 1, Math.max(16, workbook.getNumCellStyles()));
+            byBase = byBase == null ? new CellStyle[length] : Arrays.copyOf(byBase, Math.max(length, byBase.length * 2));
+            derived.put(derivation, byBase);
+        }
+        CellStyle style = byBase[index];
+        if (style == null) {
+            CellStyleKey key = keys.get(base);
+            if (key != null) {
+                style = get(keyChange.apply(key.toBuilder()).build());
+            } else {
+                style = workbook.createCellStyle();
+                style.cloneStyleFrom(base);
+                styleChange.accept(style);
+            }
+            byBase[index] = style;
+        }
+        return style;
+    }
+
+    /**
+     * @description 获取池中样式对应的描述, 非池中创建的样式返回null
+     * @param style
+     * @return
+     */
+    public CellStyleKey getKey(CellStyle style) {
+        return keys.get(style);
+    }
+
+    /**
+     * @description 已创建的样式数量
+     * @return
+     */
+    public int size() {
+        return styles.size();
+    }
+
+    private CellStyle create(CellStyleKey key) {
+        CellStyle style = workbook.createCellStyle();
+        style.setFillPattern(key.getFillPattern());
+        style.setFillForegroundColor(key.getFillForegroundColor());
+        style.setBorderTop(key.getBorderTop());
+        style.setBorderBottom(key.getBorderBottom());
+        style.setBorderLeft(key.getBorderLeft());
+        style.setBorderRight(key.getBorderRight());
+        style.setAlignment(key.getAlignment());
+        style.setVerticalAlignment(key.getVerticalAlignment());
+        if (key.isBold()) {
+            if (boldFont == null) {
+                boldFont = workbook.createFont();
+                boldFont.setBold(true);
+            }
+            style.setFont(boldFont);
+        }
+        if (key.getDataFormat() != null) {
+            style.setDataFormat(getDataFormat().getFormat(key.getDataFormat()));
+        }
+        return style;
+    }
+
+    private DataFormat getDataFormat() {
+        if (dataFormat == null) {
+            dataFormat = workbook.createDataFormat();
+        }
+        return dataFormat;
+    }
+}
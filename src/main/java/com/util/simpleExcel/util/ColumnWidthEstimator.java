@@ -0,0 +1,137 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.math.BigDecimal;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * @className: ColumnWidthEstimator
+ * @description: 列宽估算, 写入单元格时记录每列的最大显示长度(中文等全角字符按两个字符计算),
+ * 写完后一次性设置列宽, 不依赖AWT字体渲染, 可在无字体的容器中使用
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ColumnWidthEstimator {
+
+    /**excel允许的最大列宽, 单位为1/256个字符*/
+    public static final int MAX_WIDTH = 255 * 256;
+    /**列宽两侧的留白字符数*/
+    private static final int PADDING = 2;
+
+    private final ColumnWidthStrategy strategy;
+    private final int sampleRows;
+    private int[] maxLength = new int[16];
+    private int columnCount;
+    private int trackedRows;
+    /**原生日期单元格的显示长度*/
+    private int dateLength = ExcelUtil.PATTERN.length();
+
+    /**
+     * @param strategy   EXACT或SAMPLE
+     * @param sampleRows SAMPLE时记录的行数
+     */
+    public ColumnWidthEstimator(ColumnWidthStrategy strategy, int sampleRows) {
+        this.strategy = strategy;
+        this.sampleRows = sampleRows;
+    }
+
+    /**
+     * @description 设置原生日期单元格的显示长度, 一般为日期格式的长度
+     * @param dateLength
+     */
+    public void setDateLength(int dateLength) {
+        this.dateLength = dateLength;
+    }
+
+    /**
+     * @description 当前行是否需要记录
+     * @return
+     */
+    public boolean isTracking() {
+        return strategy == ColumnWidthStrategy.EXACT || trackedRows < sampleRows;
+    }
+
+    /**
+     * @description 记录单元格值
+     * @param col
+     * @param value
+     */
+    public void track(int col, Object value) {
+        if (value == null) {
+            return;
+        }
+        int length;
+        if (value instanceof CharSequence) {
+            length = displayLength((CharSequence) value);
+        } else if (value instanceof Date || value instanceof TemporalAccessor) {
+            length = dateLength;
+        } else if (value instanceof BigDecimal) {
+            length = ((BigDecimal) value).toPlainString().length();
+        } else {
+            length = value.toString().length();
+        }
+        if (col >= maxLength.length) {
+            maxLength = Arrays.copyOf(maxLength, Math.max(col + 1, maxLength.length * 2));
+        }
+        if (length > maxLength[col]) {
+            maxLength[col] = length;
+        }
+        if (col >= columnCount) {
+            columnCount = col + 1;
+        }
+    }
+
+    /**
+     * @description 一行记录结束
+     */
+    public void endRow() {
+        trackedRows++;
+    }
+
+    /**
+     * @description 将记录的列宽设置到sheet
+     * @param sheet
+     */
+    public void apply(Sheet sheet) {
+        for (int col = 0; col < columnCount; col++) {
+            if (maxLength[col] > 0) {
+                sheet.setColumnWidth(col, width(maxLength[col]));
+            }
+        }
+    }
+
+    /**
+     * @description 显示长度转换为列宽
+     * @param length
+     * @return
+     */
+    public static int width(int length) {
+        return Math.min(MAX_WIDTH, (length + PADDING) * 256);
+    }
+
+    /**
+     * @description 计算显示长度, 中日韩及全角字符按两个字符计算
+     * @param text
+     * @return
+     */
+    public static int displayLength(CharSequence text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            length += isWide(text.charAt(i)) ? 2 : 1;
+        }
+        return length;
+    }
+
+    private static boolean isWide(char ch) {
+        return (ch >= '\u1100' && ch <= '\u115f') // 韩文字母
+                || (ch >= '\u2e80' && ch <= '\ua4cf') // 中日韩部首、标点、假名、汉字
+                || (ch >= '\uac00' && ch <= '\ud7a3') // 韩文音节
+                || (ch >= '\uf900' && ch <= '\ufaff') // 兼容汉字
+                || (ch >= '\ufe30' && ch <= '\ufe4f') // 竖排标点
+                || (ch >= '\uff00' && ch <= '\uff60') // 全角字符
+                || (ch >= '\uffe0' && ch <= '\uffe6'); // 全角符号
+    }
+}
@@ -0,0 +1,18 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ColumnWidthStrategy
+ * @description: 列宽计算方式
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public enum ColumnWidthStrategy {
+    /**使用POI的autoSizeColumn, 逐个单元格按字体渲染计算, 精确但耗时, 依赖系统字体*/
+    AUTO_SIZE,
+    /**写入时记录每列所有行的最大显示长度, 写完后一次性设置列宽*/
+    EXACT,
+    /**只记录前N行的最大显示长度*/
+    SAMPLE,
+    /**不设置列宽*/
+    NONE
+}
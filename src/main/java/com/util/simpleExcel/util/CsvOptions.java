@@ -0,0 +1,36 @@
+package com.util.simpleExcel.util;
+
+import lombok.Data;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @className: CsvOptions
+ * @description: CSV/TSV读写参数, 默认按RFC 4180输出逗号分隔、CRLF换行、带BOM的UTF-8, Excel可直接打开
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Data
+public class CsvOptions {
+    // 分隔符
+    private char delimiter = ',';
+    // 字段包围符, 字段中含分隔符、包围符或换行时使用
+    private char quote = '"';
+    private Charset charset = StandardCharsets.UTF_8;
+    // true 表示导出时写入BOM, 便于Excel识别UTF-8; 导入时BOM总是被跳过
+    private boolean bom = true;
+    private String lineSeparator = "\r\n";
+    // true 表示导出时以=、+、-、@开头的文本前加单引号, 避免用Excel打开时被当作公式执行(CSV注入)
+    private boolean escapeFormulas;
+
+    public static CsvOptions csv() {
+        return new CsvOptions();
+    }
+
+    public static CsvOptions tsv() {
+        CsvOptions options = new CsvOptions();
+        options.setDelimiter('\t');
+        return options;
+    }
+}
@@ -0,0 +1,203 @@
+package com.util.simpleExcel.util;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @className: ExcelAccessors
+ * @description: 字段读写器工厂. 字段所在类公开且有公开的getter/setter/无参构造时通过LambdaMetafactory生成
+ * 直接调用访问方法的lambda, JIT可以像普通方法调用一样内联; 私有类或缺少访问方法时回退为字段反射
+ * (Java 8下Field.get/set由Unsafe实现, 同样不经过Method.invoke)
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+final class ExcelAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FUNCTION_SAM = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CONSUMER_SAM = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType SUPPLIER_SAM = MethodType.methodType(Object.class);
+
+    private ExcelAccessors() {
+    }
+
+    /**
+     * @description 字段取值器, 优先使用getXxx/isXxx方法
+     * @param field
+     * @return
+     */
+    static Function<Object, Object> getter(Field field) {
+        Method method = accessor(field, field.getType() == boolean.class ? "is" : "get");
+        if (method != null && method.getReturnType() == field.getType()) {
+            Function<Object, Object> lambda = lambda(Function.class, "apply", FUNCTION_SAM, method,
+                    MethodType.methodType(wrap(field.getType()), field.getDeclaringClass()));
+            if (lambda != null) {
+                return lambda;
+            }
+        }
+        field.setAccessible(true);
+        return bean -> {
+            try {
+                return field.get(bean);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("无法读取字段:" + field.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * @description 字段赋值器, 优先使用setXxx方法
+     * @param field
+     * @return
+     */
+    static BiConsumer<Object, Object> setter(Field field) {
+        Method method = accessor(field, "set", field.getType());
+        if (method != null) {
+            BiConsumer<Object, Object> lambda = lambda(BiConsumer.class, "accept", CONSUMER_SAM, method,
+                    MethodType.methodType(void.class, field.getDeclaringClass(), wrap(field.getType())));
+            if (lambda != null) {
+                return lambda;
+            }
+        }
+        field.setAccessible(true);
+        return (bean, value) -> {
+            try {
+                field.set(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("无法写入字段:" + field.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * @description 无参构造器
+     * @param type
+     * @return
+     * @throws NoSuchMethodException 没有无参构造方法
+     */
+    static Supplier<Object> constructor(Class<?> type) throws NoSuchMethodException {
+        Constructor<?> declared = type.getDeclaredConstructor();
+        if (Modifier.isPublic(declared.getModifiers()) && isPublic(type) && !Modifier.isAbstract(type.getModifiers())) {
+            try {
+                MethodHandle impl = LOOKUP.unreflectConstructor(declared);
+                Supplier<Object> lambda = metafactory(Supplier.class, "get", SUPPLIER_SAM, impl, impl.type());
+                if (lambda != null) {
+                    return lambda;
+                }
+            } catch (IllegalAccessException ignored) {
+                // 回退为反射
+            }
+        }
+        declared.setAccessible(true);
+        return () -> {
+            try {
+                return declared.newInstance();
+            } catch (InvocationTargetException e) {
+                throw rethrow(e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("无法创建对象:" + type.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * @description 单参数静态方法
+     * @param method
+     * @return
+     */
+    static Function<Object, Object> function(Method method) {
+        Function<Object, Object> lambda = lambda(Function.class, "apply", FUNCTION_SAM, method,
+                MethodType.methodType(wrap(method.getReturnType()), wrap(method.getParameterTypes()[0])));
+        if (lambda != null) {
+            return lambda;
+        }
+        method.setAccessible(true);
+        return value -> {
+            try {
+                return method.invoke(null, value);
+            } catch (InvocationTargetException e) {
+                throw rethrow(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("无法调用方法:" + method.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * @description 查找字段对应的公开访问方法, 没有返回null
+     */
+    private static Method accessor(Field field, String prefix, Class<?>... parameterTypes) {
+        String name = field.getName();
+        try {
+            Method method = field.getDeclaringClass().getMethod(
+                    prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1), parameterTypes);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @description 为公开类的公开方法生成lambda, 不可访问时返回null
+     */
+    private static <T> T lambda(Class<? super T> samType, String samName, MethodType samMethodType,
+                                Method method, MethodType instantiatedType) {
+        if (!Modifier.isPublic(method.getModifiers()) || !isPublic(method.getDeclaringClass())
+                || !isPublic(instantiatedType.parameterType(0))) {
+            return null;
+        }
+        try {
+            return metafactory(samType, samName, samMethodType, LOOKUP.unreflect(method), instantiatedType);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T metafactory(Class<? super T> samType, String samName, MethodType samMethodType,
+                                     MethodHandle impl, MethodType instantiatedType) {
+        try {
+            return (T) LambdaMetafactory.metafactory(LOOKUP, samName, MethodType.methodType(samType),
+                    samMethodType, impl, instantiatedType).getTarget().invoke();
+        } catch (Throwable e) {
+            // 访问方法签名无法适配时回退为反射
+            return null;
+        }
+    }
+
+    /**
+     * @description 类及其外部类均为public时, 生成的lambda才能直接访问
+     */
+    private static boolean isPublic(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,86 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.Arrays;
+
+/**
+ * @className: ExcelCellReader
+ * @description: 只读的类型化单元格读取. 是否日期格式按样式下标缓存, 每种样式只解析一次格式字符串;
+ * 数值单元格直接返回Double, 不修改单元格类型, 由{@link ExcelImportPlan}按目标字段类型转换,
+ * 只有目标字段为String等文本类型时才格式化为文本(与Excel显示的数值文本一致).
+ * 每个工作簿使用一个实例, 非线程安全
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelCellReader {
+
+    /**样式下标 -> 是否日期格式, 0未解析 1是 2否*/
+    private byte[] dateStyles = new byte[64];
+
+    /**
+     * @description 读取单元格值: 日期格式的数值返回Date, 其余数值返回Double, 文本返回String, 布尔、错误及空单元格返回""
+     * @param cell
+     * @return 单元格为null时返回null
+     */
+    public Object read(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+        CellType type = cell.getCellType();
+        if (type == CellType.FORMULA) {
+            type = cell.getCachedFormulaResultType();
+        }
+        switch (type) {
+            case NUMERIC: {
+                double value = cell.getNumericCellValue();
+                if (isDateStyle(cell.getCellStyle()) && DateUtil.isValidExcelDate(value)) {
+                    return cell.getDateCellValue();
+                }
+                return value;
+            }
+            case STRING:
+                return cell.getRichStringCellValue().getString();
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * @description 读取一行的前columns列, 不存在的单元格为null
+     * @param row     行
+     * @param values  结果数组, 长度不小于columns, 可复用
+     * @param columns 列数
+     * @return 是否所有单元格都为空
+     */
+    public boolean read(Row row, Object[] values, int columns) {
+        boolean empty = true;
+        for (int c = 0; c < columns; c++) {
+            Object value = read(row.getCell(c));
+            values[c] = value;
+            if (value != null && !"".equals(value)) {
+                empty = false;
+            }
+        }
+        return empty;
+    }
+
+    private boolean isDateStyle(CellStyle style) {
+        if (style == null) {
+            return false;
+        }
+        int index = style.getIndex() & 0xFFFF;
+        if (index >= dateStyles.length) {
+            dateStyles = Arrays.copyOf(dateStyles, Math.max(index + 1, dateStyles.length * 2));
+        }
+        if (dateStyles[index] == 0) {
+            boolean date = DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            dateStyles[index] = date ? (byte) 1 : (byte) 2;
+        }
+        return dateStyles[index] == 1;
+    }
+}
@@ -0,0 +1,156 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * @className: ExcelCellWriter
+ * @description: 类型化单元格写入. Date/LocalDate/LocalDateTime写为原生日期单元格, BigDecimal写为数值单元格,
+ * 显示格式通过样式池中按格式缓存的共享样式实现, 不再转换为文本; 关闭类型化时与原文本写入方式一致.
+ * 日期格式无法转换为excel格式(见{@link ExcelDatePattern})时日期仍按文本写入, LocalDate只使用格式中的日期部分.
+ * {@link #format}不访问POI对象, 可在写入线程之外并行执行, {@link #write}只能在写入线程执行
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelCellWriter {
+
+    /**excel数值精度为15位有效数字, 超出时按文本写入避免丢失精度*/
+    private static final int MAX_NUMERIC_PRECISION = 15;
+    /**按小数位数缓存的数值格式*/
+    private static final String[] NUMBER_FORMATS = new String[MAX_NUMERIC_PRECISION + 1];
+
+    static {
+        StringBuilder format = new StringBuilder("0");
+        NUMBER_FORMATS[0] = format.toString();
+        format.append('.');
+        for (int scale = 1; scale <= MAX_NUMERIC_PRECISION; scale++) {
+            format.append('0');
+            NUMBER_FORMATS[scale] = format.toString();
+        }
+    }
+
+    private final CellStylePool stylePool;
+    /**指定的LocalDate/LocalDateTime文本格式, 为null时按pattern写入*/
+    private final DateTimeFormatter dateTimeFormatter;
+    private final String pattern;
+    /**pattern对应的excel格式, 非类型化或无法转换时为null*/
+    private final String excelPattern;
+    /**LocalDate使用的excel格式, 不含时间部分, 非类型化或无法转换时为null*/
+    private final String excelDatePattern;
+    /**Date/LocalDateTime的文本格式, 按excel格式写入时为null. 线程安全, 可在并行格式化时共用*/
+    private final DateTimeFormatter dateFormatter;
+    /**LocalDate的文本格式, 按excel格式写入时为null*/
+    private final DateTimeFormatter localDateFormatter;
+    private final boolean typed;
+
+    /**
+     * @param stylePool         工作簿样式池
+     * @param dateTimeFormatter 指定后LocalDate/LocalDateTime按该格式写为文本
+     * @param pattern           日期格式, 为空时使用{@link ExcelUtil#PATTERN}
+     * @param typed             false时日期与BigDecimal按文本写入
+     */
+    public ExcelCellWriter(CellStylePool stylePool, DateTimeFormatter dateTimeFormatter, String pattern, boolean typed) {
+        this.stylePool = stylePool;
+        this.pattern = pattern == null || pattern.isEmpty() ? ExcelUtil.PATTERN : pattern;
+        this.typed = typed;
+        this.dateTimeFormatter = dateTimeFormatter;
+        String datePattern = ExcelDatePattern.dateOnly(this.pattern);
+        this.excelPattern = typed ? ExcelDatePattern.toExcel(this.pattern) : null;
+        this.excelDatePattern = typed ? ExcelDatePattern.toExcel(datePattern) : null;
+        this.dateFormatter = excelPattern == null ? DateTimeFormatter.ofPattern(this.pattern) : null;
+        this.localDateFormatter = excelDatePattern == null ? DateTimeFormatter.ofPattern(datePattern) : null;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setCellValue(Cell cell, Object value) {
+        write(cell, format(value));
+    }
+
+    /**
+     * @description 将单元格值转换为写入类型: 数值与布尔原样返回, 类型化时日期与BigDecimal原样返回,
+     * 其余转换为字符串
+     * @param value
+     * @return
+     */
+    public Object format(Object value) {
+        if (value instanceof Integer || value instanceof Float || value instanceof Double
+                || value instanceof Long || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof Date) {
+            if (dateFormatter == null) {
+                return value;
+            }
+            // java.sql.Date不支持toInstant, 按毫秒数转换
+            return dateFormatter.format(Instant.ofEpochMilli(((Date) value).getTime()).atZone(ZoneId.systemDefault()));
+        } else if (value instanceof LocalDate) {
+            if (dateTimeFormatter != null) {
+                return ((LocalDate) value).format(dateTimeFormatter);
+            }
+            return localDateFormatter == null ? value : ((LocalDate) value).format(localDateFormatter);
+        } else if (value instanceof LocalDateTime) {
+            if (dateTimeFormatter != null) {
+                return ((LocalDateTime) value).format(dateTimeFormatter);
+            }
+            return dateFormatter == null ? value : ((LocalDateTime) value).format(dateFormatter);
+        } else if (value instanceof BigDecimal && typed
+                && ((BigDecimal) value).precision() <= MAX_NUMERIC_PRECISION) {
+            return value;
+        }
+        // 其它数据类型都当作字符串简单处理
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * @description 写入{@link #format}转换后的值
+     * @param cell
+     * @param value
+     */
+    public void write(Cell cell, Object value) {
+        if (value instanceof Integer) {
+            cell.setCellValue((Integer) value);
+        } else if (value instanceof Float) {
+            cell.setCellValue((Float) value);
+        } else if (value instanceof Double) {
+            cell.setCellValue((Double) value);
+        } else if (value instanceof Long) {
+            cell.setCellValue((Long) value);
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof String) {
+            cell.setCellValue((String) value);
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+            applyFormat(cell, excelPattern);
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue(Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant()));
+            applyFormat(cell, excelPattern);
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue(Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            applyFormat(cell, excelDatePattern);
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            cell.setCellValue(decimal.doubleValue());
+            int scale = Math.max(0, Math.min(decimal.scale(), MAX_NUMERIC_PRECISION));
+            applyFormat(cell, NUMBER_FORMATS[scale]);
+        }
+    }
+
+    /**
+     * @description 在单元格现有样式基础上叠加数据格式, 派生样式由样式池缓存
+     */
+    private void applyFormat(Cell cell, String format) {
+        CellStyle base = cell.getCellStyle();
+        cell.setCellStyle(stylePool.withDataFormat(base, format));
+    }
+}
@@ -0,0 +1,193 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.base.annotation.Excel;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @className: ExcelColumnPlan
+ * @description: @Excel注解解析结果, 每个类只解析一次并在JVM生命周期内复用,
+ * 每列预先生成取值器(见{@link ExcelAccessors}), 写单元格时不再走Method.invoke
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelColumnPlan {
+
+    /**类 -> 列计划缓存*/
+    private static final Map<Class<?>, ExcelColumnPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final Class<?> type;
+    /**按字段声明顺序排列的列*/
+    private final List<Column> declaredColumns;
+    /**按@Excel.index排序的列, 存在重复序号时为null*/
+    private final List<Column> columns;
+    /**表头名称 -> 列, 同名时以最后声明的字段为准*/
+    private final Map<String, Column> nameColumns;
+    private final List<String> headers;
+
+    private ExcelColumnPlan(Class<?> type) {
+        this.type = type;
+        List<Column> declared = new ArrayList<>();
+        Map<String, Column> byName = new HashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            Excel annotation = field.getAnnotation(Excel.class);
+            if (annotation == null) {
+                continue;
+            }
+            Column column = new Column(annotation.index(), annotation.name(), annotation.defaultValue(), field,
+                    ExcelAccessors.getter(field));
+            declared.add(column);
+            byName.put(column.getName(), column);
+        }
+        this.declaredColumns = Collections.unmodifiableList(declared);
+        this.nameColumns = byName;
+
+        List<Column> sorted = new ArrayList<>(declared);
+        sorted.sort(Comparator.comparingInt(Column::getIndex));
+        boolean duplicate = false;
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getIndex() == sorted.get(i - 1).getIndex()) {
+                duplicate = true;
+                break;
+            }
+        }
+        if (duplicate) {
+            this.columns = null;
+            this.headers = null;
+        } else {
+            List<String> names = new ArrayList<>(sorted.size());
+            for (Column column : sorted) {
+                names.add(column.getName());
+            }
+            this.columns = Collections.unmodifiableList(sorted);
+            this.headers = Collections.unmodifiableList(names);
+        }
+    }
+
+    /**
+     * @description 获取类的列计划, 没有则解析并缓存
+     * @param type
+     * @return
+     */
+    public static ExcelColumnPlan of(Class<?> type) {
+        Assert.notNull(type, "class不能为空");
+        ExcelColumnPlan plan = PLANS.get(type);
+        if (plan == null) {
+            long start = ExcelMetrics.start();
+            plan = PLANS.computeIfAbsent(type, ExcelColumnPlan::new);
+            ExcelMetrics.phase(ExcelPhase.PLAN, start);
+        }
+        return plan;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @description 按@Excel.index顺序排列的列
+     * @return
+     */
+    public List<Column> getColumns() {
+        if (columns == null) {
+            throw new RuntimeException("重复的列序号!");
+        }
+        return columns;
+    }
+
+    /**
+     * @description 按字段声明顺序排列的列, 不校验序号
+     * @return
+     */
+    public List<Column> getDeclaredColumns() {
+        return declaredColumns;
+    }
+
+    /**
+     * @description 按@Excel.index顺序排列的表头名称
+     * @return
+     */
+    public List<String> getHeaders() {
+        getColumns();
+        return headers;
+    }
+
+    /**
+     * @description 根据表头名称获取列, 没有返回null
+     * @param name
+     * @return
+     */
+    public Column getColumn(String name) {
+        return nameColumns.get(name);
+    }
+
+    /**
+     * @description 按表头名称依次匹配列, 匹配不到的表头跳过
+     * @param header
+     * @return
+     */
+    public List<Column> getColumns(List<String> header) {
+        List<Column> result = new ArrayList<>(header.size());
+        for (String name : header) {
+            Column column = nameColumns.get(name);
+            if (column != null) {
+                result.add(column);
+            }
+        }
+        return result;
+    }
+
+    public static final class Column {
+        private final int index;
+        private final String name;
+        private final String defaultValue;
+        private final Field field;
+        private final Function<Object, Object> getter;
+
+        private Column(int index, String name, String defaultValue, Field field, Function<Object, Object> getter) {
+            this.index = index;
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.field = field;
+            this.getter = getter;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * @description 读取对象上该列的值
+         * @param bean
+         * @return
+         */
+        public Object getValue(Object bean) {
+            try {
+                return getter.apply(bean);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("读取字段失败:" + field.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.util.simpleExcel.util;
+
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+/**
+ * @className: ExcelCsvReader
+ * @description: CSV/TSV流式读取, 按RFC 4180解析(包围符内可含分隔符、换行及转义的包围符),
+ * 按行回调{@link ExcelEventReader.RawRowListener}, 与xls/xlsx事件读取共用同一套绑定逻辑. 空字段按空单元格处理
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelCsvReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private ExcelCsvReader() {
+    }
+
+    /**
+     * @description 流式读取CSV
+     * @param is       输入流, 读取完成后不关闭
+     * @param options  CSV参数
+     * @param listener 行回调
+     */
+    public static void read(InputStream is, CsvOptions options, ExcelEventReader.RawRowListener listener) throws IOException {
+        Assert.notNull(is, "输入流不能为空");
+        CsvOptions csvOptions = options == null ? CsvOptions.csv() : options;
+        read(new InputStreamReader(is, csvOptions.getCharset()), csvOptions, listener);
+    }
+
+    public static void read(Reader reader, CsvOptions options, ExcelEventReader.RawRowListener listener) throws IOException {
+        CsvOptions csvOptions = options == null ? CsvOptions.csv() : options;
+        char delimiter = csvOptions.getDelimiter();
+        char quote = csvOptions.getQuote();
+        char[] buffer = new char[BUFFER_SIZE];
+        StringBuilder field = new StringBuilder();
+        ExcelEventReader.RowBuffer row = new ExcelEventReader.RowBuffer();
+        int rowNum = 0;
+        int col = 0;
+        boolean quoted = false;
+        // 上一个字符是包围符内的包围符, 可能是转义或包围结束
+        boolean quoteInQuoted = false;
+        // 上一个字符是行尾的\r
+        boolean carriageReturn = false;
+        boolean first = true;
+        // 当前行是否有内容, 文件末尾没有换行时用于判断最后一行
+        boolean pending = false;
+
+        int n;
+        while ((n = reader.read(buffer)) != -1) {
+            int i = 0;
+            if (first && n > 0) {
+                first = false;
+                if (buffer[0] == BOM) {
+                    i = 1;
+                }
+            }
+            for (; i < n; i++) {
+                char ch = buffer[i];
+                if (carriageReturn) {
+                    carriageReturn = false;
+                    if (ch == '\n') {
+                        continue;
+                    }
+                }
+                if (quoted) {
+                    if (quoteInQuoted) {
+                        quoteInQuoted = false;
+                        if (ch == quote) {
+                            field.append(quote);
+                            continue;
+                        }
+                        quoted = false;
+                    } else if (ch == quote) {
+                        quoteInQuoted = true;
+                        continue;
+                    } else {
+                        field.append(ch);
+                        continue;
+                    }
+                }
+                pending = true;
+                if (ch == delimiter) {
+                    setField(row, col++, field);
+                } else if (ch == '\r' || ch == '\n') {
+                    setField(row, col, field);
+                    listener.onRow(rowNum++, row.toArray());
+                    row.clear();
+                    col = 0;
+                    pending = false;
+                    carriageReturn = ch == '\r';
+                } else if (ch == quote && field.length() == 0) {
+                    quoted = true;
+                } else {
+                    field.append(ch);
+                }
+            }
+        }
+        if (pending || quoted || field.length() > 0) {
+            setField(row, col, field);
+            listener.onRow(rowNum, row.toArray());
+        }
+    }
+
+    private static void setField(ExcelEventReader.RowBuffer row, int col, StringBuilder field) {
+        if (field.length() > 0) {
+            row.set(col, field.toString());
+            field.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.hab.vo.operation.GoalDownloadVO;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @className: ExcelCsvWriter
+ * @description: CSV/TSV流式导出, 列的确定、默认值及日期格式与{@link ExcelUtil}的xls/xlsx导出一致,
+ * 逐行直接写入缓冲字符流, 不经过POI, 适用于不需要样式的大数据量导出
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelCsvWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Writer writer;
+    private final CsvOptions options;
+    private final char delimiter;
+    private final char quote;
+    private final String lineSeparator;
+    private final boolean escapeFormulas;
+    private boolean started;
+
+    /**
+     * @param out     输出流, 写入完成后不关闭
+     * @param options CSV参数
+     */
+    public ExcelCsvWriter(OutputStream out, CsvOptions options) {
+        Assert.notNull(out, "输出流不能为空");
+        this.options = options == null ? CsvOptions.csv() : options;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, this.options.getCharset()), BUFFER_SIZE);
+        this.delimiter = this.options.getDelimiter();
+        this.quote = this.options.getQuote();
+        this.lineSeparator = this.options.getLineSeparator();
+        this.escapeFormulas = this.options.isEscapeFormulas();
+    }
+
+    /**
+     * @description 写入一个sheet的数据, 输出列与xls/xlsx导出相同, 有合计时在末尾写入合计行
+     * @param excelSheet        sheet数据集
+     * @param dateTimeFormatter 日期时间格式化
+     * @param pattern           日期格式, 默认"yyyy/MM/dd"
+     */
+    public <T> void write(ExcelUtil.ExcelSheet<T> excelSheet, DateTimeFormatter dateTimeFormatter,
+                          String pattern) throws IOException {
+        Assert.notNull(excelSheet, "sheet不能为空");
+        // CSV没有单元格类型, 日期等按文本写入
+        ExcelCellWriter cellWriter = new ExcelCellWriter(null, dateTimeFormatter, pattern, false);
+        try (ExcelDataSource<T> dataSource = excelSheet.getDataSource() != null
+                ? excelSheet.getDataSource() : ExcelDataSource.of(excelSheet.getDataset())) {
+            Iterator<T> dataset = dataSource.iterator();
+            List<String> header = excelSheet.getHeader();
+            if (!dataset.hasNext()) {
+                //无数据只写表头
+                if (!CollectionUtils.isEmpty(header)) {
+                    writeRecord(header.toArray());
+                }
+                writer.flush();
+                return;
+            }
+            T first = dataset.next();
+            List<ExcelColumnPlan.Column> columns = Boolean.FALSE.equals(excelSheet.getChart())
+                    ? ExcelColumnPlan.of(GoalDownloadVO.class).getColumns(header)
+                    : ExcelColumnPlan.of(first.getClass()).getColumns();
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns.get(i).getName();
+            }
+            writeRecord(values);
+
+            T t = first;
+            while (true) {
+                for (int i = 0; i < values.length; i++) {
+                    ExcelColumnPlan.Column column = columns.get(i);
+                    Object value = column.getValue(t);
+                    if (value == null) {
+                        value = column.getDefaultValue();
+                    }
+                    // 数值原样交给writeRecord输出, 不参与公式转义
+                    values[i] = value instanceof Number ? value : cellWriter.format(value);
+                }
+                writeRecord(values);
+                if (!dataset.hasNext()) {
+                    break;
+                }
+                t = dataset.next();
+            }
+
+            if (excelSheet.getTotalAmount() != null) {
+                // 合计列可以在输出列之外, 与xls/xlsx导出一致
+                Object[] total = new Object[Math.max(values.length, excelSheet.getIndex() + 1)];
+                total[0] = excelSheet.getTotal();
+                total[excelSheet.getIndex()] = excelSheet.getTotalAmount();
+                writeRecord(total);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * @description 写入一行, 字段按RFC 4180转义. 数值按单元格显示输出, 不使用科学计数法;
+     * 开启{@link CsvOptions#isEscapeFormulas()}时文本按公式注入规则转义
+     * @param values 字段值, null写为空字段
+     */
+    public void writeRecord(Object[] values) throws IOException {
+        if (!started) {
+            started = true;
+            if (options.isBom() && options.getCharset().name().startsWith("UTF")) {
+                writer.write(BOM);
+            }
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            if (values[i] != null) {
+                writeField(text(values[i]));
+            }
+        }
+        writer.write(lineSeparator);
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String field) throws IOException {
+        int length = field.length();
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            char ch = field.charAt(i);
+            if (ch == delimiter || ch == quote || ch == '\r' || ch == '\n') {
+                quoted = true;
+                break;
+            }
+        }
+        if (!quoted) {
+            writer.write(field);
+            return;
+        }
+        writer.write(quote);
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (field.charAt(i) == quote) {
+                // 包围符转义为两个包围符
+                writer.write(field, start, i - start + 1);
+                writer.write(quote);
+                start = i + 1;
+            }
+        }
+        writer.write(field, start, length - start);
+        writer.write(quote);
+    }
+
+    /**
+     * @description 转换为与单元格显示一致的文本, 数值不使用科学计数法
+     */
+    private String text(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof Double || value instanceof Float) {
+            return NumberToTextConverter.toText(((Number) value).doubleValue());
+        } else if (value instanceof String && escapeFormulas) {
+            return escapeFormula((String) value);
+        }
+        return value.toString();
+    }
+
+    /**
+     * @description 以=、+、-、@及制表符、回车开头的文本会被Excel当作公式执行, 前面加单引号按文本显示
+     */
+    private static String escapeFormula(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        char first = text.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + text;
+        }
+        return text;
+    }
+}
@@ -0,0 +1,180 @@
+package com.util.simpleExcel.util;
+
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * @className: ExcelDataSource
+ * @description: 导出数据源, 导出时按需拉取数据行, 不要求调用方预先把全部数据加载为List.
+ * 分页数据源只持有当前页, 一页写完后即释放引用, 堆内存占用取决于页大小而不是总行数.
+ * 数据源只能遍历一次, 导出结束后由导出方法关闭
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelDataSource<T> implements AutoCloseable {
+
+    private final Iterator<T> iterator;
+    /**已知的数据行数, 未知时为-1*/
+    private final int size;
+    private final Runnable onClose;
+    private boolean opened;
+
+    private ExcelDataSource(Iterator<T> iterator, int size, Runnable onClose) {
+        this.iterator = iterator;
+        this.size = size;
+        this.onClose = onClose;
+    }
+
+    /**
+     * @description 基于已加载的集合, 与直接设置dataset等价
+     * @param list
+     * @return
+     */
+    public static <T> ExcelDataSource<T> of(List<T> list) {
+        if (list == null) {
+            return empty();
+        }
+        return new ExcelDataSource<>(list.iterator(), list.size(), null);
+    }
+
+    /**
+     * @description 基于迭代器, 如数据库游标的封装
+     * @param iterator
+     * @return
+     */
+    public static <T> ExcelDataSource<T> of(Iterator<T> iterator) {
+        Assert.notNull(iterator, "迭代器不能为空");
+        return new ExcelDataSource<>(iterator, -1, null);
+    }
+
+    /**
+     * @description 基于Stream, 导出结束后关闭Stream, 可直接传入持有数据库连接的流式查询结果
+     * @param stream
+     * @return
+     */
+    public static <T> ExcelDataSource<T> of(Stream<T> stream) {
+        Assert.notNull(stream, "stream不能为空");
+        return new ExcelDataSource<>(stream.iterator(), -1, stream::close);
+    }
+
+    /**
+     * @description 分页拉取, 返回的页小于页大小时视为最后一页
+     * @param supplier 分页查询, 支持按偏移量或按上一页最后一条记录(keyset)查询
+     * @param pageSize 页大小
+     * @return
+     */
+    public static <T> ExcelDataSource<T> paged(PageSupplier<T> supplier, int pageSize) {
+        Assert.notNull(supplier, "分页查询不能为空");
+        Assert.state(pageSize > 0, "页大小必须大于0");
+        return new ExcelDataSource<>(new PageIterator<>(supplier, pageSize), -1, null);
+    }
+
+    /**
+     * @description 分页拉取, 并提供总行数(如count查询的结果), 用于导出前估算内存与进度
+     * @param supplier  分页查询
+     * @param pageSize  页大小
+     * @param totalRows 总行数
+     * @return
+     */
+    public static <T> ExcelDataSource<T> paged(PageSupplier<T> supplier, int pageSize, int totalRows) {
+        Assert.notNull(supplier, "分页查询不能为空");
+        Assert.state(pageSize > 0, "页大小必须大于0");
+        Assert.state(totalRows >= 0, "总行数不能小于0");
+        return new ExcelDataSource<>(new PageIterator<>(supplier, pageSize), totalRows, null);
+    }
+
+    public static <T> ExcelDataSource<T> empty() {
+        return new ExcelDataSource<>(Collections.emptyIterator(), 0, null);
+    }
+
+    /**
+     * @description 已知的数据行数
+     * @return 未知时返回-1
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @description 获取数据迭代器, 只能获取一次
+     * @return
+     */
+    public Iterator<T> iterator() {
+        Assert.state(!opened, "数据源只能遍历一次");
+        opened = true;
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    /**
+     * 分页查询
+     */
+    @FunctionalInterface
+    public interface PageSupplier<T> {
+
+        /**
+         * @description 查询一页数据
+         * @param pageIndex 页下标, 从0开始, 偏移量为pageIndex * pageSize
+         * @param pageSize  页大小
+         * @param last      上一页的最后一条记录, 第一页时为null, 用于keyset分页
+         * @return 当前页数据, 没有数据时返回空集合或null
+         */
+        List<T> fetch(int pageIndex, int pageSize, T last);
+    }
+
+    private static final class PageIterator<T> implements Iterator<T> {
+        private final PageSupplier<T> supplier;
+        private final int pageSize;
+        private int pageIndex;
+        private List<T> page;
+        private int position;
+        private T last;
+        private boolean lastPage;
+
+        PageIterator(PageSupplier<T> supplier, int pageSize) {
+            this.supplier = supplier;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page != null && position < page.size()) {
+                return true;
+            }
+            // 当前页已写完, 释放后再拉取下一页
+            page = null;
+            if (lastPage) {
+                return false;
+            }
+            List<T> next = supplier.fetch(pageIndex++, pageSize, last);
+            if (next == null || next.isEmpty()) {
+                lastPage = true;
+                return false;
+            }
+            lastPage = next.size() < pageSize;
+            page = next;
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = page.get(position++);
+            return last;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.util.simpleExcel.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @className: ExcelDatePattern
+ * @description: java.time日期格式转换为excel数据格式. excel只支持年月日、星期、时分秒、毫秒与AM/PM,
+ * 且月份与分钟同为m需要依靠上下文区分, 无法等价表示的格式返回null, 由调用方按文本写入
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+final class ExcelDatePattern {
+
+    /**excel日期格式中无需加引号的字面字符*/
+    private static final String RAW_LITERALS = " -/:.,()";
+    private static final String DATE_LETTERS = "yuMLdE";
+    private static final String TIME_LETTERS = "HhKkmsSanNA";
+
+    private ExcelDatePattern() {
+    }
+
+    /**
+     * @description 转换为excel数据格式
+     * @param pattern java.time日期格式
+     * @return 无法转换时返回null
+     */
+    static String toExcel(String pattern) {
+        List<Token> tokens = tokenize(pattern);
+        if (tokens == null) {
+            return null;
+        }
+        StringBuilder format = new StringBuilder();
+        boolean hour12 = false;
+        boolean hour24 = false;
+        boolean amPm = false;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            int n = token.count;
+            switch (token.letter) {
+                case 0:
+                    appendLiteral(format, token.text);
+                    break;
+                case 'y':
+                case 'u':
+                    format.append(n == 2 ? "yy" : "yyyy");
+                    break;
+                case 'M':
+                case 'L':
+                    // 紧跟小时或后接秒的m会被excel当作分钟
+                    if (n <= 2 && (isHour(previous(tokens, i)) || next(tokens, i) == 's')) {
+                        return null;
+                    }
+                    repeat(format, 'm', Math.min(n, 5));
+                    break;
+                case 'd':
+                    if (n > 2) {
+                        return null;
+                    }
+                    repeat(format, 'd', n);
+                    break;
+                case 'E':
+                    if (n > 4) {
+                        return null;
+                    }
+                    format.append(n == 4 ? "dddd" : "ddd");
+                    break;
+                case 'H':
+                case 'h':
+                    if (n > 2) {
+                        return null;
+                    }
+                    hour24 |= token.letter == 'H';
+                    hour12 |= token.letter == 'h';
+                    repeat(format, 'h', n);
+                    break;
+                case 'm':
+                    // 不与小时或秒相邻的m会被excel当作月份
+                    if (n > 2 || !isHour(previous(tokens, i)) && next(tokens, i) != 's') {
+                        return null;
+                    }
+                    repeat(format, 'm', n);
+                    break;
+                case 's':
+                    if (n > 2) {
+                        return null;
+                    }
+                    repeat(format, 's', n);
+                    break;
+                case 'S':
+                    // excel只支持紧跟在秒之后的1到3位小数
+                    if (n > 3 || format.length() < 2 || format.charAt(format.length() - 2) != 's'
+                            || format.charAt(format.length() - 1) != '.') {
+                        return null;
+                    }
+                    repeat(format, '0', n);
+                    break;
+                case 'a':
+                    if (n > 1) {
+                        return null;
+                    }
+                    amPm = true;
+                    format.append("AM/PM");
+                    break;
+                default:
+                    return null;
+            }
+        }
+        // excel的h在有AM/PM时为12小时制, 否则为24小时制
+        if (hour24 && amPm || hour12 && !amPm) {
+            return null;
+        }
+        return format.toString();
+    }
+
+    /**
+     * @description 去掉时间部分的日期格式, 用于LocalDate
+     * @param pattern java.time日期格式
+     * @return 不含时间时原样返回, 日期与时间交错或没有日期部分时返回{@link ExcelUtil#PATTERN}
+     */
+    static String dateOnly(String pattern) {
+        List<Token> tokens = tokenize(pattern);
+        if (tokens == null) {
+            return pattern;
+        }
+        int end = -1;
+        boolean date = false;
+        for (int i = 0; i < tokens.size(); i++) {
+            char letter = tokens.get(i).letter;
+            if (letter != 0 && TIME_LETTERS.indexOf(letter) >= 0) {
+                if (end < 0) {
+                    end = i;
+                }
+            } else if (letter != 0 && DATE_LETTERS.indexOf(letter) >= 0) {
+                if (end >= 0) {
+                    return ExcelUtil.PATTERN;
+                }
+                date = true;
+            }
+        }
+        if (end < 0) {
+            return pattern;
+        }
+        if (!date) {
+            return ExcelUtil.PATTERN;
+        }
+        // 去掉日期与时间之间的分隔符
+        while (end > 0 && isSeparator(tokens.get(end - 1))) {
+            end--;
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < end; i++) {
+            result.append(tokens.get(i).source);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @description 拆分为字段与字面量, 含可选段等excel无对应写法的语法时返回null
+     */
+    private static List<Token> tokenize(String pattern) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int start = i;
+            if (c == '\'') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= pattern.length()) {
+                        return null;
+                    }
+                    if (pattern.charAt(i) == '\'') {
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                            text.append('\'');
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    text.append(pattern.charAt(i++));
+                }
+                // ''表示单引号本身
+                tokens.add(new Token((char) 0, 0, text.length() == 0 ? "'" : text.toString(),
+                        pattern.substring(start, i)));
+            } else if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                while (i < pattern.length() && pattern.charAt(i) == c) {
+                    i++;
+                }
+                tokens.add(new Token(c, i - start, null, pattern.substring(start, i)));
+            } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                return null;
+            } else {
+                i++;
+                tokens.add(new Token((char) 0, 0, String.valueOf(c), String.valueOf(c)));
+            }
+        }
+        return tokens;
+    }
+
+    private static void appendLiteral(StringBuilder format, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (RAW_LITERALS.indexOf(c) >= 0) {
+                format.append(c);
+            } else if (c == '"') {
+                format.append("\\\"");
+            } else {
+                format.append('"').append(c).append('"');
+            }
+        }
+    }
+
+    private static void repeat(StringBuilder format, char c, int n) {
+        for (int i = 0; i < n; i++) {
+            format.append(c);
+        }
+    }
+
+    private static boolean isHour(char letter) {
+        return letter == 'H' || letter == 'h';
+    }
+
+    /**
+     * @description 前一个字段的字母, 跳过字面量
+     */
+    private static char previous(List<Token> tokens, int i) {
+        for (int j = i - 1; j >= 0; j--) {
+            if (tokens.get(j).letter != 0) {
+                return tokens.get(j).letter;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @description 后一个字段的字母, 跳过字面量
+     */
+    private static char next(List<Token> tokens, int i) {
+        for (int j = i + 1; j < tokens.size(); j++) {
+            if (tokens.get(j).letter != 0) {
+                return tokens.get(j).letter;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isSeparator(Token token) {
+        if (token.letter != 0) {
+            return false;
+        }
+        String text = token.text.trim();
+        return text.isEmpty() || "T".equals(text) || text.length() == 1 && RAW_LITERALS.indexOf(text.charAt(0)) >= 0;
+    }
+
+    private static final class Token {
+        /**字段字母, 字面量为0*/
+        private final char letter;
+        private final int count;
+        /**字面量文本*/
+        private final String text;
+        /**原始格式片段*/
+        private final String source;
+
+        Token(char letter, int count, String text, String source) {
+            this.letter = letter;
+            this.count = count;
+            this.text = text;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelEngine
+ * @description: 导出引擎
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public enum ExcelEngine {
+    /**内存中构建xls工作簿, 支持全部样式, 堆占用与单元格数成正比*/
+    HSSF("xls", "application/vnd.ms-excel"),
+    /**窗口流式写xlsx, 超出窗口的行刷新到磁盘, 堆占用只与窗口大小和列数有关*/
+    SXSSF("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    /**逐行写CSV, 不经过POI, 只支持单sheet且没有样式*/
+    CSV("csv", "text/csv");
+
+    private final String extension;
+    private final String contentType;
+
+    ExcelEngine(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
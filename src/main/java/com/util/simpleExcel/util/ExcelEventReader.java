@@ -0,0 +1,428 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @className: ExcelEventReader
+ * @description: 基于事件模型的excel读取, xlsx使用SAX解析sheet xml, xls使用HSSF record事件模型,
+ * 按行回调原始单元格值, 不构建完整的工作簿对象. 包与文件系统需按文件打开, 内存占用才与文件大小无关.
+ * 单元格取值规则与{@link ExcelCellReader}保持一致: 日期格式的数值返回Date, 其余数值返回Double, 文本返回String
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelEventReader {
+
+    private static final String CHARTSHEET_TYPE = XSSFRelation.CHARTSHEET.getContentType();
+
+    private ExcelEventReader() {
+    }
+
+    /**
+     * 原始行回调
+     */
+    @FunctionalInterface
+    public interface RawRowListener {
+
+        /**
+         * @description 解析完一行时回调, values按列下标存放, 空单元格为null
+         * @param rowNum 行下标, 从0开始
+         * @param values 单元格值, 回调结束后数组会被复用, 需要保留时请自行拷贝
+         */
+        void onRow(int rowNum, Object[] values);
+    }
+
+    /**
+     * 多sheet读取时按sheet选择行回调
+     */
+    @FunctionalInterface
+    public interface SheetListenerFactory {
+
+        /**
+         * @description 开始解析一个sheet时回调
+         * @param sheetIndex sheet下标, 从0开始
+         * @param sheetName  sheet名称
+         * @return 该sheet的行回调, 返回null时跳过该sheet
+         */
+        RawRowListener forSheet(int sheetIndex, String sheetName);
+    }
+
+    /**
+     * @description 流式读取xlsx中指定sheet
+     * @param pkg      xlsx包
+     * @param sheetNum sheet下标, 从0开始
+     * @param listener 行回调
+     * @return sheet不存在时返回false
+     */
+    public static boolean readXlsx(OPCPackage pkg, int sheetNum, RawRowListener listener) throws IOException {
+        return readXlsx(pkg, (index, name) -> index == sheetNum ? listener : null) > 0;
+    }
+
+    /**
+     * @description 一次遍历读取xlsx中的多个sheet, 共享字符串表与样式表只解析一次, 未选择的sheet不解析
+     * @param pkg     xlsx包
+     * @param factory 按sheet选择行回调
+     * @return 读取的sheet数
+     */
+    public static int readXlsx(OPCPackage pkg, SheetListenerFactory factory) throws IOException {
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sst = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            int index = 0;
+            int read = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    // 图表sheet占用下标但没有单元格, 不回调
+                    if (CHARTSHEET_TYPE.equals(sheets.getSheetPart().getContentType())) {
+                        index++;
+                        continue;
+                    }
+                    RawRowListener listener = factory.forSheet(index++, sheets.getSheetName());
+                    if (listener != null) {
+                        XMLReader xmlReader = newXMLReader();
+                        xmlReader.setContentHandler(new XlsxSheetHandler(sst, styles, listener));
+                        xmlReader.parse(new InputSource(sheet));
+                        read++;
+                    }
+                }
+            }
+            return read;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @description 流式读取xls中指定sheet
+     * @param fs       xls文件系统
+     * @param sheetNum sheet下标, 从0开始
+     * @param listener 行回调
+     * @return sheet不存在时返回false
+     */
+    public static boolean readXls(POIFSFileSystem fs, int sheetNum, RawRowListener listener) throws IOException {
+        return readXls(fs, (index, name) -> index == sheetNum ? listener : null) > 0;
+    }
+
+    /**
+     * @description 一次遍历读取xls中的多个sheet, 记录流只读取一遍
+     * @param fs      xls文件系统
+     * @param factory 按sheet选择行回调
+     * @return 读取的sheet数
+     */
+    public static int readXls(POIFSFileSystem fs, SheetListenerFactory factory) throws IOException {
+        XlsListener xlsListener = new XlsListener(factory);
+        FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(xlsListener));
+        xlsListener.formatListener = formatListener;
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(formatListener);
+        new HSSFEventFactory().processWorkbookEvents(request, fs);
+        return xlsListener.read;
+    }
+
+    private static XMLReader newXMLReader() throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    /**
+     * @description 解析单元格引用(如AB12)中的列下标
+     * @param ref
+     * @return
+     */
+    static int columnIndex(String ref) {
+        int col = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char ch = ref.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            col = col * 26 + (ch - 'A' + 1);
+        }
+        return col - 1;
+    }
+
+    /**
+     * 可复用的行缓冲
+     */
+    static final class RowBuffer {
+        private Object[] values = new Object[16];
+        private int width;
+
+        void set(int col, Object value) {
+            if (col >= values.length) {
+                values = Arrays.copyOf(values, Math.max(col + 1, values.length * 2));
+            }
+            values[col] = value;
+            if (col >= width) {
+                width = col + 1;
+            }
+        }
+
+        Object[] toArray() {
+            return values.length == width ? values : Arrays.copyOf(values, width);
+        }
+
+        void clear() {
+            Arrays.fill(values, 0, width, null);
+            width = 0;
+        }
+    }
+
+    /**
+     * xlsx sheet xml解析
+     */
+    private static final class XlsxSheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sst;
+        private final StylesTable styles;
+        private final RawRowListener listener;
+        private final RowBuffer row = new RowBuffer();
+        private final StringBuilder text = new StringBuilder();
+        /**样式下标 -> 是否日期格式, 0未解析 1是 2否*/
+        private byte[] dateStyles = new byte[64];
+
+        private int rowNum = -1;
+        private int col = -1;
+        private String cellType;
+        private int styleIndex;
+        private boolean inValue;
+
+        XlsxSheetHandler(ReadOnlySharedStringsTable sst, StylesTable styles, RawRowListener listener) {
+            this.sst = sst;
+            this.styles = styles;
+            this.listener = listener;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row": {
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    col = -1;
+                    row.clear();
+                    break;
+                }
+                case "c": {
+                    String r = attributes.getValue("r");
+                    col = r != null ? columnIndex(r) : col + 1;
+                    cellType = attributes.getValue("t");
+                    String s = attributes.getValue("s");
+                    styleIndex = s != null ? Integer.parseInt(s) : 0;
+                    text.setLength(0);
+                    break;
+                }
+                case "v":
+                case "t":
+                    inValue = true;
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    inValue = false;
+                    break;
+                case "c": {
+                    Object value = cellValue();
+                    if (value != null) {
+                        row.set(col, value);
+                    }
+                    break;
+                }
+                case "row":
+                    listener.onRow(rowNum, row.toArray());
+                    break;
+                default:
+            }
+        }
+
+        private Object cellValue() {
+            if (cellType == null || "n".equals(cellType)) {
+                if (text.length() == 0) {
+                    return null;
+                }
+                String raw = text.toString();
+                if (isDateStyle(styleIndex)) {
+                    return DateUtil.getJavaDate(Double.parseDouble(raw));
+                }
+                return Double.valueOf(raw);
+            }
+            switch (cellType) {
+                case "s":
+                    return sst.getEntryAt(Integer.parseInt(text.toString()));
+                case "inlineStr":
+                case "str":
+                    return text.toString();
+                default:
+                    // 布尔与错误单元格
+                    return "";
+            }
+        }
+
+        private boolean isDateStyle(int index) {
+            if (styles == null) {
+                return false;
+            }
+            if (index >= dateStyles.length) {
+                dateStyles = Arrays.copyOf(dateStyles, Math.max(index + 1, dateStyles.length * 2));
+            }
+            if (dateStyles[index] == 0) {
+                XSSFCellStyle style = styles.getStyleAt(index);
+                boolean date = style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+                dateStyles[index] = date ? (byte) 1 : (byte) 2;
+            }
+            return dateStyles[index] == 1;
+        }
+    }
+
+    /**
+     * xls record事件监听
+     */
+    private static final class XlsListener implements HSSFListener {
+        private final SheetListenerFactory factory;
+        private final RowBuffer row = new RowBuffer();
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        private FormatTrackingHSSFListener formatListener;
+        private SSTRecord sst;
+        /**按sheet在文件中的位置排序的sheet名称*/
+        private BoundSheetRecord[] orderedSheets;
+
+        private int sheetIndex = -1;
+        /**子流嵌套深度, 工作表中嵌入的图表有自己的BOF/EOF*/
+        private int depth;
+        /**当前sheet的行回调, 未选择时为null*/
+        private RawRowListener listener;
+        private int read;
+        /**字符串公式的结果在随后的StringRecord中*/
+        private int pendingStringCol = -1;
+
+        XlsListener(SheetListenerFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            if (record instanceof BoundSheetRecord) {
+                boundSheets.add((BoundSheetRecord) record);
+                return;
+            }
+            if (record instanceof BOFRecord) {
+                int type = ((BOFRecord) record).getType();
+                // 顶层子流除工作簿全局外都对应一个BoundSheetRecord, 图表、宏表同样占用sheet下标
+                if (depth++ == 0 && type != BOFRecord.TYPE_WORKBOOK) {
+                    if (orderedSheets == null) {
+                        orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+                    }
+                    sheetIndex++;
+                    if (type == BOFRecord.TYPE_WORKSHEET) {
+                        String name = sheetIndex < orderedSheets.length ? orderedSheets[sheetIndex].getSheetname() : null;
+                        listener = factory.forSheet(sheetIndex, name);
+                        if (listener != null) {
+                            read++;
+                        }
+                    }
+                }
+                return;
+            }
+            if (record instanceof EOFRecord) {
+                if (--depth == 0) {
+                    listener = null;
+                }
+                return;
+            }
+            if (record instanceof SSTRecord) {
+                sst = (SSTRecord) record;
+                return;
+            }
+            if (listener == null) {
+                return;
+            }
+            if (record instanceof LastCellOfRowDummyRecord) {
+                listener.onRow(((LastCellOfRowDummyRecord) record).getRow(), row.toArray());
+                row.clear();
+            } else if (record instanceof NumberRecord) {
+                NumberRecord number = (NumberRecord) record;
+                row.set(number.getColumn(), isDate(number)
+                        ? DateUtil.getJavaDate(number.getValue()) : (Object) number.getValue());
+            } else if (record instanceof LabelSSTRecord) {
+                LabelSSTRecord label = (LabelSSTRecord) record;
+                row.set(label.getColumn(), sst.getString(label.getSSTIndex()).getString());
+            } else if (record instanceof LabelRecord) {
+                LabelRecord label = (LabelRecord) record;
+                row.set(label.getColumn(), label.getValue());
+            } else if (record instanceof FormulaRecord) {
+                FormulaRecord formula = (FormulaRecord) record;
+                if (formula.hasCachedResultString()) {
+                    pendingStringCol = formula.getColumn();
+                } else {
+                    row.set(formula.getColumn(), isDate(formula)
+                            ? DateUtil.getJavaDate(formula.getValue()) : (Object) formula.getValue());
+                }
+            } else if (record instanceof StringRecord) {
+                if (pendingStringCol >= 0) {
+                    row.set(pendingStringCol, ((StringRecord) record).getString());
+                    pendingStringCol = -1;
+                }
+            } else if (record instanceof BoolErrRecord) {
+                row.set(((BoolErrRecord) record).getColumn(), "");
+            }
+        }
+
+        private boolean isDate(CellValueRecordInterface cell) {
+            return DateUtil.isADateFormat(formatListener.getFormatIndex(cell), formatListener.getFormatString(cell));
+        }
+    }
+}
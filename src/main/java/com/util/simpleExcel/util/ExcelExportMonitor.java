@@ -0,0 +1,21 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelExportMonitor
+ * @description: 导出进度监控, 写入过程中每写完一批数据行回调一次, 可用于上报进度以及协作式取消:
+ * 回调中抛出{@link java.util.concurrent.CancellationException}即终止导出
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface ExcelExportMonitor {
+
+    /**回调间隔的行数*/
+    int INTERVAL = 1024;
+
+    /**
+     * @description 写入检查点
+     * @param rowsWritten 当前sheet已写入的数据行数
+     */
+    void checkpoint(long rowsWritten);
+}
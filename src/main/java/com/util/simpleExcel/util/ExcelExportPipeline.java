@@ -0,0 +1,111 @@
+package com.util.simpleExcel.util;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @className: ExcelExportPipeline
+ * @description: 导出流水线, 数据按批次交给线程池并行取值和格式化, 结果按原顺序在调用线程上单线程写入sheet(POI非线程安全).
+ * 同时处理中的批次数有上限, 写入跟不上时读取数据源的调用线程会阻塞等待, 避免格式化结果在内存中堆积
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelExportPipeline {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ExecutorService executor;
+    private final int batchSize;
+    /**同时处理中的最大批次数*/
+    private final int maxInFlight;
+
+    public ExcelExportPipeline(ExecutorService executor, int batchSize, int maxInFlight) {
+        Assert.notNull(executor, "线程池不能为空");
+        Assert.state(batchSize > 0, "批次大小必须大于0");
+        Assert.state(maxInFlight > 0, "处理中批次数必须大于0");
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @description 使用公共ForkJoinPool, 处理中批次数为并行度的两倍
+     * @return
+     */
+    public static ExcelExportPipeline common() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return new ExcelExportPipeline(pool, DEFAULT_BATCH_SIZE, pool.getParallelism() * 2);
+    }
+
+    /**
+     * @description 执行流水线
+     * @param source    数据源, 只在调用线程上读取
+     * @param transform 单行转换, 在线程池中执行, 需要线程安全
+     * @param sink      写入, 在调用线程上按数据源顺序执行
+     * @return 写入的行数
+     */
+    public <T, R> int run(Iterator<T> source, Function<? super T, ? extends R> transform, Consumer<? super R> sink) {
+        Deque<Future<List<R>>> inFlight = new ArrayDeque<>(maxInFlight);
+        int count = 0;
+        try {
+            while (source.hasNext()) {
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && source.hasNext()) {
+                    batch.add(source.next());
+                }
+                if (inFlight.size() >= maxInFlight) {
+                    count += drain(inFlight.pollFirst(), sink);
+                }
+                inFlight.addLast(executor.submit(() -> {
+                    List<R> result = new ArrayList<>(batch.size());
+                    for (T t : batch) {
+                        result.add(transform.apply(t));
+                    }
+                    return result;
+                }));
+            }
+            while (!inFlight.isEmpty()) {
+                count += drain(inFlight.pollFirst(), sink);
+            }
+            return count;
+        } finally {
+            for (Future<List<R>> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <R> int drain(Future<List<R>> future, Consumer<? super R> sink) {
+        List<R> result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导出被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        for (R r : result) {
+            sink.accept(r);
+        }
+        return result.size();
+    }
+}
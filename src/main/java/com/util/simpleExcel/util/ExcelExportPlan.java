@@ -0,0 +1,52 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelExportPlan
+ * @description: 导出规划结果, 包含选定的引擎与堆内存估算, toString可直接用于日志
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelExportPlan {
+
+    private final ExcelEngine engine;
+    /**数据行数, 数据源未提供行数时为-1*/
+    private final long rows;
+    private final long cells;
+    /**所选引擎的堆内存估算(字节), 行数未知时按已知部分估算*/
+    private final long estimatedBytes;
+    private final long heapBudget;
+
+    ExcelExportPlan(ExcelEngine engine, long rows, long cells, long estimatedBytes, long heapBudget) {
+        this.engine = engine;
+        this.rows = rows;
+        this.cells = cells;
+        this.estimatedBytes = estimatedBytes;
+        this.heapBudget = heapBudget;
+    }
+
+    public ExcelEngine getEngine() {
+        return engine;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getCells() {
+        return cells;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelExportPlan{engine=" + engine + ", rows=" + rows + ", cells=" + cells
+                + ", estimated=" + (estimatedBytes >> 10) + "KB, budget=" + (heapBudget >> 10) + "KB}";
+    }
+}
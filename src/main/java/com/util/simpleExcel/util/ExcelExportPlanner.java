@@ -0,0 +1,232 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.hab.vo.operation.GoalDownloadVO;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @className: ExcelExportPlanner
+ * @description: 导出前的堆内存估算与引擎选择. 根据行数、@Excel列计划中的列数及字段类型估算各引擎的堆占用,
+ * 在预算内优先选择内存xls, 其次窗口流式xlsx, 单sheet时再退化为CSV, 都超出预算时拒绝导出,
+ * 避免调用方误判数据量导致内存溢出. 估算只计入工作簿自身的占用, 不包括调用方已加载的数据集合.
+ * 预算默认为最大堆的1/4, 可通过{@link #setHeapBudget}或simple-excel.export.heap-budget配置
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelExportPlanner {
+
+    /**工作簿固定开销: 样式、字体、文档结构及输出缓冲*/
+    static final long WORKBOOK_BYTES = 2L << 20;
+    /**HSSF每行的行记录与索引*/
+    private static final int HSSF_ROW_BYTES = 160;
+    /**HSSF每个单元格的对象与记录*/
+    private static final int HSSF_CELL_BYTES = 96;
+    /**HSSF文本单元格额外的共享字符串表条目, 按平均16个字符估算*/
+    private static final int HSSF_STRING_BYTES = 96;
+    /**SXSSF窗口内每行及每个单元格的占用, 文本以内联字符串保存*/
+    private static final int SXSSF_ROW_BYTES = 128;
+    private static final int SXSSF_CELL_BYTES = 80;
+    private static final int SXSSF_STRING_BYTES = 64;
+    /**并行写入时在途批次中每个已格式化单元格的占用*/
+    private static final int PIPELINE_CELL_BYTES = 48;
+    /**CSV只有读写缓冲*/
+    private static final long CSV_BYTES = 1L << 20;
+
+    private static volatile long heapBudget = Runtime.getRuntime().maxMemory() / 4;
+
+    private ExcelExportPlanner() {
+    }
+
+    public static long getHeapBudget() {
+        return heapBudget;
+    }
+
+    /**
+     * @description 设置单次导出的堆内存预算
+     * @param bytes 字节数
+     */
+    public static void setHeapBudget(long bytes) {
+        Assert.state(bytes > 0, "堆内存预算必须大于0");
+        heapBudget = bytes;
+    }
+
+    /**
+     * @description 选择导出引擎, 多sheet时不会选择CSV
+     * @param sheets {@link ExcelUtil.ExcelSheet}的集合
+     * @return 导出规划
+     * @throws IllegalStateException 所有可用引擎的估算都超出预算
+     */
+    public static <T> ExcelExportPlan plan(List<ExcelUtil.ExcelSheet<T>> sheets) {
+        return plan(sheets, true);
+    }
+
+    /**
+     * @description 选择导出引擎. 行数已知且xls在预算内时选择HSSF, 行数未知或超出时选择SXSSF,
+     * SXSSF仍超出预算(列数极多)时在允许的情况下选择CSV
+     * @param sheets   {@link ExcelUtil.ExcelSheet}的集合
+     * @param allowCsv 是否允许退化为CSV
+     * @return 导出规划
+     * @throws IllegalStateException 所有可用引擎的估算都超出预算
+     */
+    public static <T> ExcelExportPlan plan(List<ExcelUtil.ExcelSheet<T>> sheets, boolean allowCsv) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        long budget = heapBudget;
+        Estimate estimate = estimate(sheets);
+        if (estimate.rows >= 0 && estimate.hssfBytes <= budget) {
+            return estimate.toPlan(ExcelEngine.HSSF, budget);
+        }
+        if (estimate.sxssfBytes <= budget) {
+            return estimate.toPlan(ExcelEngine.SXSSF, budget);
+        }
+        if (allowCsv && sheets.size() == 1 && CSV_BYTES <= budget) {
+            return estimate.toPlan(ExcelEngine.CSV, budget);
+        }
+        throw overBudget(estimate.toPlan(ExcelEngine.SXSSF, budget));
+    }
+
+    /**
+     * @description 校验指定引擎的估算是否在预算内. 行数未知时只能按已知部分估算, 不做拦截
+     * @param sheets {@link ExcelUtil.ExcelSheet}的集合
+     * @param engine 导出引擎
+     * @return 导出规划
+     * @throws IllegalStateException 估算超出预算
+     */
+    public static <T> ExcelExportPlan admit(List<ExcelUtil.ExcelSheet<T>> sheets, ExcelEngine engine) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        ExcelExportPlan plan = estimate(sheets).toPlan(engine, heapBudget);
+        if (plan.getEstimatedBytes() > plan.getHeapBudget()) {
+            throw overBudget(plan);
+        }
+        return plan;
+    }
+
+    /**
+     * @description 校验向{@link ExcelVO}追加表格后工作簿的累计估算是否在预算内, 通过后计入累计值
+     * @param excelVo    目标工作簿
+     * @param rows       追加的行数
+     * @param cells      追加的单元格数
+     * @param textCells  其中文本单元格数
+     * @throws IllegalStateException 累计估算超出预算
+     */
+    static void admitGrid(ExcelVO excelVo, long rows, long cells, long textCells) {
+        long bytes = rows * HSSF_ROW_BYTES + cells * HSSF_CELL_BYTES + textCells * HSSF_STRING_BYTES;
+        long budget = heapBudget;
+        long total = excelVo.addEstimatedBytes(bytes);
+        if (total > budget) {
+            excelVo.addEstimatedBytes(-bytes);
+            throw overBudget(new ExcelExportPlan(ExcelEngine.HSSF, rows, cells, total, budget));
+        }
+    }
+
+    /**
+     * @description 列计划中文本列的数量, 数值、布尔与日期列写为非文本单元格
+     * @param columns
+     * @return
+     */
+    static int countTextColumns(List<ExcelColumnPlan.Column> columns) {
+        int count = 0;
+        for (ExcelColumnPlan.Column column : columns) {
+            if (isText(column.getField().getType())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isText(Class<?> type) {
+        return !(type.isPrimitive() || Number.class.isAssignableFrom(type) || Boolean.class == type
+                || Date.class.isAssignableFrom(type) || TemporalAccessor.class.isAssignableFrom(type));
+    }
+
+    private static IllegalStateException overBudget(ExcelExportPlan plan) {
+        return new IllegalStateException("导出数据量过大, 预计占用堆内存" + (plan.getEstimatedBytes() >> 20)
+                + "MB, 超出预算" + (plan.getHeapBudget() >> 20) + "MB: " + plan);
+    }
+
+    private static <T> Estimate estimate(List<ExcelUtil.ExcelSheet<T>> sheets) {
+        Estimate estimate = new Estimate();
+        int inFlightRows = ExcelExportPipeline.DEFAULT_BATCH_SIZE * ForkJoinPool.commonPool().getParallelism() * 2;
+        for (ExcelUtil.ExcelSheet<T> sheet : sheets) {
+            int columns;
+            int textColumns;
+            List<ExcelColumnPlan.Column> plan = columns(sheet);
+            if (plan != null) {
+                columns = plan.size();
+                textColumns = countTextColumns(plan);
+            } else {
+                // 无法确定数据类型时按表头估算, 全部视为文本
+                columns = sheet.getHeader() == null ? 0 : sheet.getHeader().size();
+                textColumns = columns;
+            }
+            long rows = rows(sheet);
+            if (rows < 0) {
+                estimate.rows = -1;
+            } else if (estimate.rows >= 0) {
+                estimate.rows += rows;
+            }
+            long knownRows = Math.max(rows, 0) + 1;
+            estimate.cells += knownRows * columns;
+            estimate.hssfBytes += knownRows * (HSSF_ROW_BYTES + (long) columns * HSSF_CELL_BYTES
+                    + (long) textColumns * HSSF_STRING_BYTES);
+            long windowRows = Math.min(knownRows, ExcelUtil.DEFAULT_WINDOW_SIZE);
+            if (rows < 0) {
+                windowRows = ExcelUtil.DEFAULT_WINDOW_SIZE;
+            }
+            // 窗口外的行已刷新到磁盘, 只有当前sheet的窗口在内存中, 取各sheet的最大值
+            long sxssf = windowRows * (SXSSF_ROW_BYTES + (long) columns * SXSSF_CELL_BYTES
+                    + (long) textColumns * SXSSF_STRING_BYTES);
+            if (Boolean.TRUE.equals(sheet.getParallel())) {
+                sxssf += (long) inFlightRows * columns * PIPELINE_CELL_BYTES;
+            }
+            estimate.sxssfWindowBytes = Math.max(estimate.sxssfWindowBytes, sxssf);
+        }
+        estimate.hssfBytes += WORKBOOK_BYTES;
+        estimate.sxssfBytes = WORKBOOK_BYTES + estimate.sxssfWindowBytes;
+        return estimate;
+    }
+
+    private static <T> List<ExcelColumnPlan.Column> columns(ExcelUtil.ExcelSheet<T> sheet) {
+        if (Boolean.FALSE.equals(sheet.getChart()) && !CollectionUtils.isEmpty(sheet.getHeader())) {
+            return ExcelColumnPlan.of(GoalDownloadVO.class).getColumns(sheet.getHeader());
+        }
+        if (!CollectionUtils.isEmpty(sheet.getDataset()) && sheet.getDataset().get(0) != null) {
+            return ExcelColumnPlan.of(sheet.getDataset().get(0).getClass()).getDeclaredColumns();
+        }
+        return null;
+    }
+
+    private static <T> long rows(ExcelUtil.ExcelSheet<T> sheet) {
+        if (sheet.getDataSource() != null) {
+            return sheet.getDataSource().size();
+        }
+        return sheet.getDataset() == null ? 0 : sheet.getDataset().size();
+    }
+
+    private static final class Estimate {
+        private long rows;
+        private long cells;
+        private long hssfBytes;
+        private long sxssfWindowBytes;
+        private long sxssfBytes;
+
+        private ExcelExportPlan toPlan(ExcelEngine engine, long budget) {
+            long bytes;
+            switch (engine) {
+                case HSSF:
+                    bytes = hssfBytes;
+                    break;
+                case SXSSF:
+                    bytes = sxssfBytes;
+                    break;
+                default:
+                    bytes = CSV_BYTES;
+            }
+            return new ExcelExportPlan(engine, rows, cells, bytes, budget);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.util.simpleExcel.util;
+
+import lombok.Data;
+
+/**
+ * @className: ExcelImportOptions
+ * @description: 导入校验参数, 控制错误数量上限、达到上限后是否立即停止解析以及表头预检
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Data
+public class ExcelImportOptions {
+    // 最多记录的错误数, 超出后只计数不再记录, 小于等于0时不限制
+    private int maxErrors = 100;
+    // true 表示错误数达到上限后立即停止解析, 不再读取剩余数据行
+    private boolean failFast = false;
+    // true 表示读取数据行之前先按@Excel的index与name校验表头行, 不一致时直接拒绝
+    private boolean checkHeader = false;
+
+    public static ExcelImportOptions defaults() {
+        return new ExcelImportOptions();
+    }
+
+    /**
+     * @description 校验表头并在第一个错误时停止
+     * @return
+     */
+    public static ExcelImportOptions strict() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setMaxErrors(1);
+        options.setFailFast(true);
+        options.setCheckHeader(true);
+        return options;
+    }
+}
@@ -0,0 +1,344 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.base.annotation.Excel;
+import cn.jointwisdom.mrad.ai.base.annotation.ExcelEnum;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * @className: ExcelImportPipeline
+ * @description: 导入流水线. 解析线程只负责提取原始单元格值, 按批次交给线程池并行执行类型转换、对象绑定及行校验,
+ * 结果按行号顺序在解析线程上回调handler, 错误按行、列收集. 同时处理中的批次数有上限,
+ * 绑定跟不上时解析线程阻塞等待, 内存占用与文件大小无关. 开启表头预检时在读取数据行之前校验表头,
+ * 开启快速失败时错误数达到上限即停止解析, 停止后{@link #isStopped()}返回true
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelImportPipeline<T> implements ExcelEventReader.RawRowListener {
+
+    public static final int DEFAULT_BATCH_SIZE = 512;
+
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Class<T> pojoClass;
+    private final int headRow;
+    private final ExcelRowValidator<? super T> validator;
+    private final ExcelRowHandler<T> handler;
+    private final ExcelImportOptions options;
+    private final ExcelImportResult result = new ExcelImportResult();
+    private final Deque<Future<List<BoundRow<T>>>> inFlight;
+    private ExcelImportPlan plan;
+    /**表头行的列名, 用于错误信息*/
+    private String[] headerNames;
+    private List<RawRow> batch;
+
+    /**
+     * @param executor    绑定线程池
+     * @param batchSize   批次大小
+     * @param maxInFlight 同时处理中的最大批次数
+     * @param pojoClass   绑定对象类型
+     * @param headRow     表头行下标, 该行及之前的行不导入
+     * @param validator   行校验, 可以为null
+     * @param handler     行回调, 在解析线程上按行号顺序执行
+     * @param options     错误上限、快速失败及表头预检参数, 为null时使用默认值
+     */
+    public ExcelImportPipeline(ExecutorService executor, int batchSize, int maxInFlight, Class<T> pojoClass,
+                               int headRow, ExcelRowValidator<? super T> validator, ExcelRowHandler<T> handler,
+                               ExcelImportOptions options) {
+        Assert.notNull(executor, "线程池不能为空");
+        Assert.state(batchSize > 0, "批次大小必须大于0");
+        Assert.state(maxInFlight > 0, "处理中批次数必须大于0");
+        Assert.notNull(pojoClass, "class不能为空");
+        Assert.notNull(handler, "行回调不能为空");
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.pojoClass = pojoClass;
+        this.headRow = headRow;
+        this.validator = validator;
+        this.handler = handler;
+        this.options = options == null ? ExcelImportOptions.defaults() : options;
+        this.inFlight = new ArrayDeque<>(maxInFlight);
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * @description 使用公共ForkJoinPool, 处理中批次数为并行度的两倍
+     */
+    public static <T> ExcelImportPipeline<T> common(Class<T> pojoClass, int headRow, ExcelRowValidator<? super T> validator,
+                                                    ExcelRowHandler<T> handler, ExcelImportOptions options) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return new ExcelImportPipeline<>(pool, DEFAULT_BATCH_SIZE, pool.getParallelism() * 2, pojoClass, headRow,
+                validator, handler, options);
+    }
+
+    @Override
+    public void onRow(int rowNum, Object[] values) {
+        if (result.isStopped()) {
+            throw StopException.INSTANCE;
+        }
+        if (rowNum == headRow) {
+            submit();
+            plan = ExcelImportPlan.of(pojoClass, values.length);
+            headerNames = new String[values.length];
+            for (int c = 0; c < values.length; c++) {
+                headerNames[c] = values[c] == null ? null : ExcelImportPlan.text(values[c]).trim();
+            }
+            if (options.isCheckHeader() && !checkHeader(rowNum)) {
+                throw StopException.INSTANCE;
+            }
+        }
+        if (rowNum <= headRow || ExcelUtil.isRowEmpty(values)) {
+            return;
+        }
+        if (headerNames == null && options.isCheckHeader() && headRow >= 0) {
+            // 空白的表头行不会被解析器回调
+            missingHeader();
+            throw StopException.INSTANCE;
+        }
+        if (plan == null) {
+            plan = ExcelImportPlan.of(pojoClass, ExcelImportPlan.ALL_COLUMNS);
+        }
+        // 解析器会复用数组, 需要拷贝
+        batch.add(new RawRow(rowNum, values.clone()));
+        if (batch.size() >= batchSize) {
+            submit();
+            if (result.isStopped()) {
+                throw StopException.INSTANCE;
+            }
+        }
+    }
+
+    /**
+     * @description 解析是否因错误数达到上限或表头不一致而提前停止
+     * @return
+     */
+    public boolean isStopped() {
+        return result.isStopped();
+    }
+
+    /**
+     * @description 解析结束后调用, 等待剩余批次并回调
+     * @return 导入结果
+     */
+    public ExcelImportResult finish() {
+        if (result.isStopped()) {
+            cancel();
+            return result;
+        }
+        if (headerNames == null && options.isCheckHeader() && headRow >= 0) {
+            missingHeader();
+            return result;
+        }
+        submit();
+        while (!inFlight.isEmpty() && !result.isStopped()) {
+            drain(inFlight.pollFirst());
+        }
+        cancel();
+        return result;
+    }
+
+    /**
+     * @description 取消处理中的批次, 解析失败时调用
+     */
+    public void cancel() {
+        for (Future<List<BoundRow<T>>> future : inFlight) {
+            future.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    public ExcelImportResult getResult() {
+        return result;
+    }
+
+    private void submit() {
+        // 已完成的批次立即回调, 开启快速失败时尽早发现错误数达到上限, 不必等到处理中批次数达到上限
+        while (!inFlight.isEmpty() && inFlight.peekFirst().isDone() && !result.isStopped()) {
+            drain(inFlight.pollFirst());
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (inFlight.size() >= maxInFlight) {
+            drain(inFlight.pollFirst());
+        }
+        List<RawRow> rows = batch;
+        ExcelImportPlan rowPlan = plan;
+        String[] names = headerNames;
+        batch = new ArrayList<>(batchSize);
+        if (result.isStopped()) {
+            return;
+        }
+        inFlight.addLast(executor.submit(() -> bind(rowPlan, names, rows)));
+    }
+
+    /**
+     * @description 按@Excel的index与name校验表头, 不一致时记录错误并停止解析.
+     * 同时有@ExcelEnum的字段导入时按@ExcelEnum的index绑定, 在该列校验@Excel的name;
+     * 只有@ExcelEnum的字段没有列名, 只校验该列表头不为空
+     * @return 表头是否一致
+     */
+    private boolean checkHeader(int rowNum) {
+        List<ExcelRowError> errors = new ArrayList<>();
+        for (ExcelColumnPlan.Column column : ExcelColumnPlan.of(pojoClass).getDeclaredColumns()) {
+            ExcelEnum annotationEnum = column.getField().getAnnotation(ExcelEnum.class);
+            int c = (annotationEnum == null ? column.getIndex() : annotationEnum.index()) - 1;
+            String actual = header(c);
+            if (!column.getName().equals(actual)) {
+                errors.add(new ExcelRowError(rowNum, c, column.getName(),
+                        "表头应为[" + column.getName() + "], 实际为[" + (actual == null ? "" : actual) + "]"));
+            }
+        }
+        for (Field field : pojoClass.getDeclaredFields()) {
+            ExcelEnum annotationEnum = field.getAnnotation(ExcelEnum.class);
+            if (annotationEnum == null || field.isAnnotationPresent(Excel.class)) {
+                continue;
+            }
+            int c = annotationEnum.index() - 1;
+            String actual = header(c);
+            if (actual == null || actual.isEmpty()) {
+                errors.add(new ExcelRowError(rowNum, c, null, "缺少字段[" + field.getName() + "]对应的表头"));
+            }
+        }
+        if (errors.isEmpty()) {
+            return true;
+        }
+        stopOnHeader(errors);
+        return false;
+    }
+
+    private String header(int c) {
+        return c >= 0 && c < headerNames.length ? headerNames[c] : null;
+    }
+
+    /**
+     * @description 开启表头预检但没有读到表头行, 记录错误并停止解析
+     */
+    private void missingHeader() {
+        stopOnHeader(Collections.singletonList(new ExcelRowError(headRow, -1, null, "缺少表头行")));
+    }
+
+    /**
+     * @description 表头错误与数据行错误一样计入错误上限与失败行数
+     */
+    private void stopOnHeader(List<ExcelRowError> errors) {
+        result.reject(errors, options.getMaxErrors());
+        result.setStopped(true);
+    }
+
+    private List<BoundRow<T>> bind(ExcelImportPlan rowPlan, String[] names, List<RawRow> rows) {
+        List<BoundRow<T>> bound = new ArrayList<>(rows.size());
+        for (RawRow row : rows) {
+            T pojo;
+            List<ExcelRowError> errors = null;
+            try {
+                pojo = rowPlan.newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("创建导入对象失败:" + pojoClass.getName(), e);
+            }
+            Object[] values = row.values;
+            for (int c = 0; c < values.length; c++) {
+                if (values[c] == null) {
+                    continue;
+                }
+                try {
+                    rowPlan.bind(pojo, c, values[c]);
+                } catch (Exception e) {
+                    if (errors == null) {
+                        errors = new ArrayList<>(1);
+                    }
+                    String name = names != null && c < names.length ? names[c] : null;
+                    errors.add(new ExcelRowError(row.rowNum, c, name, message(e, values[c])));
+                }
+            }
+            if (errors == null && validator != null) {
+                String error = validator.validate(pojo);
+                if (error != null) {
+                    errors = Collections.singletonList(new ExcelRowError(row.rowNum, -1, null, error));
+                }
+            }
+            bound.add(new BoundRow<>(row.rowNum, errors == null ? pojo : null, errors));
+        }
+        return bound;
+    }
+
+    private static String message(Exception e, Object value) {
+        String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        return "值[" + ExcelImportPlan.text(value) + "]无法转换: " + message;
+    }
+
+    private void drain(Future<List<BoundRow<T>>> future) {
+        List<BoundRow<T>> rows;
+        try {
+            rows = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导入被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        for (BoundRow<T> row : rows) {
+            if (row.errors != null) {
+                if (result.reject(row.errors, options.getMaxErrors()) && options.isFailFast()) {
+                    result.setStopped(true);
+                    return;
+                }
+            } else {
+                handler.handle(row.rowNum, row.pojo);
+                result.setImported(result.getImported() + 1);
+            }
+        }
+    }
+
+    private static final class RawRow {
+        private final int rowNum;
+        private final Object[] values;
+
+        private RawRow(int rowNum, Object[] values) {
+            this.rowNum = rowNum;
+            this.values = values;
+        }
+    }
+
+    private static final class BoundRow<T> {
+        private final int rowNum;
+        private final T pojo;
+        private final List<ExcelRowError> errors;
+
+        private BoundRow(int rowNum, T pojo, List<ExcelRowError> errors) {
+            this.rowNum = rowNum;
+            this.pojo = pojo;
+            this.errors = errors;
+        }
+    }
+
+    /**
+     * 停止解析, 由解析线程抛出以中断事件解析器, 不携带堆栈
+     */
+    static final class StopException extends RuntimeException {
+        static final StopException INSTANCE = new StopException();
+
+        private StopException() {
+            super("导入已停止", null, false, false);
+        }
+    }
+}
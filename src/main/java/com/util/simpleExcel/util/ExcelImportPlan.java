@@ -0,0 +1,295 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.base.annotation.Excel;
+import cn.jointwisdom.mrad.ai.base.annotation.ExcelEnum;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @className: ExcelImportPlan
+ * @description: 导入绑定计划, 按(对象类型, sheet列数)解析一次@Excel/@ExcelEnum注解并缓存,
+ * 列下标直接映射到预先生成的setter和类型转换器, 绑定单元格时只需一次数组查找和一次转换
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelImportPlan {
+
+    /**不限制列数时使用的列数*/
+    public static final int ALL_COLUMNS = Integer.MAX_VALUE;
+
+    private static final Map<Key, ExcelImportPlan> PLANS = new ConcurrentHashMap<>();
+
+    /**文本日期格式, 支持yyyy/MM/dd与yyyy-MM-dd, 时间部分可选*/
+    private static final DateTimeFormatter TEXT_DATE = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy[/][-]M[/][-]d[[ ]['T']H:m[:s]]")
+            .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+            .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+            .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+            .toFormatter();
+
+    private final Class<?> pojoClass;
+    private final Supplier<Object> constructor;
+    /**列下标 -> 绑定, 同一列绑定多个字段时按字段声明顺序链式存放*/
+    private final Binding[] bindings;
+
+    private ExcelImportPlan(Class<?> pojoClass, int columnCount) {
+        this.pojoClass = pojoClass;
+        try {
+            this.constructor = ExcelAccessors.constructor(pojoClass);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("导入对象缺少无参构造方法:" + pojoClass.getName(), e);
+        }
+
+        Binding[] columns = new Binding[0];
+        Binding[] tails = new Binding[0];
+        for (Field field : pojoClass.getDeclaredFields()) {
+            Binding binding;
+            //若字段值需要转换为其它类型，通过该注解进行转换
+            ExcelEnum annotationEnum = field.getAnnotation(ExcelEnum.class);
+            if (annotationEnum != null) {
+                binding = enumBinding(field, annotationEnum, columnCount);
+            } else {
+                Excel annotation = field.getAnnotation(Excel.class);
+                binding = annotation == null ? null : valueBinding(field, annotation.index() - 1, columnCount);
+            }
+            if (binding == null) {
+                continue;
+            }
+            int c = binding.column;
+            if (c >= columns.length) {
+                columns = Arrays.copyOf(columns, c + 1);
+                tails = Arrays.copyOf(tails, c + 1);
+            }
+            if (columns[c] == null) {
+                columns[c] = binding;
+            } else {
+                tails[c].next = binding;
+            }
+            tails[c] = binding;
+        }
+        this.bindings = columns;
+    }
+
+    /**
+     * @description 获取绑定计划, 没有则解析并缓存
+     * @param pojoClass   导入对象类型
+     * @param columnCount sheet列数, 超出列数的注解字段不绑定, 不限制时传{@link #ALL_COLUMNS}
+     * @return
+     */
+    public static ExcelImportPlan of(Class<?> pojoClass, int columnCount) {
+        Assert.notNull(pojoClass, "class不能为空");
+        Key key = new Key(pojoClass, columnCount);
+        ExcelImportPlan plan = PLANS.get(key);
+        if (plan == null) {
+            long start = ExcelMetrics.start();
+            plan = PLANS.computeIfAbsent(key, k -> new ExcelImportPlan(k.pojoClass, k.columnCount));
+            ExcelMetrics.phase(ExcelPhase.PLAN, start);
+        }
+        return plan;
+    }
+
+    public Class<?> getPojoClass() {
+        return pojoClass;
+    }
+
+    /**
+     * @description 创建导入对象
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance() throws Exception {
+        return (T) constructor.get();
+    }
+
+    /**
+     * @description 将单元格值绑定到对象上
+     * @param pojo      目标对象
+     * @param c         列下标, 从0开始
+     * @param cellValue 单元格值
+     */
+    public void bind(Object pojo, int c, Object cellValue) throws Exception {
+        if (c >= bindings.length) {
+            return;
+        }
+        for (Binding binding = bindings[c]; binding != null; binding = binding.next) {
+            cellValue = binding.bind(pojo, cellValue);
+        }
+    }
+
+    private static Binding enumBinding(Field field, ExcelEnum annotationEnum, int columnCount) {
+        int column = annotationEnum.index() - 1;
+        if (column < 0 || column >= columnCount) {
+            return null;
+        }
+        Class<?> type = field.getType();
+        // 与注解字段类型一致的几种包装类型先转换为字符串再调用转换方法
+        Converter toText = type == String.class || type == Integer.class || type == Boolean.class
+                ? ExcelImportPlan::text : Converter.NUMBER_AS_TEXT;
+        Function<Object, Object> enumMethod;
+        try {
+            Class<?> aClass = Class.forName(annotationEnum.className());
+            enumMethod = ExcelAccessors.function(aClass.getMethod(annotationEnum.methodName(), String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("无法解析@ExcelEnum转换方法:" + field.getName(), e);
+        }
+        return new Binding(column, ExcelAccessors.setter(field), toText, enumMethod);
+    }
+
+    private static Binding valueBinding(Field field, int column, int columnCount) {
+        if (column < 0 || column >= columnCount) {
+            return null;
+        }
+        return new Binding(column, ExcelAccessors.setter(field), converter(field.getType()), null);
+    }
+
+    /**
+     * @description 按字段类型选择转换器, 未列出的类型原样赋值. 单元格值为Double(见{@link ExcelCellReader})时
+     * 数值字段直接转换, 只有文本字段才格式化为文本
+     * @param type
+     * @return
+     */
+    static Converter converter(Class<?> type) {
+        if (type == String.class) {
+            return ExcelImportPlan::text;
+        } else if (type == LocalDate.class) {
+            return value -> value instanceof Date
+                    ? LocalDateUtil.utilDateToLocalDate((Date) value) : parseText(value).toLocalDate();
+        } else if (type == LocalDateTime.class) {
+            return value -> value instanceof Date
+                    ? LocalDateUtil.utilDateToLocalDateTime((Date) value) : parseText(value);
+        } else if (type == Date.class) {
+            return value -> value instanceof Date
+                    ? value : Date.from(parseText(value).atZone(ZoneId.systemDefault()).toInstant());
+        } else if (type == BigDecimal.class) {
+            return value -> new BigDecimal(text(value));
+        } else if (type == Integer.class) {
+            return value -> value instanceof Double
+                    ? Integer.valueOf((int) integral((Double) value, Integer.MIN_VALUE, Integer.MAX_VALUE))
+                    : Integer.valueOf(String.valueOf(value));
+        } else if (type == Double.class) {
+            return value -> value instanceof Double ? value : Double.valueOf(String.valueOf(value));
+        } else if (type == Boolean.class) {
+            return value -> Boolean.valueOf(text(value));
+        } else if (type == Short.class) {
+            return value -> value instanceof Double
+                    ? Short.valueOf((short) integral((Double) value, Short.MIN_VALUE, Short.MAX_VALUE))
+                    : Short.valueOf(String.valueOf(value));
+        } else if (type == Long.class) {
+            return value -> value instanceof Double
+                    ? Long.valueOf(integral((Double) value, Long.MIN_VALUE, Long.MAX_VALUE))
+                    : Long.valueOf(String.valueOf(value));
+        }
+        return Converter.NUMBER_AS_TEXT;
+    }
+
+    /**
+     * @description 转换为文本, 数值与Excel显示一致(整数不带小数位, 不使用科学计数法)
+     * @param value
+     * @return
+     */
+    static String text(Object value) {
+        if (value instanceof Double) {
+            return NumberToTextConverter.toText((Double) value);
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * @description 数值转换为整数, 有小数或超出范围时与按文本解析一样抛出NumberFormatException
+     */
+    private static long integral(double value, long min, long max) {
+        if (value != Math.rint(value) || value < min || value > max) {
+            throw new NumberFormatException("For input string: \"" + NumberToTextConverter.toText(value) + "\"");
+        }
+        return (long) value;
+    }
+
+    /**
+     * @description 解析文本中的日期, CSV等文本格式没有日期单元格时使用
+     * @param value
+     * @return
+     */
+    private static LocalDateTime parseText(Object value) {
+        return LocalDateTime.parse(String.valueOf(value).trim(), TEXT_DATE);
+    }
+
+    /**
+     * 单元格值转换器
+     */
+    @FunctionalInterface
+    interface Converter {
+        /**数值转换为文本, 其余原样返回*/
+        Converter NUMBER_AS_TEXT = value -> value instanceof Double ? text(value) : value;
+
+        Object convert(Object value) throws Exception;
+    }
+
+    private static final class Binding {
+        private final int column;
+        private final BiConsumer<Object, Object> setter;
+        private final Converter converter;
+        /**@ExcelEnum转换方法, 普通字段为null*/
+        private final Function<Object, Object> enumMethod;
+        private Binding next;
+
+        Binding(int column, BiConsumer<Object, Object> setter, Converter converter, Function<Object, Object> enumMethod) {
+            this.column = column;
+            this.setter = setter;
+            this.converter = converter;
+            this.enumMethod = enumMethod;
+        }
+
+        /**
+         * @description 转换并赋值, 返回转换后的单元格值供同列后续字段使用
+         */
+        Object bind(Object pojo, Object cellValue) throws Exception {
+            Object value = converter.convert(cellValue);
+            setter.accept(pojo, enumMethod != null ? enumMethod.apply(value) : value);
+            return value;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> pojoClass;
+        private final int columnCount;
+
+        Key(Class<?> pojoClass, int columnCount) {
+            this.pojoClass = pojoClass;
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return columnCount == key.columnCount && pojoClass == key.pojoClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pojoClass, columnCount);
+        }
+    }
+}
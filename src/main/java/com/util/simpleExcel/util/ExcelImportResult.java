@@ -0,0 +1,63 @@
+package com.util.simpleExcel.util;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @className: ExcelImportResult
+ * @description: 逐行导入的结果, 包含成功导入的行数及按行号排列的错误, 错误数量受{@link ExcelImportOptions#getMaxErrors()}限制
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Data
+public class ExcelImportResult {
+    // 成功导入并回调的行数
+    private int imported;
+    // 绑定或校验失败的行数
+    private int rejected;
+    // 按行号顺序排列的错误
+    private List<ExcelRowError> errors = new ArrayList<>();
+    // true 表示错误数超出上限, 部分错误未记录
+    private boolean truncated;
+    // true 表示达到错误上限或表头不一致, 解析提前停止
+    private boolean stopped;
+
+    /**
+     * @description 记录一行的错误
+     * @param rowErrors 该行的错误
+     * @param maxErrors 错误数上限, 小于等于0时不限制
+     * @return 错误数是否已达到上限
+     */
+    boolean reject(List<ExcelRowError> rowErrors, int maxErrors) {
+        rejected++;
+        for (ExcelRowError error : rowErrors) {
+            if (maxErrors > 0 && errors.size() >= maxErrors) {
+                truncated = true;
+                break;
+            }
+            errors.add(error);
+        }
+        return maxErrors > 0 && errors.size() >= maxErrors;
+    }
+
+    public boolean hasErrors() {
+        return rejected > 0 || !errors.isEmpty();
+    }
+
+    /**
+     * @description 拼接已记录的错误信息
+     * @return
+     */
+    public String getErrorMessage() {
+        StringBuilder message = new StringBuilder();
+        for (ExcelRowError error : errors) {
+            message.append(error).append(';');
+        }
+        if (truncated) {
+            message.append("错误过多, 仅显示前").append(errors.size()).append("条");
+        }
+        return message.toString();
+    }
+}
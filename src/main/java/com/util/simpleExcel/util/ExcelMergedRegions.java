@@ -0,0 +1,86 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * @className: ExcelMergedRegions
+ * @description: 批量合并单元格. POI的addMergedRegion每次都与sheet中所有已有合并区域比较, n个合并区域耗时O(n²);
+ * 批量合并时先按行扫描一次检查整批(含sheet已有区域)是否重叠, 耗时O(n log n), 再通过不校验的方式注册
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelMergedRegions {
+
+    private static final Comparator<CellRangeAddress> BY_FIRST_ROW =
+            Comparator.comparingInt(CellRangeAddress::getFirstRow);
+    private static final Comparator<CellRangeAddress> BY_LAST_ROW =
+            Comparator.comparingInt(CellRangeAddress::getLastRow);
+
+    private ExcelMergedRegions() {
+    }
+
+    /**
+     * @description 批量合并单元格, 区域之间或与sheet已有合并区域重叠时抛出IllegalStateException, 不添加任何区域
+     * @param sheet
+     * @param regions 合并区域, 每个区域至少包含两个单元格
+     */
+    public static void addAll(Sheet sheet, Collection<CellRangeAddress> regions) {
+        check(sheet, regions);
+        for (CellRangeAddress region : regions) {
+            sheet.addMergedRegionUnsafe(region);
+        }
+    }
+
+    /**
+     * @description 检查区域之间及与sheet已有合并区域是否重叠
+     * @param sheet
+     * @param regions 待合并区域
+     */
+    public static void check(Sheet sheet, Collection<CellRangeAddress> regions) {
+        Assert.notNull(sheet, "sheet不能为空");
+        Assert.notNull(regions, "合并区域不能为空");
+        if (regions.isEmpty()) {
+            return;
+        }
+        List<CellRangeAddress> all = new ArrayList<>(sheet.getNumMergedRegions() + regions.size());
+        all.addAll(sheet.getMergedRegions());
+        all.addAll(regions);
+        checkOverlaps(all);
+    }
+
+    /**
+     * @description 按首行排序后逐行扫描. 活动区域都包含当前行, 因此它们的列区间互不相交,
+     * 按首列放入有序表后, 新区域只需与首列不大于其末列的最后一个活动区域比较
+     * @param regions
+     */
+    static void checkOverlaps(List<CellRangeAddress> regions) {
+        regions.sort(BY_FIRST_ROW);
+        PriorityQueue<CellRangeAddress> byLastRow = new PriorityQueue<>(BY_LAST_ROW);
+        TreeMap<Integer, CellRangeAddress> byFirstCol = new TreeMap<>();
+        for (CellRangeAddress region : regions) {
+            Assert.notNull(region, "合并区域不能为空");
+            // 移除已结束的区域
+            while (!byLastRow.isEmpty() && byLastRow.peek().getLastRow() < region.getFirstRow()) {
+                CellRangeAddress ended = byLastRow.poll();
+                byFirstCol.remove(ended.getFirstColumn(), ended);
+            }
+            Map.Entry<Integer, CellRangeAddress> left = byFirstCol.floorEntry(region.getLastColumn());
+            if (left != null && left.getValue().getLastColumn() >= region.getFirstColumn()) {
+                throw new IllegalStateException("合并区域" + region.formatAsString() + "与"
+                        + left.getValue().formatAsString() + "重叠");
+            }
+            byFirstCol.put(region.getFirstColumn(), region);
+            byLastRow.add(region);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.util.simpleExcel.util;
+
+import com.google.common.io.CountingOutputStream;
+import org.springframework.util.Assert;
+
+import java.io.OutputStream;
+
+/**
+ * @className: ExcelMetrics
+ * @description: 全局指标监听的持有者. 未注册监听时{@link #start()}返回0且不读取时钟,
+ * 各记录方法直接返回, 埋点只在阶段边界, 默认实现对热点路径没有额外开销
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelMetrics {
+
+    private static volatile ExcelMetricsListener listener = ExcelMetricsListener.NOOP;
+
+    private ExcelMetrics() {
+    }
+
+    public static void setListener(ExcelMetricsListener metricsListener) {
+        Assert.notNull(metricsListener, "监听不能为空, 关闭时请使用ExcelMetricsListener.NOOP");
+        listener = metricsListener;
+    }
+
+    public static ExcelMetricsListener getListener() {
+        return listener;
+    }
+
+    public static boolean isEnabled() {
+        return listener != ExcelMetricsListener.NOOP;
+    }
+
+    /**
+     * @description 阶段开始时间
+     * @return 未开启时返回0
+     */
+    static long start() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * @description 记录阶段耗时
+     * @param phase 阶段
+     * @param start {@link #start()}的返回值
+     */
+    static void phase(ExcelPhase phase, long start) {
+        ExcelMetricsListener current = listener;
+        if (current != ExcelMetricsListener.NOOP) {
+            current.onPhase(phase, System.nanoTime() - start);
+        }
+    }
+
+    static void rowsWritten(long rows, long cells, long start) {
+        ExcelMetricsListener current = listener;
+        if (current != ExcelMetricsListener.NOOP) {
+            long nanos = System.nanoTime() - start;
+            current.onPhase(ExcelPhase.WRITE_CELLS, nanos);
+            current.onRowsWritten(rows, cells, nanos);
+        }
+    }
+
+    static void bytesWritten(long bytes) {
+        ExcelMetricsListener current = listener;
+        if (current != ExcelMetricsListener.NOOP) {
+            current.onBytesWritten(bytes);
+        }
+    }
+
+    static void stylesCreated(int styles) {
+        ExcelMetricsListener current = listener;
+        if (current != ExcelMetricsListener.NOOP) {
+            current.onStylesCreated(styles);
+        }
+    }
+
+    static void rowsParsed(long parsed, long rejected, long start) {
+        ExcelMetricsListener current = listener;
+        if (current != ExcelMetricsListener.NOOP) {
+            long nanos = System.nanoTime() - start;
+            current.onPhase(ExcelPhase.PARSE, nanos);
+            current.onRowsParsed(parsed, rejected, nanos);
+        }
+    }
+
+    /**
+     * @description 开启时包装为计数输出流以统计输出字节数, 未开启时原样返回
+     * @param out
+     * @return
+     */
+    static OutputStream counting(OutputStream out) {
+        return isEnabled() ? new CountingOutputStream(out) : out;
+    }
+
+    /**
+     * @description 记录{@link #counting}包装后的输出字节数
+     * @param out
+     */
+    static void bytesWritten(OutputStream out) {
+        if (out instanceof CountingOutputStream) {
+            bytesWritten(((CountingOutputStream) out).getCount());
+        }
+    }
+}
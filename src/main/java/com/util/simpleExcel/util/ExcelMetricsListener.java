@@ -0,0 +1,55 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelMetricsListener
+ * @description: 导入导出指标监听, 通过{@link ExcelMetrics#setListener}注册. 回调只在阶段结束时发生, 不在单元格级别调用,
+ * 实现需要线程安全且不能抛出异常. 方法均有空实现, 按需覆盖
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public interface ExcelMetricsListener {
+
+    /**不记录任何指标的默认实现*/
+    ExcelMetricsListener NOOP = new ExcelMetricsListener() {
+    };
+
+    /**
+     * @description 一个阶段结束
+     * @param phase 阶段
+     * @param nanos 耗时, 纳秒
+     */
+    default void onPhase(ExcelPhase phase, long nanos) {
+    }
+
+    /**
+     * @description 一个sheet或表格写入完成
+     * @param rows  写入的数据行数
+     * @param cells 写入的单元格数
+     * @param nanos 写入耗时, 纳秒
+     */
+    default void onRowsWritten(long rows, long cells, long nanos) {
+    }
+
+    /**
+     * @description 工作簿输出完成
+     * @param bytes 输出的字节数
+     */
+    default void onBytesWritten(long bytes) {
+    }
+
+    /**
+     * @description 工作簿创建的样式数
+     * @param styles 样式数
+     */
+    default void onStylesCreated(int styles) {
+    }
+
+    /**
+     * @description 一次导入结束
+     * @param parsed   解析的数据行数
+     * @param rejected 绑定失败的行数
+     * @param nanos    解析耗时, 纳秒
+     */
+    default void onRowsParsed(long parsed, long rejected, long nanos) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelPhase
+ * @description: 导入导出的耗时阶段
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public enum ExcelPhase {
+    /**解析@Excel注解生成列计划或绑定计划, 每个类只发生一次*/
+    PLAN,
+    /**取值、格式化并写入单元格*/
+    WRITE_CELLS,
+    /**计算列宽*/
+    SIZE_COLUMNS,
+    /**合并单元格*/
+    MERGE,
+    /**工作簿序列化输出*/
+    SERIALIZE,
+    /**导入时解析文件并绑定对象*/
+    PARSE
+}
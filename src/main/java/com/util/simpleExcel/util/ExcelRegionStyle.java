@@ -0,0 +1,178 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.apache.poi.hssf.usermodel.HSSFRow;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.springframework.util.Assert;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * @className: ExcelRegionStyle
+ * @description: 按区域设置样式(边框、填充、斑马纹). 区域内只处理已有内容的单元格, 不为画边框创建空单元格,
+ * 只有外框边缘在单元格不存在时才创建; 空白区域的外观通过行、列默认样式实现.
+ * 边框与填充叠加在单元格原样式上, 派生样式由样式池按(样式下标, 派生方式)缓存, 不会随单元格数量增加
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelRegionStyle {
+
+    private ExcelRegionStyle() {
+    }
+
+    /**
+     * @description 整行默认样式, 行内没有单元格的位置按该样式显示, 已有单元格不变
+     * @param excelVo
+     * @param sheetName
+     * @param firstRow  起始行
+     * @param lastRow   结束行(包含)
+     * @param style     样式
+     */
+    public static void setRowStyle(ExcelVO excelVo, String sheetName, int firstRow, int lastRow, CellStyle style) {
+        Assert.notNull(style, "样式不能为空");
+        ExcelVO.SheetHandle sheet = excelVo.getSheetHandle(sheetName);
+        for (int rowIdx = firstRow; rowIdx <= lastRow; rowIdx++) {
+            sheet.getRow(rowIdx).setRowStyle(style);
+        }
+    }
+
+    /**
+     * @description 整列默认样式, 列内没有单元格的位置按该样式显示, 已有单元格不变
+     * @param excelVo
+     * @param sheetName
+     * @param firstCol  起始列
+     * @param lastCol   结束列(包含)
+     * @param style     样式
+     */
+    public static void setColumnStyle(ExcelVO excelVo, String sheetName, int firstCol, int lastCol, CellStyle style) {
+        Assert.notNull(style, "样式不能为空");
+        HSSFSheet sheet = excelVo.getSheet(sheetName);
+        for (int colIdx = firstCol; colIdx <= lastCol; colIdx++) {
+            sheet.setDefaultColumnStyle(colIdx, style);
+        }
+    }
+
+    /**
+     * @description 区域内已有的单元格统一设置为指定样式
+     * @param excelVo
+     * @param sheetName
+     * @param region    区域
+     * @param style     样式
+     */
+    public static void setStyle(ExcelVO excelVo, String sheetName, CellRangeAddress region, CellStyle style) {
+        Assert.notNull(style, "样式不能为空");
+        overlay(excelVo, sheetName, region, 1, base -> style);
+    }
+
+    /**
+     * @description 区域内已有的单元格四边加边框(网格线), 保留单元格原有字体、格式与填充
+     * @param excelVo
+     * @param sheetName
+     * @param region    区域
+     * @param border    边框
+     */
+    public static void drawGrid(ExcelVO excelVo, String sheetName, CellRangeAddress region, BorderStyle border) {
+        Assert.notNull(border, "边框不能为空");
+        CellStylePool stylePool = excelVo.getStylePool();
+        overlay(excelVo, sheetName, region, 1, base -> stylePool.withBorders(base, border, border, border, border));
+    }
+
+    /**
+     * @description 区域外框, 与RegionUtil.setBorderXxx效果相同, 只处理区域四条边上的单元格
+     * @param excelVo
+     * @param sheetName
+     * @param region    区域
+     * @param border    边框
+     */
+    public static void drawOutline(ExcelVO excelVo, String sheetName, CellRangeAddress region, BorderStyle border) {
+        Assert.notNull(region, "区域不能为空");
+        Assert.notNull(border, "边框不能为空");
+        ExcelVO.SheetHandle sheet = excelVo.getSheetHandle(sheetName);
+        CellStylePool stylePool = excelVo.getStylePool();
+        int firstRow = region.getFirstRow();
+        int lastRow = region.getLastRow();
+        int firstCol = region.getFirstColumn();
+        int lastCol = region.getLastColumn();
+        for (int rowIdx = firstRow; rowIdx <= lastRow; rowIdx++) {
+            boolean edgeRow = rowIdx == firstRow || rowIdx == lastRow;
+            // 首尾行处理整行, 中间行只处理首尾列
+            int step = edgeRow || lastCol == firstCol ? 1 : lastCol - firstCol;
+            for (int colIdx = firstCol; colIdx <= lastCol; colIdx += step) {
+                HSSFCell cell = sheet.getCell(rowIdx, colIdx);
+                cell.setCellStyle(stylePool.withBorders(cell.getCellStyle(),
+                        rowIdx == firstRow ? border : null,
+                        rowIdx == lastRow ? border : null,
+                        colIdx == firstCol ? border : null,
+                        colIdx == lastCol ? border : null));
+            }
+        }
+    }
+
+    /**
+     * @description 区域内已有的单元格设置纯色背景
+     * @param excelVo
+     * @param sheetName
+     * @param region    区域
+     * @param color     颜色
+     */
+    public static void fill(ExcelVO excelVo, String sheetName, CellRangeAddress region, IndexedColors color) {
+        Assert.notNull(color, "颜色不能为空");
+        CellStylePool stylePool = excelVo.getStylePool();
+        overlay(excelVo, sheetName, region, 1, base -> stylePool.withFill(base, color.getIndex()));
+    }
+
+    /**
+     * @description 斑马纹, 区域内从第二行开始隔行设置纯色背景
+     * @param excelVo
+     * @param sheetName
+     * @param region    区域, 通常不含标题行
+     * @param color     颜色
+     */
+    public static void band(ExcelVO excelVo, String sheetName, CellRangeAddress region, IndexedColors color) {
+        Assert.notNull(region, "区域不能为空");
+        Assert.notNull(color, "颜色不能为空");
+        CellStylePool stylePool = excelVo.getStylePool();
+        CellRangeAddress odd = new CellRangeAddress(region.getFirstRow() + 1, region.getLastRow(),
+                region.getFirstColumn(), region.getLastColumn());
+        overlay(excelVo, sheetName, odd, 2, base -> stylePool.withFill(base, color.getIndex()));
+    }
+
+    /**
+     * @description 遍历区域内已有的单元格替换样式, 不存在的行与单元格直接跳过.
+     * 相邻单元格样式通常相同, 只在样式下标变化时重新派生
+     * @param rowStep 行步长, 斑马纹为2
+     * @param derive  原样式 -> 新样式
+     */
+    private static void overlay(ExcelVO excelVo, String sheetName, CellRangeAddress region, int rowStep,
+                                UnaryOperator<CellStyle> derive) {
+        Assert.notNull(region, "区域不能为空");
+        HSSFSheet sheet = excelVo.getSheet(sheetName);
+        int lastRow = Math.min(region.getLastRow(), sheet.getLastRowNum());
+        short lastIndex = -1;
+        CellStyle lastStyle = null;
+        for (int rowIdx = region.getFirstRow(); rowIdx <= lastRow; rowIdx += rowStep) {
+            HSSFRow row = sheet.getRow(rowIdx);
+            if (row == null) {
+                continue;
+            }
+            int firstCol = Math.max(region.getFirstColumn(), row.getFirstCellNum());
+            int lastCol = Math.min(region.getLastColumn(), row.getLastCellNum() - 1);
+            for (int colIdx = firstCol; colIdx <= lastCol; colIdx++) {
+                HSSFCell cell = row.getCell(colIdx);
+                if (cell == null) {
+                    continue;
+                }
+                short index = cell.getCellStyle().getIndex();
+                if (lastStyle == null || index != lastIndex) {
+                    lastStyle = derive.apply(cell.getCellStyle());
+                    lastIndex = index;
+                }
+                cell.setCellStyle(lastStyle);
+            }
+        }
+    }
+}
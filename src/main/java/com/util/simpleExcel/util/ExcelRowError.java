@@ -0,0 +1,34 @@
+package com.util.simpleExcel.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * @className: ExcelRowError
+ * @description: 导入时单行或单个单元格的绑定、校验错误
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Data
+@AllArgsConstructor
+public class ExcelRowError {
+    // 行下标, 从0开始
+    private int rowNum;
+    // 列下标, 从0开始, 整行的错误(如行校验失败)为-1
+    private int column;
+    // 表头行中该列的名称, 没有表头或整行错误时为null
+    private String columnName;
+    private String message;
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("第").append(rowNum + 1).append("行");
+        if (column >= 0) {
+            text.append("第").append(column + 1).append("列");
+            if (columnName != null) {
+                text.append('(').append(columnName).append(')');
+            }
+        }
+        return text.append(',').append(message).toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelRowHandler
+ * @description: 流式导入时的行回调, 每解析并绑定完一行即回调一次
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface ExcelRowHandler<T> {
+
+    /**
+     * @description 处理一行数据
+     * @param rowNum 行下标, 从0开始
+     * @param row    绑定后的对象
+     */
+    void handle(int rowNum, T row);
+}
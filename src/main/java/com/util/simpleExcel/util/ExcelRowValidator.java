@@ -0,0 +1,18 @@
+package com.util.simpleExcel.util;
+
+/**
+ * @className: ExcelRowValidator
+ * @description: 导入时的行校验, 在绑定线程上与绑定一起并行执行, 实现需要线程安全
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface ExcelRowValidator<T> {
+
+    /**
+     * @description 校验一行数据
+     * @param row 绑定后的对象
+     * @return 错误信息, 校验通过时返回null
+     */
+    String validate(T row);
+}
@@ -0,0 +1,52 @@
+package com.util.simpleExcel.util;
+
+import lombok.Data;
+
+/**
+ * @className: ExcelSheetImport
+ * @description: 多sheet导入时单个sheet的映射, 按sheet名称或下标指定绑定对象类型与行回调
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Data
+public class ExcelSheetImport<T> {
+    // sheet名称, 设置后优先于sheetIndex
+    private String sheetName;
+    // sheet下标, 从0开始
+    private Integer sheetIndex;
+    private Class<T> pojoClass;
+    // 表头行下标, 为null时使用导入参数中的headRow
+    private Integer headRow;
+    // 行校验, 需要线程安全, 可以为null
+    private ExcelRowValidator<? super T> validator;
+    private ExcelRowHandler<T> handler;
+
+    public static <T> ExcelSheetImport<T> of(String sheetName, Class<T> pojoClass, ExcelRowHandler<T> handler) {
+        ExcelSheetImport<T> sheet = new ExcelSheetImport<>();
+        sheet.setSheetName(sheetName);
+        sheet.setPojoClass(pojoClass);
+        sheet.setHandler(handler);
+        return sheet;
+    }
+
+    public static <T> ExcelSheetImport<T> of(int sheetIndex, Class<T> pojoClass, ExcelRowHandler<T> handler) {
+        ExcelSheetImport<T> sheet = new ExcelSheetImport<>();
+        sheet.setSheetIndex(sheetIndex);
+        sheet.setPojoClass(pojoClass);
+        sheet.setHandler(handler);
+        return sheet;
+    }
+
+    /**
+     * @description 是否匹配指定sheet
+     * @param index sheet下标
+     * @param name  sheet名称
+     * @return
+     */
+    boolean matches(int index, String name) {
+        if (sheetName != null) {
+            return sheetName.equals(name);
+        }
+        return sheetIndex != null && sheetIndex == index;
+    }
+}
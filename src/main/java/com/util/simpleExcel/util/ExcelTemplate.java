@@ -0,0 +1,330 @@
+package com.util.simpleExcel.util;
+
+import com.google.common.io.ByteStreams;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @className: ExcelTemplate
+ * @description: 预解析的导出模板. 标题行、合并表头及样式由设计好的xls/xlsx模板提供, 加载时只扫描一次
+ * ${key}占位符并记录位置, 之后每次导出从缓存的模板字节复制出新工作簿, 按位置直接填充占位符与数据表格,
+ * 不再逐次创建样式、合并单元格或查找占位符. 实例不可变, 可被多个线程共享, 通常由{@link ExcelTemplateCache}缓存
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final byte[] content;
+    private final boolean xlsx;
+    private final List<Placeholder> placeholders;
+    /**占位符名称 -> 第一次出现的位置*/
+    private final Map<String, Placeholder> keyPlaceholders;
+
+    private ExcelTemplate(byte[] content, boolean xlsx, List<Placeholder> placeholders) {
+        this.content = content;
+        this.xlsx = xlsx;
+        this.placeholders = Collections.unmodifiableList(placeholders);
+        Map<String, Placeholder> byKey = new LinkedHashMap<>();
+        for (Placeholder placeholder : placeholders) {
+            for (String key : placeholder.keys) {
+                byKey.putIfAbsent(key, placeholder);
+            }
+        }
+        this.keyPlaceholders = byKey;
+    }
+
+    /**
+     * @description 解析模板, 根据文件头识别xls或xlsx
+     * @param is 模板输入流, 读取完成后不关闭
+     * @return
+     */
+    public static ExcelTemplate load(InputStream is) throws IOException {
+        Assert.notNull(is, "模板输入流不能为空");
+        byte[] content = ByteStreams.toByteArray(is);
+        boolean xlsx = FileMagic.valueOf(content) == FileMagic.OOXML;
+        try (Workbook workbook = open(content, xlsx)) {
+            return new ExcelTemplate(content, xlsx, scan(workbook));
+        }
+    }
+
+    public boolean isXlsx() {
+        return xlsx;
+    }
+
+    /**
+     * @description 模板中的全部占位符单元格
+     * @return
+     */
+    public List<Placeholder> getPlaceholders() {
+        return placeholders;
+    }
+
+    /**
+     * @description 占位符位置, 可用于设置{@link ExcelVO.DataGridVo}的起始行列
+     * @param key 占位符名称
+     * @return 不存在时返回null
+     */
+    public Placeholder getPlaceholder(String key) {
+        return keyPlaceholders.get(key);
+    }
+
+    /**
+     * @description 从模板复制出新的工作簿
+     * @return
+     */
+    public Workbook newWorkbook() {
+        try {
+            return open(content, xlsx);
+        } catch (IOException e) {
+            throw new IllegalStateException("模板复制失败", e);
+        }
+    }
+
+    /**
+     * @description 从xls模板复制出新的{@link ExcelVO}, 可继续使用表格填充、合并等方法
+     * @return
+     */
+    public ExcelVO newExcelVO() {
+        Assert.state(!xlsx, "ExcelVO只支持xls模板");
+        ExcelVO excelVo = new ExcelVO((HSSFWorkbook) newWorkbook());
+        excelVo.setTemplateLayout(new Layout(this));
+        return excelVo;
+    }
+
+    /**
+     * @description 填充占位符. 整个单元格只有一个占位符时按值的类型写入(日期、数值保留单元格类型),
+     * 并保留模板中的样式; 占位符嵌在文本中时替换为文本. 没有提供值的占位符替换为空.
+     * 已被{@link #fillGrid}占用的占位符跳过, 表格下方的占位符按下移后的位置填充, 与两者的调用顺序无关
+     * @param excelVo {@link #newExcelVO()}创建的对象
+     * @param values  占位符名称 -> 值
+     */
+    public void fill(ExcelVO excelVo, Map<String, ?> values) {
+        fill(excelVo.getStylePool(), values, null, null, layout(excelVo));
+    }
+
+    /**
+     * @param stylePool         {@link #newWorkbook()}创建的工作簿的样式池
+     * @param values            占位符名称 -> 值
+     * @param dateTimeFormatter 指定后LocalDate/LocalDateTime按该格式写为文本
+     * @param datePattern       日期格式, 默认为"yyyy/MM/dd"
+     */
+    public void fill(CellStylePool stylePool, Map<String, ?> values,
+                     DateTimeFormatter dateTimeFormatter, String datePattern) {
+        fill(stylePool, values, dateTimeFormatter, datePattern, null);
+    }
+
+    /**
+     * @param layout 占位符当前位置, 为null时按模板中的位置填充
+     */
+    private void fill(CellStylePool stylePool, Map<String, ?> values, DateTimeFormatter dateTimeFormatter,
+                      String datePattern, Layout layout) {
+        Assert.notNull(stylePool, "样式池不能为空");
+        Workbook workbook = stylePool.getWorkbook();
+        ExcelCellWriter cellWriter = new ExcelCellWriter(stylePool, dateTimeFormatter, datePattern, true);
+        for (int i = 0; i < placeholders.size(); i++) {
+            Placeholder placeholder = placeholders.get(i);
+            if (layout != null && layout.consumed[i]) {
+                continue;
+            }
+            int rowIdx = layout == null ? placeholder.row : layout.rows[i];
+            Cell cell = workbook.getSheetAt(placeholder.sheetIndex).getRow(rowIdx).getCell(placeholder.col);
+            if (placeholder.whole) {
+                Object value = values == null ? null : values.get(placeholder.keys.get(0));
+                cellWriter.setCellValue(cell, value);
+                continue;
+            }
+            Matcher matcher = PLACEHOLDER.matcher(placeholder.text);
+            StringBuffer text = new StringBuffer(placeholder.text.length());
+            while (matcher.find()) {
+                Object value = values == null ? null : values.get(matcher.group(1).trim());
+                matcher.appendReplacement(text, Matcher.quoteReplacement(String.valueOf(cellWriter.format(value))));
+            }
+            matcher.appendTail(text);
+            cell.setCellValue(text.toString());
+        }
+    }
+
+    /**
+     * @description 在占位符位置填充列长度固定的表格, 表格起始行列取自占位符, 占位符单元格被表格内容覆盖.
+     * 表格超过一行时, 占位符下方的行(含合并区域与其他占位符)整体下移, 不会被表格覆盖;
+     * 数据源未提供行数时无法预先下移, 占位符下方不能有内容
+     * @param excelVo   {@link #newExcelVO()}创建的对象
+     * @param key       占位符名称
+     * @param dataGrid  表格数据
+     */
+    public void fillGrid(ExcelVO excelVo, String key, ExcelVO.DataGridVo<?> dataGrid) {
+        Placeholder placeholder = keyPlaceholders.get(key);
+        Assert.state(placeholder != null, "模板中没有占位符:" + key);
+        Layout layout = layout(excelVo);
+        int index = placeholders.indexOf(placeholder);
+        Assert.state(!layout.consumed[index], "占位符已填充表格:" + key);
+        int rowIdx = layout.rows[index];
+        HSSFSheet sheet = excelVo.getSheet(placeholder.sheetName);
+        long gridRows = gridRows(dataGrid);
+        if (gridRows < 0) {
+            Assert.state(sheet.getLastRowNum() <= rowIdx, "数据行数未知时表格下方不能有内容:" + key);
+        } else if (gridRows > 1) {
+            int shift = (int) (gridRows - 1);
+            excelVo.shiftRows(placeholder.sheetName, rowIdx + 1, shift);
+            layout.shift(placeholder.sheetIndex, rowIdx, shift);
+        }
+        layout.consumed[index] = true;
+        dataGrid.setStartRowIdx(rowIdx);
+        dataGrid.setStartColIdx(placeholder.col);
+        sheet.getRow(rowIdx).getCell(placeholder.col).setCellValue((String) null);
+        ExcelUtil.fillFixColuSizeDataGrid(excelVo, placeholder.sheetName, Collections.singletonList(dataGrid));
+    }
+
+    /**
+     * @description 表格占用的行数(含表头), 数据源未提供行数时返回-1
+     */
+    private static long gridRows(ExcelVO.DataGridVo<?> dataGrid) {
+        long header = Boolean.TRUE.equals(dataGrid.getIncludeBaseheader()) ? 1 : 0;
+        if (dataGrid.getDataSource() != null) {
+            int size = dataGrid.getDataSource().size();
+            return size < 0 ? -1 : header + size;
+        }
+        return header + (dataGrid.getDataList() == null ? 0 : dataGrid.getDataList().size());
+    }
+
+    /**
+     * @description 获取工作簿对应的占位符位置, 不是由本模板创建的ExcelVO按模板中的位置新建
+     */
+    private Layout layout(ExcelVO excelVo) {
+        Layout layout = excelVo.getTemplateLayout();
+        if (layout == null || layout.template != this) {
+            layout = new Layout(this);
+            excelVo.setTemplateLayout(layout);
+        }
+        return layout;
+    }
+
+    private static Workbook open(byte[] content, boolean xlsx) throws IOException {
+        InputStream is = new ByteArrayInputStream(content);
+        return xlsx ? new XSSFWorkbook(is) : new HSSFWorkbook(is);
+    }
+
+    private static List<Placeholder> scan(Workbook workbook) {
+        List<Placeholder> result = new ArrayList<>();
+        for (int s = 0; s < workbook.getNumberOfSheets(); s++) {
+            Sheet sheet = workbook.getSheetAt(s);
+            for (Row row : sheet) {
+                for (Cell cell : row) {
+                    if (cell.getCellType() != CellType.STRING) {
+                        continue;
+                    }
+                    String text = cell.getStringCellValue();
+                    if (text.indexOf("${") < 0) {
+                        continue;
+                    }
+                    Matcher matcher = PLACEHOLDER.matcher(text);
+                    List<String> keys = new ArrayList<>(1);
+                    while (matcher.find()) {
+                        keys.add(matcher.group(1).trim());
+                    }
+                    if (keys.isEmpty()) {
+                        continue;
+                    }
+                    boolean whole = keys.size() == 1 && PLACEHOLDER.matcher(text.trim()).matches();
+                    result.add(new Placeholder(s, sheet.getSheetName(), cell.getRowIndex(), cell.getColumnIndex(),
+                            text, keys, whole));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 单个工作簿中占位符的当前行号与表格占用状态, 下标与{@link #placeholders}一致.
+     * 模板实例在线程间共享, 填充过程中变化的位置记录在各自的ExcelVO上
+     */
+    static final class Layout {
+        private final ExcelTemplate template;
+        private final int[] rows;
+        private final boolean[] consumed;
+
+        private Layout(ExcelTemplate template) {
+            this.template = template;
+            this.rows = new int[template.placeholders.size()];
+            this.consumed = new boolean[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = template.placeholders.get(i).row;
+            }
+        }
+
+        /**
+         * @description 同一sheet中位于afterRow下方的占位符下移n行
+         */
+        private void shift(int sheetIndex, int afterRow, int n) {
+            for (int i = 0; i < rows.length; i++) {
+                if (template.placeholders.get(i).sheetIndex == sheetIndex && rows[i] > afterRow) {
+                    rows[i] += n;
+                }
+            }
+        }
+    }
+
+    /**
+     * 占位符单元格
+     */
+    public static final class Placeholder {
+        private final int sheetIndex;
+        private final String sheetName;
+        private final int row;
+        private final int col;
+        /**单元格原文本*/
+        private final String text;
+        private final List<String> keys;
+        /**true 表示单元格内容只有一个占位符*/
+        private final boolean whole;
+
+        private Placeholder(int sheetIndex, String sheetName, int row, int col, String text, List<String> keys,
+                            boolean whole) {
+            this.sheetIndex = sheetIndex;
+            this.sheetName = sheetName;
+            this.row = row;
+            this.col = col;
+            this.text = text;
+            this.keys = Collections.unmodifiableList(keys);
+            this.whole = whole;
+        }
+
+        public String getSheetName() {
+            return sheetName;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getCol() {
+            return col;
+        }
+
+        public List<String> getKeys() {
+            return keys;
+        }
+    }
+}
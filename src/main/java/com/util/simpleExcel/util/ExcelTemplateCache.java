@@ -0,0 +1,109 @@
+package com.util.simpleExcel.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: ExcelTemplateCache
+ * @description: 导出模板缓存, 按数量上限与访问过期淘汰, 缓存的是模板字节与占位符索引而不是工作簿对象.
+ * 文件模板以路径加修改时间为键, 模板文件更新后自动重新加载
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public final class ExcelTemplateCache {
+
+    private static final ExcelTemplateCache DEFAULT = new ExcelTemplateCache(64, Duration.ofHours(1));
+
+    private final Cache<String, ExcelTemplate> templates;
+
+    /**
+     * @param maximumSize      最多缓存的模板数
+     * @param expireAfterAccess 超过该时间未使用的模板被淘汰
+     */
+    public ExcelTemplateCache(long maximumSize, Duration expireAfterAccess) {
+        Assert.state(maximumSize > 0, "缓存数量必须大于0");
+        Assert.notNull(expireAfterAccess, "过期时间不能为空");
+        this.templates = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @description 默认缓存, 最多64个模板, 1小时未使用淘汰
+     * @return
+     */
+    public static ExcelTemplateCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @description 获取classpath下的模板
+     * @param location 如"templates/report.xls"
+     * @return
+     */
+    public ExcelTemplate getClasspath(String location) {
+        Assert.hasText(location, "模板路径不能为空");
+        ClassPathResource resource = new ClassPathResource(location);
+        return get("classpath:" + location, resource::getInputStream);
+    }
+
+    /**
+     * @description 获取文件模板, 文件修改后重新加载
+     * @param path 模板文件
+     * @return
+     */
+    public ExcelTemplate get(Path path) {
+        Assert.notNull(path, "模板路径不能为空");
+        long lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new IllegalStateException("模板文件不存在:" + path, e);
+        }
+        return get(path.toAbsolutePath() + "@" + lastModified, () -> Files.newInputStream(path));
+    }
+
+    /**
+     * @description 获取模板, 没有时通过loader加载, 同一个键并发时只加载一次
+     * @param key    缓存键
+     * @param loader 打开模板输入流, 读取后由缓存关闭
+     * @return
+     */
+    public ExcelTemplate get(String key, Callable<InputStream> loader) {
+        Assert.notNull(key, "缓存键不能为空");
+        try {
+            return templates.get(key, () -> {
+                try (InputStream is = loader.call()) {
+                    return ExcelTemplate.load(is);
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException("模板加载失败:" + key, e.getCause());
+        }
+    }
+
+    public void invalidate(String key) {
+        templates.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        templates.invalidateAll();
+    }
+
+    public long size() {
+        return templates.size();
+    }
+}
@@ -1,17 +1,23 @@
 package com.util.simpleExcel.util;
 
-import cn.jointwisdom.mrad.ai.base.annotation.Excel;
-import cn.jointwisdom.mrad.ai.base.annotation.ExcelEnum;
 import cn.jointwisdom.mrad.ai.base.constant.HabErrorType;
 import cn.jointwisdom.mrad.ai.hab.param.ImportParams;
 import cn.jointwisdom.mrad.ai.hab.vo.operation.GoalDownloadVO;
 import cn.jointwisdom.mrad.ai.hab.vo.operation.OberDownloadVO;
 import cn.jointwisdom.mrad.commons.api.constant.RespResult;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.hssf.usermodel.*;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,13 +26,14 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
@@ -43,6 +50,23 @@ public class ExcelUtil {
 
     public static final String PATTERN = "yyyy/MM/dd";
 
+    /**sheet表头样式*/
+    private static final CellStyleKey SHEET_HEADER_STYLE = CellStyleKey.builder()
+            .solidFill(IndexedColors.GREY_40_PERCENT).bold(true).build();
+    /**带边框普通单元格样式*/
+    private static final CellStyleKey FRAME_STYLE = CellStyleKey.builder().border(BorderStyle.THIN).build();
+    /**灰色背景样式*/
+    private static final CellStyleKey GREY_STYLE = CellStyleKey.builder().solidFill(IndexedColors.GREY_25_PERCENT).build();
+    /**表格表头默认样式*/
+    private static final CellStyleKey DEFAULT_HEADER_STYLE = GREY_STYLE.toBuilder()
+            .alignment(HorizontalAlignment.CENTER).verticalAlignment(VerticalAlignment.CENTER).bold(true).build();
+
+    /**流式导出时内存中保留的行数, 超出窗口的行会刷新到磁盘临时文件*/
+    public static final int DEFAULT_WINDOW_SIZE = 500;
+
+    /**写入NIO通道时的缓冲区大小*/
+    private static final int CHANNEL_BUFFER_SIZE = 64 * 1024;
+
     /**
      * 利用JAVA的反射机制，将放置在JAVA集合中并且符号一定条件的数据以EXCEL 的形式写入系统临时文件
      * 用于多个sheet
@@ -88,28 +112,31 @@ public class ExcelUtil {
     public static <T> File exportExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
                                        String datePattern) {
         Assert.notEmpty(sheets, "sheets不可以为空");
-        // 声明一个工作薄
-        HSSFWorkbook workbook = new HSSFWorkbook();
-        for (ExcelSheet<T> sheet : sheets) {
-            // 生成一个表格
-            write2Sheet(workbook, sheet, dateTimeFormatter, datePattern);
-        }
-        OutputStream out = null;
+        HSSFWorkbook workbook = createWorkbook(sheets, dateTimeFormatter, datePattern);
         try {
-            String dir = System.getProperty("java.io.tmpdir");
-            if (!dir.endsWith(File.separator)) {
-                dir = dir + File.separator;
-            }
-            File file = new File(dir + ExcelUtil.class.getPackage().getName() + System.currentTimeMillis() + ".xlsx");
-            out = new FileOutputStream(file);
-            workbook.write(out);
+            File file = createTempFile();
+            writeTo(workbook, file.toPath());
             return file;
         } catch (IOException e) {
             LG.error(e.toString(), e);
+        }
+        return null;
+    }
+
+    public static <T> byte[] exportExcelByte(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                             String datePattern) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        HSSFWorkbook workbook = createWorkbook(sheets, dateTimeFormatter, datePattern);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            serialize(workbook, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            LG.error(e.toString(), e);
         } finally {
-            if (out != null) {
+            if (outputStream != null) {
                 try {
-                    out.close();
+                    outputStream.close();
                 } catch (IOException e) {
                     LG.error(e.toString(), e);
                 }
@@ -118,76 +145,382 @@ public class ExcelUtil {
         return null;
     }
 
-    public static <T> byte[] exportExcelByte(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
-                                             String datePattern) {
+    /**
+     * 导出xls并直接写入调用方提供的输出流, 不在内存中生成完整的byte数组, 适用于直接写入下载响应
+     *
+     * @param sheets            {@link ExcelSheet}的集合
+     * @param dateTimeFormatter 日期时间格式化
+     * @param datePattern       如果有时间数据，设定输出格式。默认为"yyyy/MM/dd"
+     * @param out               输出流, 写入完成后不关闭, 由调用方负责关闭
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                       String datePattern, OutputStream out) throws IOException {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        Assert.notNull(out, "输出流不能为空");
+        serialize(createWorkbook(sheets, dateTimeFormatter, datePattern), out);
+    }
+
+    /**
+     * 导出xls并写入NIO通道, 写入完成后不关闭通道
+     *
+     * @param channel 输出通道, 如SocketChannel、FileChannel
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                       String datePattern, WritableByteChannel channel) throws IOException {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        Assert.notNull(channel, "输出通道不能为空");
+        writeTo(createWorkbook(sheets, dateTimeFormatter, datePattern), channel);
+    }
+
+    /**
+     * 导出xls并通过FileChannel写入指定文件, 文件已存在时覆盖
+     *
+     * @param path 目标文件
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                       String datePattern, Path path) throws IOException {
         Assert.notEmpty(sheets, "sheets不可以为空");
+        Assert.notNull(path, "文件路径不能为空");
+        writeTo(createWorkbook(sheets, dateTimeFormatter, datePattern), path);
+    }
+
+    /**
+     * @description 创建xls工作簿并写入所有sheet
+     * @param sheets
+     * @param dateTimeFormatter
+     * @param datePattern
+     * @return
+     */
+    private static <T> HSSFWorkbook createWorkbook(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                                   String datePattern) {
+        // 超出堆内存预算时在创建工作簿之前拒绝
+        ExcelExportPlanner.admit(sheets, ExcelEngine.HSSF);
         // 声明一个工作薄
         HSSFWorkbook workbook = new HSSFWorkbook();
+        CellStylePool stylePool = new CellStylePool(workbook);
+        Set<String> sheetNames = sheetNames(sheets);
         for (ExcelSheet<T> sheet : sheets) {
             // 生成一个表格
-            write2Sheet(workbook, sheet, dateTimeFormatter, datePattern);
+            write2Sheet(stylePool, sheet, sheetNames, dateTimeFormatter, datePattern);
         }
+        ExcelMetrics.stylesCreated(stylePool.size());
+        return workbook;
+    }
+
+
+    /**
+     * 流式导出xlsx, 内存中只保留{@link #DEFAULT_WINDOW_SIZE}行, 其余行刷新到磁盘临时文件,
+     * 不受xls 65536行的限制, 适用于大数据量导出
+     *
+     * @param sheets {@link ExcelSheet}的集合
+     * @return 临时文件
+     */
+    public static <T> File exportBigExcel(List<ExcelSheet<T>> sheets) {
+        return exportBigExcel(sheets, null);
+    }
+
+    public static <T> byte[] exportBigExcelByte(List<ExcelSheet<T>> sheets) {
+        return exportBigExcelByte(sheets, null);
+    }
+
+    public static <T> File exportBigExcel(List<ExcelSheet<T>> sheets,
+                                          String datePattern) {
+        return exportBigExcel(sheets, null, datePattern);
+    }
+
+    public static <T> byte[] exportBigExcelByte(List<ExcelSheet<T>> sheets,
+                                                String datePattern) {
+        return exportBigExcelByte(sheets, null, datePattern);
+    }
+
+    /**
+     * 流式导出xlsx至系统临时文件
+     *
+     * @param sheets            {@link ExcelSheet}的集合
+     * @param dateTimeFormatter 日期时间格式化
+     * @param datePattern       如果有时间数据，设定输出格式。默认为"yyyy/MM/dd"
+     * @return 临时文件
+     */
+    public static <T> File exportBigExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                          String datePattern) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        SXSSFWorkbook workbook = createBigWorkbook(sheets, dateTimeFormatter, datePattern);
+        try {
+            File file = createTempFile();
+            writeTo(workbook, file.toPath());
+            return file;
+        } catch (IOException e) {
+            LG.error(e.toString(), e);
+        } finally {
+            // 删除刷新行时产生的磁盘临时文件
+            workbook.dispose();
+        }
+        return null;
+    }
+
+    public static <T> byte[] exportBigExcelByte(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                                String datePattern) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        SXSSFWorkbook workbook = createBigWorkbook(sheets, dateTimeFormatter, datePattern);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try {
-            workbook.write(outputStream);
+            serialize(workbook, outputStream);
             return outputStream.toByteArray();
         } catch (IOException e) {
             LG.error(e.toString(), e);
         } finally {
-            if (outputStream != null) {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    LG.error(e.toString(), e);
-                }
-            }
+            workbook.dispose();
         }
         return null;
     }
 
+    /**
+     * 流式导出xlsx并直接写入调用方提供的输出流, 内存中既没有完整的工作簿也没有完整的byte数组
+     *
+     * @param sheets            {@link ExcelSheet}的集合
+     * @param dateTimeFormatter 日期时间格式化
+     * @param datePattern       如果有时间数据，设定输出格式。默认为"yyyy/MM/dd"
+     * @param out               输出流, 写入完成后不关闭, 由调用方负责关闭
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportBigExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                          String datePattern, OutputStream out) throws IOException {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        Assert.notNull(out, "输出流不能为空");
+        SXSSFWorkbook workbook = createBigWorkbook(sheets, dateTimeFormatter, datePattern);
+        try {
+            serialize(workbook, out);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * 流式导出xlsx并写入NIO通道, 写入完成后不关闭通道
+     *
+     * @param channel 输出通道, 如SocketChannel、FileChannel
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportBigExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                          String datePattern, WritableByteChannel channel) throws IOException {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        Assert.notNull(channel, "输出通道不能为空");
+        SXSSFWorkbook workbook = createBigWorkbook(sheets, dateTimeFormatter, datePattern);
+        try {
+            writeTo(workbook, channel);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * 流式导出xlsx并通过FileChannel写入指定文件, 文件已存在时覆盖
+     *
+     * @param path 目标文件
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportBigExcel(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                          String datePattern, Path path) throws IOException {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        Assert.notNull(path, "文件路径不能为空");
+        SXSSFWorkbook workbook = createBigWorkbook(sheets, dateTimeFormatter, datePattern);
+        try {
+            writeTo(workbook, path);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * 按{@link ExcelExportPlanner#plan}的规划导出, 调用方先规划以便根据引擎确定文件扩展名与响应类型
+     *
+     * @param sheets            {@link ExcelSheet}的集合
+     * @param plan              导出规划
+     * @param dateTimeFormatter 日期时间格式化
+     * @param datePattern       如果有时间数据，设定输出格式。默认为"yyyy/MM/dd"
+     * @param out               输出流, 写入完成后不关闭, 由调用方负责关闭
+     * @throws IOException 写入失败
+     */
+    public static <T> void export(List<ExcelSheet<T>> sheets, ExcelExportPlan plan, DateTimeFormatter dateTimeFormatter,
+                                  String datePattern, OutputStream out) throws IOException {
+        Assert.notNull(plan, "导出规划不能为空");
+        LG.info("导出规划: {}", plan);
+        switch (plan.getEngine()) {
+            case HSSF:
+                exportExcel(sheets, dateTimeFormatter, datePattern, out);
+                break;
+            case SXSSF:
+                exportBigExcel(sheets, dateTimeFormatter, datePattern, out);
+                break;
+            default:
+                Assert.state(sheets.size() == 1, "CSV只支持单sheet导出");
+                exportCsv(sheets.get(0), dateTimeFormatter, datePattern, null, out);
+        }
+    }
+
+    /**
+     * 按{@link ExcelExportPlanner#plan}的规划导出至指定文件, 文件已存在时覆盖
+     *
+     * @param path 目标文件, 扩展名应与{@link ExcelEngine#getExtension()}一致
+     * @throws IOException 写入失败
+     */
+    public static <T> void export(List<ExcelSheet<T>> sheets, ExcelExportPlan plan, DateTimeFormatter dateTimeFormatter,
+                                  String datePattern, Path path) throws IOException {
+        Assert.notNull(plan, "导出规划不能为空");
+        LG.info("导出规划: {}", plan);
+        switch (plan.getEngine()) {
+            case HSSF:
+                exportExcel(sheets, dateTimeFormatter, datePattern, path);
+                break;
+            case SXSSF:
+                exportBigExcel(sheets, dateTimeFormatter, datePattern, path);
+                break;
+            default:
+                Assert.state(sheets.size() == 1, "CSV只支持单sheet导出");
+                exportCsv(sheets.get(0), dateTimeFormatter, datePattern, null, path);
+        }
+    }
+
+    /**
+     * 导出CSV/TSV并直接写入输出流, 不经过POI, 输出列、默认值及日期格式与xls/xlsx导出一致, 无样式与列宽
+     *
+     * @param sheet             sheet数据集, CSV只有一个sheet
+     * @param dateTimeFormatter 日期时间格式化
+     * @param datePattern       如果有时间数据，设定输出格式。默认为"yyyy/MM/dd"
+     * @param options           分隔符、字符集等CSV参数, 为null时使用带BOM的UTF-8逗号分隔
+     * @param out               输出流, 写入完成后不关闭, 由调用方负责关闭
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportCsv(ExcelSheet<T> sheet, DateTimeFormatter dateTimeFormatter, String datePattern,
+                                     CsvOptions options, OutputStream out) throws IOException {
+        Assert.notNull(sheet, "sheet不可以为空");
+        new ExcelCsvWriter(out, options).write(sheet, dateTimeFormatter, datePattern);
+    }
+
+    /**
+     * 导出CSV/TSV至指定文件, 文件已存在时覆盖
+     *
+     * @param path 目标文件
+     * @throws IOException 写入失败
+     */
+    public static <T> void exportCsv(ExcelSheet<T> sheet, DateTimeFormatter dateTimeFormatter, String datePattern,
+                                     CsvOptions options, Path path) throws IOException {
+        Assert.notNull(path, "文件路径不能为空");
+        try (OutputStream out = Channels.newOutputStream(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            exportCsv(sheet, dateTimeFormatter, datePattern, options, out);
+        }
+    }
+
+    /**
+     * @description 创建基于滑动窗口的流式工作簿并写入所有sheet
+     * @param sheets
+     * @param dateTimeFormatter
+     * @param datePattern
+     * @return
+     */
+    private static <T> SXSSFWorkbook createBigWorkbook(List<ExcelSheet<T>> sheets, DateTimeFormatter dateTimeFormatter,
+                                                       String datePattern) {
+        ExcelExportPlanner.admit(sheets, ExcelEngine.SXSSF);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(DEFAULT_WINDOW_SIZE);
+        // 临时文件压缩, 避免大数据量时占满磁盘
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStylePool stylePool = new CellStylePool(workbook);
+            Set<String> sheetNames = sheetNames(sheets);
+            for (ExcelSheet<T> sheet : sheets) {
+                write2Sheet(stylePool, sheet, sheetNames, dateTimeFormatter, datePattern);
+            }
+            ExcelMetrics.stylesCreated(stylePool.size());
+        } catch (RuntimeException e) {
+            workbook.dispose();
+            throw e;
+        }
+        return workbook;
+    }
+
+    /**
+     * @description 本次导出的所有sheet名称(小写, sheet名称不区分大小写), 续写的sheet不使用这些名称
+     */
+    private static <T> Set<String> sheetNames(List<ExcelSheet<T>> sheets) {
+        Set<String> names = new HashSet<>();
+        for (ExcelSheet<T> sheet : sheets) {
+            if (sheet.getSheetName() != null) {
+                names.add(sheet.getSheetName().toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
 
     /**
      * 每个sheet的写入
      *
-     * @param workbook          excel对象
+     * @param stylePool         excel对象的样式池, 支持HSSF以及SXSSF流式工作簿
      * @param excelSheet        sheet数据集
+     * @param sheetNames        本次导出的所有sheet名称, 续写sheet命名时避开
      * @param dateTimeFormatter 日期时间格式化
      * @param pattern           日期格式
      * @return 临时文件
      */
-    private static <T> void write2Sheet(HSSFWorkbook workbook, ExcelSheet<T> excelSheet,
+    private static <T> void write2Sheet(CellStylePool stylePool, ExcelSheet<T> excelSheet, Set<String> sheetNames,
                                         DateTimeFormatter dateTimeFormatter,
                                         String pattern) {
-        List<T> dataset = excelSheet.getDataset();
+        //未设置数据源时使用dataset, 写入结束后关闭数据源
+        try (ExcelDataSource<T> dataSource = excelSheet.getDataSource() != null
+                ? excelSheet.getDataSource() : ExcelDataSource.of(excelSheet.getDataset())) {
+            write2Sheet(stylePool, excelSheet, sheetNames, dataSource, dateTimeFormatter, pattern);
+        }
+    }
+
+    private static <T> void write2Sheet(CellStylePool stylePool, ExcelSheet<T> excelSheet, Set<String> sheetNames,
+                                        ExcelDataSource<T> dataSource,
+                                        DateTimeFormatter dateTimeFormatter,
+                                        String pattern) {
+        Workbook workbook = stylePool.getWorkbook();
         String sheetName = excelSheet.getSheetName();
         List<String> header = excelSheet.getHeader();
-        HSSFSheet sheet = workbook.createSheet(sheetName);
-
-        //时间格式默认"yyyy-MM-dd"
-        if (isBlank(pattern)) {
-            pattern = PATTERN;
+        Sheet sheet = workbook.createSheet(sheetName);
+        ColumnWidthStrategy widthStrategy = excelSheet.getWidthStrategy() == null
+                ? ColumnWidthStrategy.AUTO_SIZE : excelSheet.getWidthStrategy();
+        ColumnWidthEstimator estimator = null;
+        if (widthStrategy == ColumnWidthStrategy.EXACT || widthStrategy == ColumnWidthStrategy.SAMPLE) {
+            estimator = new ColumnWidthEstimator(widthStrategy, excelSheet.getWidthSampleRows());
+        }
+        if (widthStrategy == ColumnWidthStrategy.AUTO_SIZE && sheet instanceof SXSSFSheet) {
+            // 流式sheet只能基于窗口内的行计算列宽, 需要在写入前开启列宽跟踪
+            ((SXSSFSheet) sheet).trackAllColumnsForAutoSizing();
         }
-        if (dateTimeFormatter == null) {
-            dateTimeFormatter = DateTimeFormatter.ofPattern(pattern);
+
+        //时间格式默认"yyyy/MM/dd", 日期与BigDecimal默认写为原生单元格
+        ExcelCellWriter cellWriter = new ExcelCellWriter(stylePool, dateTimeFormatter, pattern,
+                !Boolean.FALSE.equals(excelSheet.getTypedCell()));
+        if (estimator != null) {
+            estimator.setDateLength(cellWriter.getPattern().length());
         }
         //设置样式
-        HSSFCellStyle style = workbook.createCellStyle();
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setFillForegroundColor(IndexedColors.GREY_40_PERCENT.getIndex());
-        HSSFFont font = workbook.createFont();
-        font.setBold(Boolean.TRUE);
-        style.setFont(font);
+        CellStyle style = stylePool.get(SHEET_HEADER_STYLE);
 
         if (Boolean.TRUE.equals(excelSheet.oper) && !excelSheet.dataOber.isEmpty()) {
+            //订单观察数据每组一行, 不受maxRowsPerSheet影响, 也不续写到新sheet; 超出文件格式行数上限时在写入前拒绝
+            int maxRows = workbook.getSpreadsheetVersion().getMaxRows();
+            Assert.state(excelSheet.dataOber.size() < maxRows,
+                    "订单观察数据不支持分sheet导出, 行数" + (excelSheet.dataOber.size() + 1) + "超出上限" + maxRows);
+            ExcelExportMonitor monitor = excelSheet.getMonitor();
+            long dataRows = 0;
             //绘制标题行
             int rowIndex = 0;   //
-            HSSFRow headRow = sheet.createRow(rowIndex);
+            Row headRow = sheet.createRow(rowIndex);
             Integer headcolumnIndex = 0;
             for (String headName : excelSheet.header) {
-                HSSFCell cell = headRow.createCell(headcolumnIndex);
-                HSSFRichTextString text = new HSSFRichTextString(headName);
-                cell.setCellValue(text);
+                Cell cell = headRow.createCell(headcolumnIndex);
+                cell.setCellValue(headName);
                 cell.setCellStyle(style);
+                if (estimator != null) {
+                    estimator.track(headcolumnIndex, headName);
+                }
                 headcolumnIndex++;
             }
             rowIndex++;
@@ -196,406 +529,1061 @@ public class ExcelUtil {
             for (Map<String, List<OberDownloadVO>> stringMapMap : excelSheet.dataOber) {
                 for (Map.Entry<String, List<OberDownloadVO>> keyDate : stringMapMap.entrySet()) {
                     int bodyColumnIndex = 0;
-                    HSSFRow row = sheet.createRow(rowIndex);
-                    HSSFCell cellHead = row.createCell(bodyColumnIndex);
-                    setCellValue(cellHead, keyDate.getKey(), dateTimeFormatter, pattern);
+                    boolean tracking = estimator != null && estimator.isTracking();
+                    Row row = sheet.createRow(rowIndex);
+                    Cell cellHead = row.createCell(bodyColumnIndex);
+                    Object headValue = cellWriter.format(keyDate.getKey());
+                    cellWriter.write(cellHead, headValue);
+                    if (tracking) {
+                        estimator.track(bodyColumnIndex, headValue);
+                    }
                     bodyColumnIndex = 1;
                     for (OberDownloadVO oberDownloadVO : keyDate.getValue()) {
-                        Field[] declaredFields = oberDownloadVO.getClass().getDeclaredFields();
-                        for (Field field : declaredFields) {
-                            Excel annotation = field.getAnnotation(Excel.class);
-                            if (annotation != null) {
-                                HSSFCell cell = row.createCell(bodyColumnIndex);
-                                field.setAccessible(true);
-                                Object value = null;
-                                try {
-                                    value = field.get(oberDownloadVO);
-                                } catch (IllegalAccessException e) {
-                                    e.printStackTrace();
-                                }
-                                if (value == null) {
-                                    value = "";
-                                }
-                                setCellValue(cell, value, dateTimeFormatter, pattern);
-                                bodyColumnIndex++;
+                        ExcelColumnPlan oberPlan = ExcelColumnPlan.of(oberDownloadVO.getClass());
+                        for (ExcelColumnPlan.Column column : oberPlan.getDeclaredColumns()) {
+                            Cell cell = row.createCell(bodyColumnIndex);
+                            Object value = column.getValue(oberDownloadVO);
+                            if (value == null) {
+                                value = "";
+                            }
+                            Object cellValue = cellWriter.format(value);
+                            cellWriter.write(cell, cellValue);
+                            if (tracking) {
+                                estimator.track(bodyColumnIndex, cellValue);
                             }
+                            bodyColumnIndex++;
                         }
                     }
+                    if (tracking) {
+                        estimator.endRow();
+                    }
                 }
                 rowIndex++;
+                if (++dataRows % ExcelExportMonitor.INTERVAL == 0 && monitor != null) {
+                    monitor.checkpoint(dataRows);
+                }
             }
-
-            // 设定自动宽度
-            for (int i = 0; i < excelSheet.header.size(); i++) {
-                sheet.autoSizeColumn(i);
+            if (monitor != null) {
+                monitor.checkpoint(dataRows);
             }
 
+            // 设定列宽
+            sizeColumns(sheet, excelSheet.header.size(), widthStrategy, estimator);
+
         } else {
+            //按需拉取数据行, 预读第一行用于判断是否有数据以及确定输出列
+            PeekingIterator<T> dataset = Iterators.peekingIterator(dataSource.iterator());
             //无数据创建空白sheet,包含了表头
-            if (dataset == null || dataset.isEmpty()) {
+            if (!dataset.hasNext()) {
                 //绘制标题行
                 if (!CollectionUtils.isEmpty(header)) {
-                    HSSFRow headRow = sheet.createRow(0);
+                    Row headRow = sheet.createRow(0);
                     Integer headcolumnIndex = 0;
                     for (String s : header) {
-                        HSSFCell cell = headRow.createCell(headcolumnIndex);
-                        HSSFRichTextString text = new HSSFRichTextString(s);
-                        cell.setCellValue(text);
+                        Cell cell = headRow.createCell(headcolumnIndex);
+                        cell.setCellValue(s);
                         cell.setCellStyle(style);
-                        // 设定自动宽度
-                        sheet.autoSizeColumn(headcolumnIndex);
+                        if (estimator != null) {
+                            estimator.track(headcolumnIndex, s);
+                        }
                         headcolumnIndex++;
                     }
+                    // 设定列宽
+                    sizeColumns(sheet, header.size(), widthStrategy, estimator);
                 }
                 return;
             }
             //一种是使用map构建，一种是使用bean构建
-            //构造序号-列名
-            Map<Integer, Field> indexMap = new TreeMap<>();
-            Map<Integer, String> indexDefaultValue = new TreeMap<>();
-            Map<Integer, String> indexHeaderMap = new TreeMap<>();
+            //按@Excel序号或表头名称确定输出列
+            List<ExcelColumnPlan.Column> columns;
             if (excelSheet.getChart()) {
-                Field[] declaredFields = dataset.get(0).getClass().getDeclaredFields();
-                for (Field field : declaredFields) {
-                    Excel annotation = field.getAnnotation(Excel.class);
-                    if (annotation != null) {
-                        if (indexMap.get(annotation.index()) == null) {
-                            indexMap.put(annotation.index(), field);
-                            indexDefaultValue.put(annotation.index(), annotation.defaultValue());
-                            indexHeaderMap.put(annotation.index(), annotation.name());
-                        } else {
-                            throw new RuntimeException("重复的列序号!");
-                        }
-                    }
+                columns = ExcelColumnPlan.of(dataset.peek().getClass()).getColumns();
+            } else {
+                columns = ExcelColumnPlan.of(GoalDownloadVO.class).getColumns(header);
+            }
+
+
+            //行数达到上限时续写到"<sheetName>_2"、"_3"..., 每个sheet重复标题行
+            int maxRows = workbook.getSpreadsheetVersion().getMaxRows();
+            if (excelSheet.getMaxRowsPerSheet() != null) {
+                Assert.state(excelSheet.getMaxRowsPerSheet() > 2, "每个sheet的最大行数必须大于2");
+                maxRows = Math.min(maxRows, excelSheet.getMaxRowsPerSheet());
+            }
+            long start = ExcelMetrics.start();
+            SheetRoller roller = new SheetRoller(excelSheet, sheet, sheetNames, columns, style, maxRows,
+                    widthStrategy == ColumnWidthStrategy.AUTO_SIZE);
+            if (estimator != null) {
+                for (int i = 0; i < columns.size(); i++) {
+                    estimator.track(i, columns.get(i).getName());
                 }
+            }
+
+            //绘制内容行
+            int columnSize = columns.size();
+            //数据行数未知时按大数据量处理
+            int size = dataSource.size();
+            if (Boolean.TRUE.equals(excelSheet.getParallel()) && (size < 0 || size > ExcelExportPipeline.DEFAULT_BATCH_SIZE)) {
+                //取值与格式化并行执行, 按原顺序单线程写入
+                ColumnWidthEstimator rowEstimator = estimator;
+                ExcelExportPipeline.common().run(dataset,
+                        t -> formatRow(t, columns, cellWriter),
+                        values -> {
+                            writeRow(roller.nextRow(), values, cellWriter);
+                            trackRow(rowEstimator, values);
+                        });
             } else {
-                GoalDownloadVO g = new GoalDownloadVO();
-                for (int i = 0; i < header.size(); i++) {
-                    for (Field field : g.getClass().getDeclaredFields()) {
-                        Excel annotation = field.getAnnotation(Excel.class);
-                        if (Objects.nonNull(annotation)) {
-                            if (Objects.equals(annotation.name(), header.get(i))) {
-                                indexMap.put(i, field);
-                                indexDefaultValue.put(i, annotation.defaultValue());
-                                indexHeaderMap.put(i, annotation.name());
-                            }
+                while (dataset.hasNext()) {
+                    T t = dataset.next();
+                    boolean tracking = estimator != null && estimator.isTracking();
+                    Row row = roller.nextRow();
+                    for (int bodyColumnIndex = 0; bodyColumnIndex < columnSize; bodyColumnIndex++) {
+                        ExcelColumnPlan.Column column = columns.get(bodyColumnIndex);
+                        Cell cell = row.createCell(bodyColumnIndex);
+                        Object value = column.getValue(t);
+                        if (value == null) {
+                            value = column.getDefaultValue();
+                        }
+                        Object cellValue = cellWriter.format(value);
+                        cellWriter.write(cell, cellValue);
+                        if (tracking) {
+                            estimator.track(bodyColumnIndex, cellValue);
                         }
                     }
+                    if (tracking) {
+                        estimator.endRow();
+                    }
+                }
+            }
+            roller.finish();
+            ExcelMetrics.rowsWritten(roller.getDataRows(), (long) roller.getDataRows() * columnSize, start);
+
+            // 设定列宽
+            long sizeStart = ExcelMetrics.start();
+            for (Sheet written : roller.getSheets()) {
+                sizeColumns(written, columnSize, widthStrategy, estimator);
+            }
+            ExcelMetrics.phase(ExcelPhase.SIZE_COLUMNS, sizeStart);
+        }
+    }
+
+    /**
+     * @description 写入合计行, 合计文字合并到合计列之前, 合计值合并到最后一列
+     * @param sheet
+     * @param rowIndex
+     * @param excelSheet
+     * @param style
+     * @param columnCount
+     */
+    private static void writeTotal(Sheet sheet, int rowIndex, ExcelSheet<?> excelSheet, CellStyle style, int columnCount) {
+        Row row = sheet.createRow(rowIndex);
+        Cell cell = row.createCell(BigDecimal.ZERO.intValue());
+        cell.setCellValue(excelSheet.getTotal());
+        cell.setCellStyle(style);
+        Cell hssfCell = row.createCell(excelSheet.getIndex());
+        hssfCell.setCellValue(excelSheet.getTotalAmount().toString());
+        hssfCell.setCellStyle(style);
+        //合并列, 合计行为新建的最后一行, 两个区域分别位于合计列两侧, 不会与其它区域重叠, 不再逐个校验
+        CellRangeAddress address = new CellRangeAddress(rowIndex, rowIndex, BigDecimal.ZERO.intValue(),
+                (BigDecimal.valueOf(excelSheet.getIndex()).subtract(BigDecimal.ONE)).intValue());
+        sheet.addMergedRegionUnsafe(address);
+        if (excelSheet.getIndex() < (BigDecimal.valueOf(columnCount).subtract(BigDecimal.ONE)).intValue()) {
+            CellRangeAddress cellAddresses = new CellRangeAddress(rowIndex, rowIndex, excelSheet.getIndex(), (BigDecimal.valueOf(columnCount).subtract(BigDecimal.ONE)).intValue());
+            sheet.addMergedRegionUnsafe(cellAddresses);
+        }
+    }
+
+    /**
+     * @description 按列宽策略设置列宽
+     * @param sheet
+     * @param columnCount
+     * @param widthStrategy
+     * @param estimator     EXACT/SAMPLE时写入过程中记录的列宽
+     */
+    private static void sizeColumns(Sheet sheet, int columnCount, ColumnWidthStrategy widthStrategy,
+                                    ColumnWidthEstimator estimator) {
+        if (widthStrategy == ColumnWidthStrategy.AUTO_SIZE) {
+            for (int i = 0; i < columnCount; i++) {
+                sheet.autoSizeColumn(i);
+            }
+        } else if (estimator != null) {
+            estimator.apply(sheet);
+        }
+    }
+
+    private static void trackRow(ColumnWidthEstimator estimator, Object[] values) {
+        if (estimator == null || !estimator.isTracking()) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            estimator.track(i, values[i]);
+        }
+        estimator.endRow();
+    }
+
+    /**
+     * @description 读取并格式化一行的所有列
+     * @param t
+     * @param columns
+     * @param cellWriter
+     * @return
+     */
+    private static Object[] formatRow(Object t, List<ExcelColumnPlan.Column> columns, ExcelCellWriter cellWriter) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            ExcelColumnPlan.Column column = columns.get(i);
+            Object value = column.getValue(t);
+            if (value == null) {
+                value = column.getDefaultValue();
+            }
+            values[i] = cellWriter.format(value);
+        }
+        return values;
+    }
+
+    private static void writeRow(Row row, Object[] values, ExcelCellWriter cellWriter) {
+        for (int i = 0; i < values.length; i++) {
+            cellWriter.write(row.createCell(i), values[i]);
+        }
+    }
+
+    /**
+     * @description 在系统临时目录下生成导出文件名
+     * @return
+     */
+    private static File createTempFile() {
+        String dir = System.getProperty("java.io.tmpdir");
+        if (!dir.endsWith(File.separator)) {
+            dir = dir + File.separator;
+        }
+        return new File(dir + ExcelUtil.class.getPackage().getName() + System.currentTimeMillis() + ".xlsx");
+    }
+
+    /**
+     * @description 工作簿写入NIO通道. POI按小块写出, 经缓冲后再写入通道, 减少系统调用
+     * @param workbook
+     * @param channel
+     */
+    private static void writeTo(Workbook workbook, WritableByteChannel channel) throws IOException {
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), CHANNEL_BUFFER_SIZE);
+        serialize(workbook, out);
+        // 不关闭out, 关闭会同时关闭调用方的通道
+        out.flush();
+    }
+
+    /**
+     * @description 工作簿序列化输出, 开启指标时记录耗时与输出字节数
+     * @param workbook
+     * @param out
+     */
+    private static void serialize(Workbook workbook, OutputStream out) throws IOException {
+        long start = ExcelMetrics.start();
+        OutputStream target = ExcelMetrics.counting(out);
+        workbook.write(target);
+        ExcelMetrics.bytesWritten(target);
+        ExcelMetrics.phase(ExcelPhase.SERIALIZE, start);
+    }
+
+    private static void writeTo(Workbook workbook, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeTo(workbook, channel);
+        }
+    }
+
+    private static boolean isBlank(String str) {
+        if (str == null) {
+            return true;
+        }
+        return str.length() == 0;
+    }
+
+    protected static boolean isNotBlank(String str) {
+        return !isBlank(str);
+    }
+
+
+
+    /**
+     * sheet续写, 当前sheet写满后创建下一个sheet并重复标题行, 可选在每个sheet末尾写入合计行
+     */
+    private static final class SheetRoller {
+        /**sheet名称的最大长度*/
+        private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+        private final ExcelSheet<?> excelSheet;
+        private final List<ExcelColumnPlan.Column> columns;
+        private final CellStyle headerStyle;
+        private final int maxRows;
+        /**AUTO_SIZE时续写的流式sheet需要开启列宽跟踪*/
+        private final boolean autoSize;
+        private final boolean hasTotal;
+        /**每个sheet末尾为合计行预留的行数*/
+        private final int reserved;
+        private final ExcelExportMonitor monitor;
+        /**本次导出的其它sheet名称, 续写的sheet不能与之重名*/
+        private final Set<String> reservedNames;
+        private final List<Sheet> sheets = new ArrayList<>();
+        private Sheet sheet;
+        private int rowIndex;
+        private int dataRows;
+
+        SheetRoller(ExcelSheet<?> excelSheet, Sheet first, Set<String> reservedNames, List<ExcelColumnPlan.Column> columns,
+                    CellStyle headerStyle, int maxRows, boolean autoSize) {
+            this.excelSheet = excelSheet;
+            this.reservedNames = reservedNames;
+            this.columns = columns;
+            this.headerStyle = headerStyle;
+            this.maxRows = maxRows;
+            this.autoSize = autoSize;
+            this.hasTotal = Objects.nonNull(excelSheet.getTotalAmount());
+            this.reserved = hasTotal && Boolean.TRUE.equals(excelSheet.getTotalOnEverySheet()) ? 1 : 0;
+            this.monitor = excelSheet.getMonitor();
+            start(first);
+        }
+
+        /**
+         * @description 创建下一个数据行, 当前sheet已满时续写到新sheet
+         * @return
+         */
+        Row nextRow() {
+            if (rowIndex + reserved >= maxRows) {
+                if (reserved > 0) {
+                    writeTotal(sheet, rowIndex, excelSheet, headerStyle, columns.size());
                 }
+                start(nextSheet());
+            }
+            if (++dataRows % ExcelExportMonitor.INTERVAL == 0 && monitor != null) {
+                monitor.checkpoint(dataRows);
+            }
+            return sheet.createRow(rowIndex++);
+        }
+
+        /**
+         * @description 写入最后一个sheet的合计行
+         */
+        void finish() {
+            if (monitor != null) {
+                monitor.checkpoint(dataRows);
+            }
+            if (!hasTotal) {
+                return;
+            }
+            if (rowIndex >= maxRows) {
+                start(nextSheet());
             }
+            writeTotal(sheet, rowIndex++, excelSheet, headerStyle, columns.size());
+        }
+
+        List<Sheet> getSheets() {
+            return sheets;
+        }
 
+        int getDataRows() {
+            return dataRows;
+        }
+
+        /**
+         * @description 创建续写的sheet, 命名为"<sheetName>_n", 与工作簿中已有或本次导出的其它sheet重名时序号顺延
+         */
+        private Sheet nextSheet() {
+            Workbook workbook = sheet.getWorkbook();
+            String base = sheets.get(0).getSheetName();
+            String candidate;
+            int n = sheets.size() + 1;
+            do {
+                String suffix = "_" + n++;
+                String name = base.length() + suffix.length() > MAX_SHEET_NAME_LENGTH
+                        ? base.substring(0, MAX_SHEET_NAME_LENGTH - suffix.length()) : base;
+                candidate = name + suffix;
+            } while (workbook.getSheetIndex(candidate) >= 0
+                    || reservedNames.contains(candidate.toLowerCase(Locale.ROOT)));
+            Sheet next = workbook.createSheet(candidate);
+            if (autoSize && next instanceof SXSSFSheet) {
+                ((SXSSFSheet) next).trackAllColumnsForAutoSizing();
+            }
+            return next;
+        }
 
+        private void start(Sheet next) {
+            sheet = next;
+            sheets.add(next);
             //绘制标题行
-            int rowIndex = 0;   //
-            HSSFRow headRow = sheet.createRow(rowIndex);
-            Integer headcolumnIndex = 0;
-            for (Map.Entry<Integer, String> entry : indexHeaderMap.entrySet()) {
-                HSSFCell cell = headRow.createCell(headcolumnIndex);
-                String value = entry.getValue();
-                HSSFRichTextString text = new HSSFRichTextString(value);
-                cell.setCellValue(text);
-                cell.setCellStyle(style);
-                headcolumnIndex++;
+            Row headRow = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                Cell cell = headRow.createCell(i);
+                cell.setCellValue(columns.get(i).getName());
+                cell.setCellStyle(headerStyle);
             }
-            rowIndex++;
+            rowIndex = 1;
+        }
+    }
 
-            //绘制内容行
-            for (T t : dataset) {
-                int bodyColumnIndex = 0;
-                HSSFRow row = sheet.createRow(rowIndex);
-                for (Map.Entry<Integer, Field> entry : indexMap.entrySet()) {
-                    HSSFCell cell = row.createCell(bodyColumnIndex);
-                    Field field = entry.getValue();
-                    field.setAccessible(true);
-                    Object value = null;
-                    try {
-                        value = field.get(t);
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
+    @Data
+    public static class ExcelSheet<C> {
+        private String sheetName;
+        //如果没有数据要设置表头，有数据时，以注解上的name为准
+        private List<String> header;
+        private List<C> dataset;
+        //按需拉取的数据源, 设置后优先于dataset, 适用于无法一次性加载的大数据量
+        private ExcelDataSource<C> dataSource;
+        private Boolean oper;
+        //订单观察
+        private List<Map<String, List<OberDownloadVO>>> dataOber;
+        private Integer maxSmartSize;
+        //目标达成分析
+        private Boolean chart = Boolean.TRUE;
+        //账单
+        private BigDecimal totalAmount;
+        private String total;
+        private Integer index;
+        //true时取值与格式化并行执行, 适用于大数据量
+        private Boolean parallel = Boolean.FALSE;
+        //true时日期写为原生日期单元格、BigDecimal写为数值单元格, false时按文本写入
+        private Boolean typedCell = Boolean.TRUE;
+        //列宽计算方式, 数据量大或容器无字体时建议使用EXACT/SAMPLE
+        private ColumnWidthStrategy widthStrategy = ColumnWidthStrategy.AUTO_SIZE;
+        //SAMPLE时参与计算的数据行数
+        private int widthSampleRows = 1000;
+        //每个sheet的最大行数(含标题行与合计行), 超出时续写到"<sheetName>_2"等新sheet, 为null时使用文件格式上限.
+        //oper订单观察数据不续写, 行数超出文件格式上限时拒绝导出
+        private Integer maxRowsPerSheet;
+        //true时每个续写的sheet末尾都写入合计行, false时只在最后一个sheet写入
+        private Boolean totalOnEverySheet = Boolean.FALSE;
+        //导出进度监控, 可用于上报进度及取消导出
+        private ExcelExportMonitor monitor;
+    }
+
+    /**
+     * @Author: chengh@jointwisdom.cn<BR>
+     * @Description: Excel导入。对象属性请定义为包装类型 <BR>
+     * @Date: 2019/3/14 16:24 <BR>
+     * @Param: [is, pojoClass, params] <BR>
+     * @return: cn.jointwisdom.mrad.commons.api.constant.RespResult<java.util.List < T>> <BR>
+     **/
+    public <T> RespResult<List<T>> importExcel(InputStream is, Class<?> pojoClass, ImportParams params) {
+        return importWorkbook(ImportSource.of(is), pojoClass, params);
+    }
+
+    /**
+     * @description Excel导入, 直接从本地文件随机访问打开, 不在堆中缓冲整个文件, 适用于已落盘的上传文件.
+     * 文件类型仍按params中的文件名校验
+     * @param path 本地文件
+     */
+    public <T> RespResult<List<T>> importExcel(Path path, Class<?> pojoClass, ImportParams params) {
+        return importWorkbook(ImportSource.of(path), pojoClass, params);
+    }
+
+    /**
+     * @description Excel导入, xls通过FileChannel随机访问打开, 导入结束后关闭通道
+     * @param channel 文件通道
+     */
+    public <T> RespResult<List<T>> importExcel(FileChannel channel, Class<?> pojoClass, ImportParams params) {
+        return importWorkbook(ImportSource.of(channel), pojoClass, params);
+    }
+
+    private <T> RespResult<List<T>> importWorkbook(ImportSource source, Class<?> pojoClass, ImportParams params) {
+        long start = ExcelMetrics.start();
+        int rejected = 0;
+        List<T> resultList = new ArrayList<>();
+        try {
+            // 错误信息接收器
+            StringBuilder errorMsg = new StringBuilder();
+            String fileName = params.getFileName();
+            if (!fileName.matches("^.+\\.(?i)(xls)$") && !fileName.matches("^.+\\.(?i)(xlsx)$")) {
+                return HabErrorType.HAB_2412;
+            }
+            Workbook wb = source.openWorkbook(fileName.matches("^.+\\.(?i)(xlsx)$"));
+            Sheet sheet = wb.getSheetAt(params.getSheetNum());
+            if (sheet == null) {
+                return HabErrorType.HAB_2414;
+            }
+            // 得到Excel的行数
+            int totalRows = sheet.getPhysicalNumberOfRows();
+            // 总列数
+            int totalCells = 0;
+            // 得到Excel的列数(前提是有行数)，从第1行算起
+            int firstDataRow = params.getHeadRow() + 1;
+            if (totalRows >= firstDataRow && sheet.getRow(firstDataRow) != null) {
+                totalCells = sheet.getRow(firstDataRow).getPhysicalNumberOfCells();
+            } else {
+                return HabErrorType.HAB_2413;
+            }
+            // 按对象类型与列数解析一次绑定计划
+            ExcelImportPlan plan = ExcelImportPlan.of(pojoClass, totalCells);
+            // 只读取单元格, 不修改单元格类型, 日期格式按样式缓存
+            ExcelCellReader cellReader = new ExcelCellReader();
+            Object[] values = new Object[totalCells];
+            for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                StringBuilder rowMessage = new StringBuilder();
+                Row row = sheet.getRow(r);
+                if (row == null) {
+                    errorMsg.append("第" + (r + 1) + "行数据有问题,请仔细检查!");
+                    rejected++;
+                    continue;
+                }
+                // 读取时顺带判断空行, 只有绑定列都为空时才检查其余单元格
+                if (cellReader.read(row, values, totalCells) && isRowEmpty(row)) {
+                    continue;
+                }
+
+                T pojo = plan.newInstance();
+
+                // 循环Excel的列
+                for (int c = 0; c < totalCells; c++) {
+                    if (null != values[c]) {
+                        plan.bind(pojo, c, values[c]);
+                    }
+                }
+                // 拼接每行的错误提示
+                if (!StringUtils.isEmpty(rowMessage.toString())) {
+                    errorMsg.append("第" + (r + 1) + "行," + rowMessage);
+                }
+                resultList.add(pojo);
+            }
+            if (!resultList.isEmpty() && StringUtils.isEmpty(errorMsg.toString())) {
+                return RespResult.build(resultList);
+            }
+            return RespResult.build(HabErrorType.HAB_2415, Collections.emptyList(), errorMsg.toString());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            ExcelMetrics.rowsParsed(resultList.size(), rejected, start);
+            source.close();
+        }
+    }
+
+    /**
+     * @description 流式导入, xlsx使用SAX事件解析, xls使用record事件模型, csv/tsv按文本解析, 每解析完一行即绑定对象并回调handler,
+     * 不在内存中构建完整工作簿及结果集合, 适用于大文件导入. 对象属性请定义为包装类型.
+     * xls/xlsx需要随机访问, 流会先转存为临时文件; 本地文件请使用{@link #importExcel(Path, Class, ImportParams, ExcelRowHandler)}
+     * @param is        文件流
+     * @param pojoClass 绑定对象类型
+     * @param params    导入参数
+     * @param handler   行回调
+     * @return 成功时返回导入的行数
+     */
+    public <T> RespResult<Integer> importExcel(InputStream is, Class<T> pojoClass, ImportParams params,
+                                               ExcelRowHandler<T> handler) {
+        return importRows(ImportSource.of(is), pojoClass, params, handler);
+    }
+
+    /**
+     * @description 流式导入, 直接从本地文件随机访问打开, 不在堆中缓冲整个文件
+     * @param path 本地文件
+     */
+    public <T> RespResult<Integer> importExcel(Path path, Class<T> pojoClass, ImportParams params,
+                                               ExcelRowHandler<T> handler) {
+        return importRows(ImportSource.of(path), pojoClass, params, handler);
+    }
+
+    /**
+     * @description 流式导入, xls通过FileChannel随机访问打开, 导入结束后关闭通道
+     * @param channel 文件通道
+     */
+    public <T> RespResult<Integer> importExcel(FileChannel channel, Class<T> pojoClass, ImportParams params,
+                                               ExcelRowHandler<T> handler) {
+        return importRows(ImportSource.of(channel), pojoClass, params, handler);
+    }
+
+    private <T> RespResult<Integer> importRows(ImportSource source, Class<T> pojoClass, ImportParams params,
+                                              ExcelRowHandler<T> handler) {
+        String fileName = params.getFileName();
+        if (fileName != null && fileName.matches("^.+\\.(?i)(csv|tsv)$")) {
+            CsvOptions options = fileName.matches("^.+\\.(?i)(tsv)$") ? CsvOptions.tsv() : CsvOptions.csv();
+            InputStream is;
+            try {
+                is = source.openStream();
+            } catch (IOException e) {
+                source.close();
+                throw new RuntimeException(e);
+            }
+            return importCsv(is, pojoClass, params, options, handler);
+        }
+        long start = ExcelMetrics.start();
+        // 导入行数, 绑定失败行数
+        int[] count = new int[2];
+        try {
+            if (!fileName.matches("^.+\\.(?i)(xls)$") && !fileName.matches("^.+\\.(?i)(xlsx)$")) {
+                return HabErrorType.HAB_2412;
+            }
+            ExcelEventReader.RawRowListener listener = bindingListener(pojoClass, params.getHeadRow(), handler, count);
+            if (!readRows(source, fileName, params.getSheetNum(), listener)) {
+                return HabErrorType.HAB_2414;
+            }
+            if (count[0] == 0) {
+                return HabErrorType.HAB_2413;
+            }
+            return RespResult.build(count[0]);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            ExcelMetrics.rowsParsed(count[0], count[1], start);
+            source.close();
+        }
+    }
+
+    /**
+     * @description 流式并行导入. 解析线程只提取原始单元格值, 类型转换、对象绑定及行校验按批次在公共ForkJoinPool中并行执行,
+     * 结果按行号顺序回调handler. 绑定或校验失败的行不回调, 错误按行收集后一并返回, 不中断导入.
+     * 支持xls、xlsx及csv/tsv, 适用于转换开销较大(BigDecimal、日期、枚举转换)的大文件导入
+     * @param is        文件流
+     * @param pojoClass 绑定对象类型
+     * @param params    导入参数
+     * @param validator 行校验, 需要线程安全, 可以为null
+     * @param handler   行回调, 在调用线程上按行号顺序执行
+     * @return 导入结果, 有错误行时返回HAB_2415及错误明细, 最多记录100条错误
+     */
+    public <T> RespResult<ExcelImportResult> importExcel(InputStream is, Class<T> pojoClass, ImportParams params,
+                                                         ExcelRowValidator<? super T> validator,
+                                                         ExcelRowHandler<T> handler) {
+        return importExcel(is, pojoClass, params, validator, handler, ExcelImportOptions.defaults());
+    }
+
+    /**
+     * @description 流式并行导入, 可指定错误数上限、快速失败及表头预检. 开启表头预检时表头与@Excel的index、name不一致
+     * 则不读取任何数据行直接返回; 开启快速失败时错误数达到上限即停止解析, 已回调的行不会撤回
+     * @param options 导入校验参数
+     * @return 导入结果, 有错误时返回HAB_2415及按行、列记录的错误明细
+     */
+    public <T> RespResult<ExcelImportResult> importExcel(InputStream is, Class<T> pojoClass, ImportParams params,
+                                                         ExcelRowValidator<? super T> validator,
+                                                         ExcelRowHandler<T> handler, ExcelImportOptions options) {
+        return importRows(ImportSource.of(is), pojoClass, params, validator, handler, options);
+    }
+
+    /**
+     * @description 流式并行导入, 直接从本地文件随机访问打开, 不在堆中缓冲整个文件
+     * @param path 本地文件
+     */
+    public <T> RespResult<ExcelImportResult> importExcel(Path path, Class<T> pojoClass, ImportParams params,
+                                                         ExcelRowValidator<? super T> validator,
+                                                         ExcelRowHandler<T> handler, ExcelImportOptions options) {
+        return importRows(ImportSource.of(path), pojoClass, params, validator, handler, options);
+    }
+
+    /**
+     * @description 流式并行导入, xls通过FileChannel随机访问打开, 导入结束后关闭通道
+     * @param channel 文件通道
+     */
+    public <T> RespResult<ExcelImportResult> importExcel(FileChannel channel, Class<T> pojoClass, ImportParams params,
+                                                         ExcelRowValidator<? super T> validator,
+                                                         ExcelRowHandler<T> handler, ExcelImportOptions options) {
+        return importRows(ImportSource.of(channel), pojoClass, params, validator, handler, options);
+    }
+
+    private <T> RespResult<ExcelImportResult> importRows(ImportSource source, Class<T> pojoClass, ImportParams params,
+                                                         ExcelRowValidator<? super T> validator,
+                                                         ExcelRowHandler<T> handler, ExcelImportOptions options) {
+        long start = ExcelMetrics.start();
+        ExcelImportPipeline<T> pipeline = ExcelImportPipeline.common(pojoClass, params.getHeadRow(), validator,
+                handler, options);
+        try {
+            String fileName = params.getFileName();
+            if (fileName == null || !fileName.matches("^.+\\.(?i)(xls|xlsx|csv|tsv)$")) {
+                return HabErrorType.HAB_2412;
+            }
+            try {
+                if (!readRows(source, fileName, params.getSheetNum(), pipeline)) {
+                    return HabErrorType.HAB_2414;
+                }
+            } catch (Exception e) {
+                // 达到错误上限或表头不一致时由解析线程中断解析, 异常可能被解析器包装
+                if (!pipeline.isStopped()) {
+                    throw e;
+                }
+            }
+            ExcelImportResult result = pipeline.finish();
+            if (result.hasErrors()) {
+                return RespResult.build(HabErrorType.HAB_2415, result, result.getErrorMessage());
+            }
+            if (result.getImported() == 0) {
+                return HabErrorType.HAB_2413;
+            }
+            return RespResult.build(result);
+        } catch (Exception e) {
+            pipeline.cancel();
+            throw new RuntimeException(e);
+        } finally {
+            ExcelImportResult result = pipeline.getResult();
+            ExcelMetrics.rowsParsed(result.getImported(), result.getRejected(), start);
+            source.close();
+        }
+    }
+
+    /**
+     * @description 多sheet流式导入, 文件只打开并解析一次, xlsx的共享字符串表与样式表只解析一次,
+     * 按sheet名称或下标将各sheet绑定为不同的对象类型并回调各自的handler. 每个sheet的结果在解析下一个sheet之前回调完毕,
+     * 回调顺序与sheet在文件中的顺序一致. 开启快速失败时任意sheet错误数达到上限即停止整个导入
+     * @param is      文件流
+     * @param params  导入参数, sheetNum不生效, headRow作为各sheet的默认表头行
+     * @param sheets  sheet映射, 同一sheet只能映射一次, 名称或下标重复时抛出异常
+     * @param options 导入校验参数, 为null时使用默认值
+     * @return sheet名称 -> 导入结果, 按sheet在文件中的顺序排列; 有错误时返回HAB_2415
+     */
+    public RespResult<Map<String, ExcelImportResult>> importExcel(InputStream is, ImportParams params,
+                                                                  List<ExcelSheetImport<?>> sheets,
+                                                                  ExcelImportOptions options) {
+        return importSheets(ImportSource.of(is), params, sheets, options);
+    }
+
+    /**
+     * @description 多sheet流式导入, 直接从本地文件随机访问打开, 不在堆中缓冲整个文件
+     * @param path 本地文件
+     */
+    public RespResult<Map<String, ExcelImportResult>> importExcel(Path path, ImportParams params,
+                                                                  List<ExcelSheetImport<?>> sheets,
+                                                                  ExcelImportOptions options) {
+        return importSheets(ImportSource.of(path), params, sheets, options);
+    }
+
+    /**
+     * @description 多sheet流式导入, xls通过FileChannel随机访问打开, 导入结束后关闭通道
+     * @param channel 文件通道
+     */
+    public RespResult<Map<String, ExcelImportResult>> importExcel(FileChannel channel, ImportParams params,
+                                                                  List<ExcelSheetImport<?>> sheets,
+                                                                  ExcelImportOptions options) {
+        return importSheets(ImportSource.of(channel), params, sheets, options);
+    }
+
+    private RespResult<Map<String, ExcelImportResult>> importSheets(ImportSource source, ImportParams params,
+                                                                    List<ExcelSheetImport<?>> sheets,
+                                                                    ExcelImportOptions options) {
+        Assert.notEmpty(sheets, "sheets不可以为空");
+        long start = ExcelMetrics.start();
+        Map<String, ExcelImportResult> results = new LinkedHashMap<>();
+        // 当前正在解析的sheet
+        ExcelImportPipeline<?>[] current = new ExcelImportPipeline<?>[1];
+        List<ExcelImportPipeline<?>> pipelines = new ArrayList<>(sheets.size());
+        try {
+            String fileName = params.getFileName();
+            if (fileName == null || !fileName.matches("^.+\\.(?i)(xls|xlsx|csv|tsv)$")) {
+                return HabErrorType.HAB_2412;
+            }
+            checkSheetMappings(sheets);
+            // 已匹配到sheet的映射
+            Set<ExcelSheetImport<?>> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+            ExcelEventReader.SheetListenerFactory factory = (index, name) -> {
+                if (current[0] != null) {
+                    current[0].finish();
+                    if (current[0].isStopped()) {
+                        throw ExcelImportPipeline.StopException.INSTANCE;
                     }
-                    if (value == null) {
-                        value = indexDefaultValue.get(bodyColumnIndex);
+                    current[0] = null;
+                }
+                ExcelSheetImport<?> mapping = null;
+                for (ExcelSheetImport<?> sheet : sheets) {
+                    if (sheet.matches(index, name)) {
+                        // 按名称与按下标的映射可能指向同一个sheet
+                        Assert.state(mapping == null, "sheet[" + (name == null ? index : name) + "]对应多个映射");
+                        mapping = sheet;
                     }
-                    setCellValue(cell, value, dateTimeFormatter, pattern);
-                    bodyColumnIndex++;
                 }
-                rowIndex++;
+                if (mapping == null) {
+                    return null;
+                }
+                matched.add(mapping);
+                ExcelImportPipeline<?> pipeline = sheetPipeline(mapping, params.getHeadRow(), options);
+                pipelines.add(pipeline);
+                results.put(name == null ? String.valueOf(index) : name, pipeline.getResult());
+                current[0] = pipeline;
+                return pipeline;
+            };
+            boolean stopped = false;
+            try {
+                readSheets(source, fileName, factory);
+            } catch (Exception e) {
+                // 达到错误上限或表头不一致时由解析线程中断解析
+                if (current[0] == null || !current[0].isStopped()) {
+                    throw e;
+                }
+                stopped = true;
             }
-
-            if (Objects.nonNull(excelSheet.getTotalAmount())) {
-                HSSFRow row = sheet.createRow(rowIndex);
-                HSSFCell cell = row.createCell(BigDecimal.ZERO.intValue());
-                cell.setCellValue(excelSheet.getTotal());
-                cell.setCellStyle(style);
-                HSSFCell hssfCell = row.createCell(excelSheet.getIndex());
-                hssfCell.setCellValue(excelSheet.getTotalAmount().toString());
-                hssfCell.setCellStyle(style);
-                //合并列
-                CellRangeAddress address = new CellRangeAddress(rowIndex, rowIndex, BigDecimal.ZERO.intValue(),
-                        (BigDecimal.valueOf(excelSheet.getIndex()).subtract(BigDecimal.ONE)).intValue());
-                sheet.addMergedRegion(address);
-                if (excelSheet.getIndex() < (BigDecimal.valueOf(headcolumnIndex).subtract(BigDecimal.ONE)).intValue()) {
-                    CellRangeAddress cellAddresses = new CellRangeAddress(rowIndex, rowIndex, excelSheet.getIndex(), (BigDecimal.valueOf(headcolumnIndex).subtract(BigDecimal.ONE)).intValue());
-                    sheet.addMergedRegion(cellAddresses);
+            if (current[0] != null) {
+                current[0].finish();
+            }
+            if (!stopped && matched.size() < sheets.size()) {
+                return HabErrorType.HAB_2414;
+            }
+            StringBuilder errorMsg = new StringBuilder();
+            for (Map.Entry<String, ExcelImportResult> entry : results.entrySet()) {
+                if (entry.getValue().hasErrors()) {
+                    errorMsg.append(entry.getKey()).append(':').append(entry.getValue().getErrorMessage());
                 }
             }
-
-            // 设定自动宽度
-            for (int i = 0; i < indexMap.size(); i++) {
-                sheet.autoSizeColumn(i);
+            if (errorMsg.length() > 0) {
+                return RespResult.build(HabErrorType.HAB_2415, results, errorMsg.toString());
+            }
+            return RespResult.build(results);
+        } catch (Exception e) {
+            if (current[0] != null) {
+                current[0].cancel();
             }
+            throw new RuntimeException(e);
+        } finally {
+            int parsed = 0;
+            int rejected = 0;
+            for (ExcelImportPipeline<?> pipeline : pipelines) {
+                parsed += pipeline.getResult().getImported();
+                rejected += pipeline.getResult().getRejected();
+            }
+            ExcelMetrics.rowsParsed(parsed, rejected, start);
+            source.close();
         }
     }
 
-    private static void setCellValue(HSSFCell cell, Object value, DateTimeFormatter dateTimeFormatter, String pattern) {
-        String textValue = null;
-        if (value instanceof Integer) {
-            int intValue = (Integer) value;
-            cell.setCellValue(intValue);
-        } else if (value instanceof Float) {
-            float fValue = (Float) value;
-            cell.setCellValue(fValue);
-        } else if (value instanceof Double) {
-            double dValue = (Double) value;
-            cell.setCellValue(dValue);
-        } else if (value instanceof Long) {
-            long longValue = (Long) value;
-            cell.setCellValue(longValue);
-        } else if (value instanceof Boolean) {
-            boolean bValue = (Boolean) value;
-            cell.setCellValue(bValue);
-        } else if (value instanceof Date) {
-            Date date = (Date) value;
-            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-            textValue = sdf.format(date);
-        } else if (value instanceof LocalDate) {
-            if (dateTimeFormatter != null) {
-                textValue = ((LocalDate) value).format(dateTimeFormatter);
+    /**
+     * @description 同一sheet名称或下标只能映射一次
+     */
+    private static void checkSheetMappings(List<ExcelSheetImport<?>> sheets) {
+        Set<String> names = new HashSet<>();
+        Set<Integer> indexes = new HashSet<>();
+        for (ExcelSheetImport<?> sheet : sheets) {
+            Assert.notNull(sheet, "sheet映射不能为空");
+            if (sheet.getSheetName() != null) {
+                Assert.state(names.add(sheet.getSheetName()), "sheet映射重复:" + sheet.getSheetName());
             } else {
-                textValue = value.toString();
+                Assert.state(sheet.getSheetIndex() != null, "sheet映射需要指定名称或下标");
+                Assert.state(indexes.add(sheet.getSheetIndex()), "sheet映射重复:" + sheet.getSheetIndex());
             }
-        } else if (value instanceof LocalDateTime) {
-            if (dateTimeFormatter != null) {
-                textValue = ((LocalDateTime) value).format(dateTimeFormatter);
-            } else {
-                textValue = value.toString();
+        }
+    }
+
+    private static <T> ExcelImportPipeline<T> sheetPipeline(ExcelSheetImport<T> sheet, int defaultHeadRow,
+                                                            ExcelImportOptions options) {
+        int headRow = sheet.getHeadRow() == null ? defaultHeadRow : sheet.getHeadRow();
+        return ExcelImportPipeline.common(sheet.getPojoClass(), headRow, sheet.getValidator(), sheet.getHandler(),
+                options);
+    }
+
+    /**
+     * @description 按文件扩展名选择事件解析方式, 一次遍历读取多个sheet, csv/tsv只有下标为0的一个sheet
+     * @return 读取的sheet数
+     */
+    private static int readSheets(ImportSource source, String fileName, ExcelEventReader.SheetListenerFactory factory)
+            throws Exception {
+        if (fileName.matches("^.+\\.(?i)(csv|tsv)$")) {
+            ExcelEventReader.RawRowListener listener = factory.forSheet(0, null);
+            if (listener == null) {
+                return 0;
             }
-        } else {
-            // 其它数据类型都当作字符串简单处理
-            textValue = value == null ? String.valueOf("") : value.toString();
+            CsvOptions options = fileName.matches("^.+\\.(?i)(tsv)$") ? CsvOptions.tsv() : CsvOptions.csv();
+            ExcelCsvReader.read(source.openStream(), options, listener);
+            return 1;
         }
-        if (textValue != null) {
-            HSSFRichTextString richString = new HSSFRichTextString(textValue);
-            cell.setCellValue(richString);
+        if (fileName.matches("^.+\\.(?i)(xlsx)$")) {
+            return ExcelEventReader.readXlsx(source.openPackage(), factory);
         }
+        return ExcelEventReader.readXls(source.openFileSystem(), factory);
     }
 
-    private static boolean isBlank(String str) {
-        if (str == null) {
+    /**
+     * @description 按文件扩展名选择事件解析方式, 逐行回调原始单元格值
+     * @return sheet不存在时返回false
+     */
+    private static boolean readRows(ImportSource source, String fileName, int sheetNum,
+                                    ExcelEventReader.RawRowListener listener) throws Exception {
+        if (fileName.matches("^.+\\.(?i)(csv|tsv)$")) {
+            CsvOptions options = fileName.matches("^.+\\.(?i)(tsv)$") ? CsvOptions.tsv() : CsvOptions.csv();
+            ExcelCsvReader.read(source.openStream(), options, listener);
             return true;
         }
-        return str.length() == 0;
+        if (fileName.matches("^.+\\.(?i)(xlsx)$")) {
+            return ExcelEventReader.readXlsx(source.openPackage(), sheetNum, listener);
+        }
+        return ExcelEventReader.readXls(source.openFileSystem(), sheetNum, listener);
     }
 
-    protected static boolean isNotBlank(String str) {
-        return !isBlank(str);
-    }
+    /**
+     * 导入文件来源. 本地文件按随机访问打开(xlsx使用ZipFile, xls使用文件映射的POIFS), 不在堆中缓冲整个文件;
+     * 输入流只能整体读入内存后解析. 打开的包及文件系统在{@link #close()}时只读释放, 不回写文件
+     */
+    private static final class ImportSource {
+        private final InputStream is;
+        private final Path path;
+        private final FileChannel channel;
+        private InputStream opened;
+        private OPCPackage pkg;
+        private POIFSFileSystem fs;
+        /**流转存的临时文件, 关闭时删除*/
+        private Path spooled;
 
+        private ImportSource(InputStream is, Path path, FileChannel channel) {
+            this.is = is;
+            this.path = path;
+            this.channel = channel;
+        }
 
+        static ImportSource of(InputStream is) {
+            return new ImportSource(is, null, null);
+        }
 
-    @Data
-    public static class ExcelSheet<C> {
-        private String sheetName;
-        //如果没有数据要设置表头，有数据时，以注解上的name为准
-        private List<String> header;
-        private List<C> dataset;
-        private Boolean oper;
-        //订单观察
-        private List<Map<String, List<OberDownloadVO>>> dataOber;
-        private Integer maxSmartSize;
-        //目标达成分析
-        private Boolean chart = Boolean.TRUE;
-        //账单
-        private BigDecimal totalAmount;
-        private String total;
-        private Integer index;
-    }
+        static ImportSource of(Path path) {
+            Assert.notNull(path, "文件路径不能为空");
+            return new ImportSource(null, path, null);
+        }
 
-    /**
-     * @Author: chengh@jointwisdom.cn<BR>
-     * @Description: Excel导入。对象属性请定义为包装类型 <BR>
-     * @Date: 2019/3/14 16:24 <BR>
-     * @Param: [is, pojoClass, params] <BR>
-     * @return: cn.jointwisdom.mrad.commons.api.constant.RespResult<java.util.List < T>> <BR>
-     **/
-    public <T> RespResult<List<T>> importExcel(InputStream is, Class<?> pojoClass, ImportParams params) {
-        try {
-            // 错误信息接收器
-            StringBuilder errorMsg = new StringBuilder();
-            String fileName = params.getFileName();
-            if (!fileName.matches("^.+\\.(?i)(xls)$") && !fileName.matches("^.+\\.(?i)(xlsx)$")) {
-                return HabErrorType.HAB_2412;
-            }
-            Workbook wb;
-            if (fileName.matches("^.+\\.(?i)(xlsx)$")) {
-                wb = new XSSFWorkbook(is);
-            } else {
-                wb = new HSSFWorkbook(is);
-            }
-            Sheet sheet = wb.getSheetAt(params.getSheetNum());
-            if (sheet == null) {
-                return HabErrorType.HAB_2414;
+        static ImportSource of(FileChannel channel) {
+            Assert.notNull(channel, "文件通道不能为空");
+            return new ImportSource(null, null, channel);
+        }
+
+        InputStream openStream() throws IOException {
+            if (path != null) {
+                opened = Files.newInputStream(path);
+                return opened;
             }
-            List<T> resultList = new ArrayList<>();
-            // 得到Excel的行数
-            int totalRows = sheet.getPhysicalNumberOfRows();
-            // 总列数
-            int totalCells = 0;
-            // 得到Excel的列数(前提是有行数)，从第1行算起
-            int firstDataRow = params.getHeadRow() + 1;
-            if (totalRows >= firstDataRow && sheet.getRow(firstDataRow) != null) {
-                totalCells = sheet.getRow(firstDataRow).getPhysicalNumberOfCells();
+            return channel != null ? Channels.newInputStream(channel) : is;
+        }
+
+        /**
+         * @description 打开xlsx包, 按文件随机访问打开. 流及FileChannel先转存为临时文件,
+         * 否则POI会把整个zip包读入堆中
+         */
+        OPCPackage openPackage() throws Exception {
+            pkg = OPCPackage.open(path != null ? path.toFile() : spool().toFile(), PackageAccess.READ);
+            return pkg;
+        }
+
+        /**
+         * @description 打开xls文件系统, 按文件随机访问打开. 流先转存为临时文件, 否则POI会把整个文件读入堆中
+         */
+        POIFSFileSystem openFileSystem() throws IOException {
+            if (path != null) {
+                fs = new POIFSFileSystem(path.toFile(), true);
+            } else if (channel != null) {
+                fs = new POIFSFileSystem(channel, true);
             } else {
-                return HabErrorType.HAB_2413;
+                fs = new POIFSFileSystem(spool().toFile(), true);
             }
-            for (int r = 1; r <= sheet.getLastRowNum(); r++) {
-                StringBuilder rowMessage = new StringBuilder();
-                Row row = sheet.getRow(r);
-                if (row == null) {
-                    errorMsg.append("第" + (r + 1) + "行数据有问题,请仔细检查!");
-                    continue;
-                }
-                if (isRowEmpty(row)) {
-                    continue;
-                }
+            return fs;
+        }
 
-                T pojo = (T) pojoClass.newInstance();
+        /**
+         * @description 将流转存为临时文件, 堆内存只占用复制缓冲区
+         */
+        private Path spool() throws IOException {
+            spooled = Files.createTempFile(ExcelUtil.class.getPackage().getName(), ".import");
+            try (InputStream in = openStream()) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return spooled;
+        }
 
-                // 循环Excel的列
-                for (int c = 0; c < totalCells; c++) {
-                    Cell cell = row.getCell(c);
-                    if (null != cell) {
-                        Object cellValue = this.getCellFormatValue(cell);
-                        Field[] fields = pojo.getClass().getDeclaredFields();
-                        for (Field field : fields) {
-                            //若字段值需要转换为其它类型，通过该注解进行转换
-                            ExcelEnum annotationEnum = field.getAnnotation(ExcelEnum.class);
-                            if (annotationEnum != null) {
-                                int index = annotationEnum.index();
-                                if (index - 1 == c) {
-                                    Type genericType = field.getGenericType();
-                                    if ("class java.lang.String".equals(genericType.toString())) {
-                                        cellValue = String.valueOf(cellValue);
-                                    } else if ("class java.lang.Integer".equals(genericType.toString())) {
-                                        cellValue = String.valueOf(cellValue);
-                                    } else if ("class java.lang.Boolean".equals(genericType.toString())) {
-                                        cellValue = String.valueOf(cellValue);
-                                    }
-
-                                    Class aClass = Class.forName(annotationEnum.className());
-                                    Method method = aClass.getMethod(annotationEnum.methodName(), String.class);
-                                    Object cellEnum = method.invoke(null, cellValue);
-
-                                    field.setAccessible(true);
-                                    field.set(pojo, cellEnum);
-                                }
-                                continue;
-                            }
+        Workbook openWorkbook(boolean xlsx) throws Exception {
+            return xlsx ? new XSSFWorkbook(openPackage()) : new HSSFWorkbook(openFileSystem());
+        }
 
-                            Excel annotation = field.getAnnotation(Excel.class);
-                            if (annotation != null) {
-                                int index = annotation.index();
-                                if (index - 1 == c) {
-                                    Type genericType = field.getGenericType();
-                                    if ("class java.lang.String".equals(genericType.toString())) {
-                                        cellValue = String.valueOf(cellValue);
-                                    } else if ("class java.time.LocalDate".equals(genericType.toString())) {
-                                        cellValue = LocalDateUtil.utilDateToLocalDate((Date) cellValue);
-                                    } else if ("class java.time.LocalDateTime".equals(genericType.toString())) {
-                                        cellValue = LocalDateUtil.utilDateToLocalDateTime((Date) cellValue);
-                                    } else if ("class java.math.BigDecimal".equals(genericType.toString())) {
-                                        cellValue = new BigDecimal(String.valueOf(cellValue));
-                                    } else if ("class java.util.Date".equals(genericType.toString())) {
-                                        cellValue = (Date) cellValue;
-                                    } else if ("class java.lang.Integer".equals(genericType.toString())) {
-                                        cellValue = Integer.valueOf(String.valueOf(cellValue));
-                                    } else if ("class java.lang.Double".equals(genericType.toString())) {
-                                        cellValue = Double.valueOf(String.valueOf(cellValue));
-                                    } else if ("class java.lang.Boolean".equals(genericType.toString())) {
-                                        cellValue = Boolean.valueOf(String.valueOf(cellValue));
-                                    } else if ("class java.lang.Short".equals(genericType.toString())) {
-                                        cellValue = Short.valueOf(String.valueOf(cellValue));
-                                    } else if ("class java.lang.Long".equals(genericType.toString())) {
-                                        cellValue = Long.valueOf(String.valueOf(cellValue));
-                                    }
-                                    field.setAccessible(true);
-                                    field.set(pojo, cellValue);
-                                }
-                            }
-                        }
-                    }
+        void close() {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            closeQuietly(fs);
+            closeQuietly(opened);
+            closeQuietly(is);
+            closeQuietly(channel);
+            if (spooled != null) {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    LG.warn("临时文件删除失败:{}", spooled, e);
                 }
-                // 拼接每行的错误提示
-                if (!StringUtils.isEmpty(rowMessage.toString())) {
-                    errorMsg.append("第" + (r + 1) + "行," + rowMessage);
+            }
+        }
+
+        private static void closeQuietly(Closeable closeable) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    LG.warn("导入文件关闭失败", e);
                 }
-                resultList.add(pojo);
             }
-            if (!resultList.isEmpty() && StringUtils.isEmpty(errorMsg.toString())) {
-                return RespResult.build(resultList);
+        }
+    }
+
+    /**
+     * @description CSV/TSV流式导入, 与xls/xlsx导入使用相同的@Excel列序号及类型转换, 文本日期支持yyyy/MM/dd与yyyy-MM-dd
+     * @param is        文件流
+     * @param pojoClass 绑定对象类型
+     * @param params    导入参数, sheetNum不生效
+     * @param options   分隔符、字符集等CSV参数
+     * @param handler   行回调
+     * @return 成功时返回导入的行数
+     */
+    public <T> RespResult<Integer> importCsv(InputStream is, Class<T> pojoClass, ImportParams params, CsvOptions options,
+                                             ExcelRowHandler<T> handler) {
+        long start = ExcelMetrics.start();
+        // 导入行数, 绑定失败行数
+        int[] count = new int[2];
+        try {
+            ExcelCsvReader.read(is, options, bindingListener(pojoClass, params.getHeadRow(), handler, count));
+            if (count[0] == 0) {
+                return HabErrorType.HAB_2413;
             }
-            return RespResult.build(HabErrorType.HAB_2415, Collections.emptyList(), errorMsg.toString());
+            return RespResult.build(count[0]);
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
+            ExcelMetrics.rowsParsed(count[0], count[1], start);
             if (is != null) {
                 try {
                     is.close();
                 } catch (IOException e) {
-                    e.printStackTrace();
+                    LG.warn("导入文件关闭失败", e);
                 }
             }
         }
     }
 
-    private Object getCellFormatValue(Cell cell) {
-        Object cellValue = null;
-        if (cell != null) {
-            //判断cell类型
-            switch (cell.getCellType()) {
-                case NUMERIC: {
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        //转换为日期格式YYYY-mm-dd
-                        cellValue = cell.getDateCellValue();
-                    } else {
-                        //将数值型cell设置为string型
-                        cell.setCellType(CellType.STRING);
-                        cellValue = cell.getStringCellValue();
-                    }
-                    break;
-                }
-                case FORMULA: {
-                    //判断cell是否为日期格式
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        //转换为日期格式YYYY-mm-dd
-                        cellValue = cell.getDateCellValue();
-                    } else {
-                        //数字
-                        cellValue = String.valueOf(cell.getNumericCellValue());
+    /**
+     * @description 将原始行绑定为对象并回调handler, 绑定计划按表头行的列数确定, 没有表头行时不限制列数
+     * @param pojoClass 绑定对象类型
+     * @param headRow   表头行下标, 该行及之前的行不导入
+     * @param handler   行回调
+     * @param count     [导入行数, 绑定失败行数]
+     * @return
+     */
+    private static <T> ExcelEventReader.RawRowListener bindingListener(Class<T> pojoClass, int headRow,
+                                                                       ExcelRowHandler<T> handler, int[] count) {
+        ExcelImportPlan[] plan = new ExcelImportPlan[1];
+        return (rowNum, values) -> {
+            if (rowNum == headRow) {
+                plan[0] = ExcelImportPlan.of(pojoClass, values.length);
+            }
+            if (rowNum <= headRow || isRowEmpty(values)) {
+                return;
+            }
+            if (plan[0] == null) {
+                plan[0] = ExcelImportPlan.of(pojoClass, ExcelImportPlan.ALL_COLUMNS);
+            }
+            T pojo;
+            try {
+                pojo = plan[0].newInstance();
+                for (int c = 0; c < values.length; c++) {
+                    if (values[c] != null) {
+                        plan[0].bind(pojo, c, values[c]);
                     }
-                    break;
                 }
-                case STRING: {
-                    cellValue = cell.getRichStringCellValue().getString();
-                    break;
-                }
-                default:
-                    cellValue = "";
+            } catch (RuntimeException e) {
+                count[1]++;
+                throw e;
+            } catch (Exception e) {
+                count[1]++;
+                throw new RuntimeException(e);
+            }
+            handler.handle(rowNum, pojo);
+            count[0]++;
+        };
+    }
+
+    static boolean isRowEmpty(Object[] values) {
+        for (Object value : values) {
+            if (value != null && !"".equals(value)) {
+                return false;
             }
-        } else {
-            cellValue = "";
         }
-        return cellValue;
+        return true;
     }
 
     private boolean isRowEmpty(Row row) {
@@ -613,59 +1601,76 @@ public class ExcelUtil {
      * @param sheetName
      * @param dgList
      * @return
-     * @description 绘制列数量不固定表格, 该表格需要格式化好内容以list<String>形式传入数据
+     * @description 绘制列数量不固定表格, 该表格需要格式化好内容以list<String>形式传入数据,
+     * 设置dataSource时按需拉取行数据, 优先于dataList
      * @author yanzhen
      * @date 2020/4/9 17:31
      */
     public static <T> void fillAutoColuSizeDataGrid(ExcelVO excelVo, String sheetName, List<ExcelVO.DataGridVo> dgList, boolean hasBorder) {
-        HSSFCellStyle frameStyle = getFrameStyle(excelVo);
+        long start = ExcelMetrics.start();
+        long rows = 0;
+        long cells = 0;
+        long gridRows = 0;
+        long gridCells = 0;
+        for (ExcelVO.DataGridVo dataGridVo : dgList) {
+            ExcelDataSource<List<String>> dataSource = dataGridVo.getDataSource();
+            if (dataSource != null) {
+                // 数据源只能遍历一次, 列数未知, 只按已知行数估算; 未提供行数时无法预先估算
+                gridRows += Math.max(dataSource.size(), 0);
+                continue;
+            }
+            List<List<String>> dataList = dataGridVo.getDataList();
+            Assert.state(dataList != null, "表格数据不能为空, 请设置dataList或dataSource");
+            gridRows += dataList.size();
+            for (List<String> columnList : dataList) {
+                gridCells += columnList.size();
+            }
+        }
+        // 内容均为文本
+        ExcelExportPlanner.admitGrid(excelVo, gridRows, gridCells, gridCells);
+        HSSFCellStyle frameStyle = hasBorder ? getFrameStyle(excelVo) : null;
+        ExcelVO.SheetHandle sheet = excelVo.getSheetHandle(sheetName);
         for (int i = 0; i < dgList.size(); i++) {
             ExcelVO.DataGridVo dataGridVo = dgList.get(i);
             //依次绘制每个表格
-            List<List<String>> dataList = dataGridVo.getDataList();
+            ExcelDataSource<List<String>> dataSource = dataGridVo.getDataSource() != null
+                    ? dataGridVo.getDataSource() : ExcelDataSource.of((List<List<String>>) dataGridVo.getDataList());
             //获取起始行
             int startRowIdx = dataGridVo.getStartRowIdx();
-            for (int x = 0; x < dataList.size(); x++) {
-                //获取到每一行数据
-                List<String> columnList = dataList.get(x);
-                //遍历一行数据
-                //获取起始列
-                int startColIdx = dataGridVo.getStartColIdx();
-                for (int index = 0; index < columnList.size(); index++) {
-                    HSSFCell cell = excelVo.getCell(sheetName, startRowIdx, startColIdx);
-                    //获取当前列内容
-                    String cellValue = columnList.get(index);
-                    cell.setCellValue(cellValue);
-                    if(hasBorder){
-                        cell.setCellStyle(frameStyle);
+            try (ExcelDataSource<List<String>> dataRows = dataSource) {
+                Iterator<List<String>> dataList = dataRows.iterator();
+                while (dataList.hasNext()) {
+                    //获取到每一行数据
+                    List<String> columnList = dataList.next();
+                    //遍历一行数据
+                    //获取起始列
+                    int startColIdx = dataGridVo.getStartColIdx();
+                    for (int index = 0; index < columnList.size(); index++) {
+                        HSSFCell cell = sheet.getCell(startRowIdx, startColIdx);
+                        //获取当前列内容
+                        String cellValue = columnList.get(index);
+                        cell.setCellValue(cellValue);
+                        if (frameStyle != null) {
+                            cell.setCellStyle(frameStyle);
+                        }
+                        startColIdx++;
                     }
-                    startColIdx++;
+                    startRowIdx++;
+                    cells += columnList.size();
+                    rows++;
                 }
-                startRowIdx++;
             }
         }
+        ExcelMetrics.rowsWritten(rows, cells, start);
     }
 
     public static <T> void createSingleRowHeader(ExcelVO excelVo, String sheetName, Class<T> tClass, HSSFCellStyle style) {
-        Map<Integer, Field> indexMap = new TreeMap<>();
-        Map<Integer, String> indexHeaderMap = new TreeMap<>();
-        Field[] declaredFields = tClass.getDeclaredFields();
-        for (Field field : declaredFields) {
-            if (field.isAnnotationPresent(Excel.class)) {
-                Excel annotation = field.getAnnotation(Excel.class);
-                if (indexMap.get(annotation.index()) == null) {
-                    indexMap.put(annotation.index(), null);
-                    indexHeaderMap.put(annotation.index(), annotation.name());
-                } else {
-                    throw new RuntimeException("重复的列序号!");
-                }
-            }
-        }
-        Integer rowIndex = 0;
-        Integer headcolumnIndex = 0;
-        for (Map.Entry<Integer, String> entry : indexHeaderMap.entrySet()) {
-            HSSFCell cell = excelVo.getCell(sheetName, rowIndex, headcolumnIndex);
-            String value = entry.getValue();
+        List<String> headers = ExcelColumnPlan.of(tClass).getHeaders();
+        ExcelVO.SheetHandle sheet = excelVo.getSheetHandle(sheetName);
+        int rowIndex = 0;
+        int headcolumnIndex = 0;
+        for (String value : headers) {
+            HSSFCell cell = sheet.getCell(rowIndex, headcolumnIndex);
             HSSFRichTextString text = new HSSFRichTextString(value);
             if (Objects.nonNull(style)) {
                 cell.setCellStyle(style);
@@ -688,26 +1693,25 @@ public class ExcelUtil {
      */
     public static <T> void fillFixColuSizeDataGrid(ExcelVO excelVo, String sheetName, List<ExcelVO.DataGridVo> dgList) {
         //同一个sheet绘制多个表格
-        int count = 0;
+        ExcelVO.SheetHandle sheet = excelVo.getSheetHandle(sheetName);
         for (int i = 0; i < dgList.size(); i++) {
             ExcelVO.DataGridVo dataGridVo = dgList.get(i);
-            //顺序
-            Map<Integer, Field> indexMap = new TreeMap<>();
-            //默认值
-            Map<Integer, String> indexDefaultValue = new TreeMap<>();
-            Map<Integer, String> indexHeaderMap = new TreeMap<>();
-            List<T> dataList = dataGridVo.getDataList();
-            /**解析@excel注解 填充内容至对应map中*/
-            parseExcelAnno(dataGridVo.getTClass(), indexMap, indexDefaultValue, indexHeaderMap);
+            ExcelDataSource<T> dataSource = dataGridVo.getDataSource() != null
+                    ? dataGridVo.getDataSource() : ExcelDataSource.of((List<T>) dataGridVo.getDataList());
+            /**获取@excel注解解析结果, 每个类只解析一次*/
+            List<ExcelColumnPlan.Column> columns = ExcelColumnPlan.of(dataGridVo.getTClass()).getColumns();
+            // 数据源未提供行数时无法预先估算
+            long gridRows = Math.max(dataSource.size(), 0) + (dataGridVo.getIncludeBaseheader() ? 1 : 0);
+            ExcelExportPlanner.admitGrid(excelVo, gridRows, gridRows * columns.size(),
+                    gridRows * ExcelExportPlanner.countTextColumns(columns));
 
             //绘制标题行
             if (dataGridVo.getIncludeBaseheader()) {
-                Integer rowIndex = dataGridVo.getStartRowIdx();
-                Integer headcolumnIndex = dataGridVo.getStartColIdx();
-                for (Map.Entry<Integer, String> entry : indexHeaderMap.entrySet()) {
-                    HSSFCell cell = excelVo.getCell(sheetName, rowIndex, headcolumnIndex);
-                    String value = entry.getValue();
-                    HSSFRichTextString text = new HSSFRichTextString(value);
+                int rowIndex = dataGridVo.getStartRowIdx();
+                int headcolumnIndex = dataGridVo.getStartColIdx();
+                for (ExcelColumnPlan.Column column : columns) {
+                    HSSFCell cell = sheet.getCell(rowIndex, headcolumnIndex);
+                    HSSFRichTextString text = new HSSFRichTextString(column.getName());
                     if (Objects.nonNull(dataGridVo.getHeaderStyle())) {
                         cell.setCellStyle(dataGridVo.getHeaderStyle());
                     }
@@ -716,94 +1720,82 @@ public class ExcelUtil {
                 }
                 rowIndex++;
             }
-            if (CollectionUtils.isEmpty(dataList)) {
-                return;
-            }
-
-
-            int rowIdx = dataGridVo.getIncludeBaseheader() ? dataGridVo.getStartRowIdx() + 1 : dataGridVo.getStartRowIdx();
-            HSSFCellStyle frameStyle = getFrameStyle(excelVo);
-            for (T t : dataList) {
-                int bodyColumnIndex = dataGridVo.getStartColIdx();
-                for (Map.Entry<Integer, Field> entry : indexMap.entrySet()) {
-                    HSSFCell cell = excelVo.getCell(sheetName, rowIdx, bodyColumnIndex);
-                    Field field = entry.getValue();
-                    field.setAccessible(true);
-                    Object value = null;
-                    try {
-                        value = field.get(t);
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                    if (value == null) {
-                        value = indexDefaultValue.get(bodyColumnIndex);
-                    }
-                    if(dataGridVo.getHasBorder()){
-                        cell.setCellStyle(frameStyle);
-                        count++;
-                    }
-                    setCellValue(cell, value, dataGridVo.getDateTimeFormatter(), dataGridVo.getDatePattern());
-                    bodyColumnIndex++;
+            try (ExcelDataSource<T> rows = dataSource) {
+                Iterator<T> dataList = rows.iterator();
+                if (!dataList.hasNext()) {
+                    return;
                 }
-                rowIdx++;
-
+                int rowIdx = dataGridVo.getIncludeBaseheader() ? dataGridVo.getStartRowIdx() + 1 : dataGridVo.getStartRowIdx();
+                long start = ExcelMetrics.start();
+                int rowCount = fillDataRows(excelVo, sheet, dataGridVo, columns, dataList, rowIdx);
+                ExcelMetrics.rowsWritten(rowCount, (long) rowCount * columns.size(), start);
             }
-            System.out.println("总共设置了:"+count);
-            log.info("总共设置了:"+count);
         }
 
 
     }
 
     /**
-     * @param tClass
-     * @param indexMap
-     * @param indexDefaultValue
-     * @param indexHeaderMap
-     * @return
-     * @description 解析输入对象的@Excel注解 输出对应map
-     * @author yanzhen
-     * @date 2020/4/9 14:06
-     */
-    private static <T> void parseExcelAnno(Class<T> tClass, Map<Integer, Field> indexMap, Map<Integer, String> indexDefaultValue, Map<Integer, String> indexHeaderMap) {
-        Field[] declaredFields = tClass.getDeclaredFields();
-        for (Field field : declaredFields) {
-            Excel annotation = field.getAnnotation(Excel.class);
-            if (annotation != null) {
-                if (indexMap.get(annotation.index()) == null) {
-                    indexMap.put(annotation.index(), field);
-                    indexDefaultValue.put(annotation.index(), annotation.defaultValue());
-                    indexHeaderMap.put(annotation.index(), annotation.name());
-                } else {
-                    throw new RuntimeException("重复的列序号!");
+     * @description 逐行写入表格内容, 返回写入的行数
+     */
+    private static <T> int fillDataRows(ExcelVO excelVo, ExcelVO.SheetHandle sheet, ExcelVO.DataGridVo dataGridVo,
+                                        List<ExcelColumnPlan.Column> columns, Iterator<T> dataList, int rowIdx) {
+        int count = 0;
+        // 有边框时单元格创建后直接使用共享的边框样式, 不再单独遍历
+        HSSFCellStyle frameStyle = dataGridVo.getHasBorder() ? getFrameStyle(excelVo) : null;
+        ExcelCellWriter cellWriter = new ExcelCellWriter(excelVo.getStylePool(), dataGridVo.getDateTimeFormatter(),
+                dataGridVo.getDatePattern(), !Boolean.FALSE.equals(dataGridVo.getTypedCell()));
+        while (dataList.hasNext()) {
+            T t = dataList.next();
+            int bodyColumnIndex = dataGridVo.getStartColIdx();
+            for (ExcelColumnPlan.Column column : columns) {
+                HSSFCell cell = sheet.getCell(rowIdx, bodyColumnIndex);
+                Object value = column.getValue(t);
+                if (value == null) {
+                    value = column.getDefaultValue();
+                }
+                if (frameStyle != null) {
+                    cell.setCellStyle(frameStyle);
                 }
+                cellWriter.setCellValue(cell, value);
+                bodyColumnIndex++;
             }
+            rowIdx++;
+            count++;
         }
+        return count;
     }
 
-
     /**
      * @param excelVo
      * @param sheetName
      * @param cellRangeVoList
      * @return
-     * @description 单元格合并功能 用于绘制表头表尾
+     * @description 单元格合并功能 用于绘制表头表尾. 整批合并区域一次性检查重叠后再注册,
+     * 有重叠时抛出IllegalStateException, 不写入任何单元格
      * @author yanzhen
      * @date 2020/4/9 13:20
      */
     public static void mergeCell(ExcelVO excelVo, String sheetName, List<ExcelVO.CellRangeVo> cellRangeVoList) {
-        HSSFSheet sheet = excelVo.getSheet(sheetName);
+        long start = ExcelMetrics.start();
+        ExcelVO.SheetHandle handle = excelVo.getSheetHandle(sheetName);
+        HSSFSheet sheet = handle.getSheet();
+        List<CellRangeAddress> addresses = new ArrayList<>(cellRangeVoList.size());
+        for (ExcelVO.CellRangeVo cellRangeVo : cellRangeVoList) {
+            addresses.add(new CellRangeAddress(cellRangeVo.getFirstRow(), cellRangeVo.getLastRow(),
+                    cellRangeVo.getFirstCol(), cellRangeVo.getLastCol()));
+        }
+        ExcelMergedRegions.check(sheet, addresses);
         for (int i = 0; i < cellRangeVoList.size(); i++) {
             ExcelVO.CellRangeVo cellRangeVo = cellRangeVoList.get(i);
-            HSSFCell cell = excelVo.getCell(sheetName, cellRangeVo.getFirstRow(), cellRangeVo.getFirstCol());
+            HSSFCell cell = handle.getCell(cellRangeVo.getFirstRow(), cellRangeVo.getFirstCol());
             if (Objects.nonNull(cellRangeVo.getStyle())) {
                 cell.setCellStyle(cellRangeVo.getStyle());
             }
             cell.setCellValue(cellRangeVo.getCellText());
-            CellRangeAddress address = new CellRangeAddress(cellRangeVo.getFirstRow(), cellRangeVo.getLastRow(),
-                    cellRangeVo.getFirstCol(), cellRangeVo.getLastCol());
-            sheet.addMergedRegion(address);
+            sheet.addMergedRegionUnsafe(addresses.get(i));
         }
+        ExcelMetrics.phase(ExcelPhase.MERGE, start);
     }
 
     /**
@@ -817,12 +1809,72 @@ public class ExcelUtil {
      * @date 2020/4/9 16:29
      */
     public static void setColumnAutoSize(ExcelVO excelVo, String sheetName, int startColumnIdx, int endColumnIdx) {
+        long start = ExcelMetrics.start();
         HSSFSheet sheet = excelVo.getSheet(sheetName);
         for (int i = startColumnIdx; i <= endColumnIdx; i++) {
             sheet.autoSizeColumn(i);
         }
+        ExcelMetrics.phase(ExcelPhase.SIZE_COLUMNS, start);
+    }
+
+
+    /**
+     * @param excelVo
+     * @param sheetName
+     * @param startColumnIdx
+     * @param endColumnIdx
+     * @param sampleRows     参与计算的行数, 小于等于0时计算所有行
+     * @return
+     * @description 按单元格显示长度估算列宽, 不依赖字体渲染, 跳过跨列合并的单元格
+     */
+    public static void setColumnEstimatedSize(ExcelVO excelVo, String sheetName, int startColumnIdx, int endColumnIdx,
+                                              int sampleRows) {
+        long start = ExcelMetrics.start();
+        HSSFSheet sheet = excelVo.getSheet(sheetName);
+        Set<Long> mergedCells = new HashSet<>();
+        for (CellRangeAddress region : sheet.getMergedRegions()) {
+            if (region.getFirstColumn() != region.getLastColumn()) {
+                mergedCells.add(((long) region.getFirstRow() << 32) | region.getFirstColumn());
+            }
+        }
+        ColumnWidthEstimator estimator = new ColumnWidthEstimator(
+                sampleRows > 0 ? ColumnWidthStrategy.SAMPLE : ColumnWidthStrategy.EXACT, sampleRows);
+        for (Row row : sheet) {
+            if (!estimator.isTracking()) {
+                break;
+            }
+            int lastCol = Math.min(endColumnIdx, row.getLastCellNum() - 1);
+            for (int col = Math.max(startColumnIdx, row.getFirstCellNum()); col <= lastCol; col++) {
+                Cell cell = row.getCell(col);
+                if (cell == null || (!mergedCells.isEmpty()
+                        && mergedCells.contains(((long) row.getRowNum() << 32) | col))) {
+                    continue;
+                }
+                estimator.track(col, getDisplayText(cell));
+            }
+            estimator.endRow();
+        }
+        estimator.apply(sheet);
+        ExcelMetrics.phase(ExcelPhase.SIZE_COLUMNS, start);
     }
 
+    /**
+     * @description 获取单元格显示文本, 用于估算列宽
+     * @param cell
+     * @return
+     */
+    private static String getDisplayText(Cell cell) {
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                return NumberToTextConverter.toText(cell.getNumericCellValue());
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            default:
+                return null;
+        }
+    }
 
     /**
      * @param excelVo
@@ -834,9 +1886,10 @@ public class ExcelUtil {
      * @date 2020/4/9 16:29
      */
     public static void changeCellStyle(ExcelVO excelVo, String sheetName, List<ExcelVO.CellStyleVo> list) {
+        ExcelVO.SheetHandle sheet = excelVo.getSheetHandle(sheetName);
         for (int i = 0; i < list.size(); i++) {
             ExcelVO.CellStyleVo cellStyleVo = list.get(i);
-            HSSFCell cell = excelVo.getCell(sheetName, cellStyleVo.getRowIdx(), cellStyleVo.getColIdx());
+            HSSFCell cell = sheet.getCell(cellStyleVo.getRowIdx(), cellStyleVo.getColIdx());
             cell.setCellStyle(cellStyleVo.getStyle());
         }
     }
@@ -850,30 +1903,52 @@ public class ExcelUtil {
      * @date 2020/4/9 19:02
      */
     public static File excel2File(ExcelVO excel) {
-        OutputStream out = null;
         try {
-            String dir = System.getProperty("java.io.tmpdir");
-            if (!dir.endsWith(File.separator)) {
-                dir = dir + File.separator;
-            }
-            File file = new File(dir + ExcelUtil.class.getPackage().getName() + System.currentTimeMillis() + ".xlsx");
-            out = new FileOutputStream(file);
-            excel.getWorkbook().write(out);
+            File file = createTempFile();
+            writeTo(excel.getWorkbook(), file.toPath());
             return file;
         } catch (IOException e) {
             LG.error(e.toString(), e);
-        } finally {
-            if (out != null) {
-                try {
-                    out.close();
-                } catch (IOException e) {
-                    LG.error(e.toString(), e);
-                }
-            }
         }
         return null;
     }
 
+    /**
+     * @param excel
+     * @param out   输出流, 写入完成后不关闭
+     * @throws IOException 写入失败
+     * @description excel工作簿直接写入输出流, 不生成中间byte数组
+     * @date 2026/10/18
+     */
+    public static void excel2Stream(ExcelVO excel, OutputStream out) throws IOException {
+        Assert.notNull(out, "输出流不能为空");
+        serialize(excel.getWorkbook(), out);
+    }
+
+    /**
+     * @param excel
+     * @param channel 输出通道, 写入完成后不关闭
+     * @throws IOException 写入失败
+     * @description excel工作簿直接写入NIO通道
+     * @date 2026/10/18
+     */
+    public static void excel2Channel(ExcelVO excel, WritableByteChannel channel) throws IOException {
+        Assert.notNull(channel, "输出通道不能为空");
+        writeTo(excel.getWorkbook(), channel);
+    }
+
+    /**
+     * @param excel
+     * @param path  目标文件, 已存在时覆盖
+     * @throws IOException 写入失败
+     * @description excel工作簿通过FileChannel写入指定文件
+     * @date 2026/10/18
+     */
+    public static void excel2File(ExcelVO excel, Path path) throws IOException {
+        Assert.notNull(path, "文件路径不能为空");
+        writeTo(excel.getWorkbook(), path);
+    }
+
     /**
      * @param excel
      * @return
@@ -884,7 +1959,7 @@ public class ExcelUtil {
     public static byte[] excel2Byte(ExcelVO excel) {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try {
-            excel.getWorkbook().write(outputStream);
+            serialize(excel.getWorkbook(), outputStream);
             return outputStream.toByteArray();
         } catch (IOException e) {
             LG.error(e.toString(), e);
@@ -903,50 +1978,60 @@ public class ExcelUtil {
     /**
      * @param excelVO
      * @return
-     * @description 获取表头默认样式
+     * @description 获取表头默认样式, 样式池中的共享实例, 重复调用返回同一样式, 请勿直接修改,
+     * 需要修改时使用{@link #copyDefaultHeaderStyle}
      * @author yanzhen
      * @date 2020/4/10 11:40
      */
     public static HSSFCellStyle getDefaultHeaderStyle(ExcelVO excelVO,boolean hasBorder) {
-        HSSFCellStyle style = excelVO.getWorkbook().createCellStyle();
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setAlignment(HorizontalAlignment.CENTER);// 左右居中
-        style.setVerticalAlignment(VerticalAlignment.CENTER);// 上下居中
-        if(hasBorder){
-            style.setBorderBottom(BorderStyle.THIN); //下边框
-            style.setBorderLeft(BorderStyle.THIN);//左边框
-            style.setBorderTop(BorderStyle.THIN);//上边框
-            style.setBorderRight(BorderStyle.THIN);//右边框
-        }
-        HSSFFont font = excelVO.getWorkbook().createFont();
-        font.setBold(Boolean.TRUE);
-        style.setFont(font);
-        return style;
+        return excelVO.getCellStyle(headerKey(hasBorder));
+    }
+
+    /**
+     * @description 复制表头默认样式, 返回的样式可直接修改, 每次调用都会新建样式, 不要在循环中调用
+     * @date 2026/10/18
+     * @param excelVO
+     * @param hasBorder
+     * @return
+     */
+    public static HSSFCellStyle copyDefaultHeaderStyle(ExcelVO excelVO, boolean hasBorder) {
+        return copyOf(excelVO, headerKey(hasBorder));
+    }
+
+    private static CellStyleKey headerKey(boolean hasBorder) {
+        return hasBorder ? DEFAULT_HEADER_STYLE.toBuilder().border(BorderStyle.THIN).build() : DEFAULT_HEADER_STYLE;
     }
 
     /**
      * @param excelVO
      * @return
-     * @description 获取默认灰色单元格背景
+     * @description 获取默认灰色单元格背景, 样式池中的共享实例, 重复调用返回同一样式, 请勿直接修改,
+     * 需要修改时使用{@link #copyGreyColorCell}
      * @author yanzhen
      * @date 2020/4/10 15:24
      */
     public static HSSFCellStyle getGreyColorCell(ExcelVO excelVO,boolean hasBorder) {
-        HSSFCellStyle style = excelVO.getWorkbook().createCellStyle();
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        if(hasBorder){
-            style.setBorderBottom(BorderStyle.THIN); //下边框
-            style.setBorderLeft(BorderStyle.THIN);//左边框
-            style.setBorderTop(BorderStyle.THIN);//上边框
-            style.setBorderRight(BorderStyle.THIN);//右边框
-        }
-        return style;
+        return excelVO.getCellStyle(greyKey(hasBorder));
+    }
+
+    /**
+     * @description 复制默认灰色单元格背景, 返回的样式可直接修改, 每次调用都会新建样式, 不要在循环中调用
+     * @date 2026/10/18
+     * @param excelVO
+     * @param hasBorder
+     * @return
+     */
+    public static HSSFCellStyle copyGreyColorCell(ExcelVO excelVO, boolean hasBorder) {
+        return copyOf(excelVO, greyKey(hasBorder));
+    }
+
+    private static CellStyleKey greyKey(boolean hasBorder) {
+        return hasBorder ? GREY_STYLE.toBuilder().border(BorderStyle.THIN).build() : GREY_STYLE;
     }
 
     /**
-     * @description 设置样式
+     * @description 设置样式, 区域内不存在的单元格会被创建, 空白位置同样显示边框.
+     * 只处理已有单元格的方式及边框、填充、斑马纹等见{@link ExcelRegionStyle}
      * @author yanzhen
      * @date 2020/4/10 15:56
      * @param excelVO
@@ -958,29 +2043,50 @@ public class ExcelUtil {
      * @return
      */
     public static void changeDgBorderStyle(ExcelVO excelVO, String sheetName, int startRowIdx, int endRowIdx, int startColIdx, int endColIdx,HSSFCellStyle cellStyle) {
+        ExcelVO.SheetHandle sheet = excelVO.getSheetHandle(sheetName);
         for (int row = startRowIdx; row <= endRowIdx; row++) {
-            for (int col = startColIdx ;col<=endColIdx;col++){
-                HSSFCell cell = excelVO.getCell(sheetName, row, col);
-                cell.setCellStyle(cellStyle);
+            for (int col = startColIdx; col <= endColIdx; col++) {
+                sheet.getCell(row, col).setCellStyle(cellStyle);
             }
         }
     }
 
 
     /**
-     * @description 获取带边框普通单元格样式
+     * @description 获取带边框普通单元格样式, 样式池中的共享实例, 重复调用返回同一样式, 请勿直接修改,
+     * 需要修改时使用{@link #copyFrameStyle}
      * @author yanzhen
      * @date 2020/4/10 16:13
      * @param
      * @return
      */
     public static HSSFCellStyle getFrameStyle(ExcelVO excelVO) {
-        HSSFCellStyle cellStyle = excelVO.getWorkbook().createCellStyle();
-        cellStyle.setBorderBottom(BorderStyle.THIN); //下边框
-        cellStyle.setBorderLeft(BorderStyle.THIN);//左边框
-        cellStyle.setBorderTop(BorderStyle.THIN);//上边框
-        cellStyle.setBorderRight(BorderStyle.THIN);//右边框
-        return  cellStyle;
+        return excelVO.getCellStyle(FRAME_STYLE);
+    }
+
+    /**
+     * @description 复制带边框普通单元格样式, 返回的样式可直接修改, 每次调用都会新建样式, 不要在循环中调用
+     * @date 2026/10/18
+     * @param excelVO
+     * @return
+     */
+    public static HSSFCellStyle copyFrameStyle(ExcelVO excelVO) {
+        return copyOf(excelVO, FRAME_STYLE);
+    }
+
+    /**
+     * @description 复制样式池中的样式, 加粗字体同样新建, 修改返回的样式不影响池中样式及其它单元格
+     */
+    private static HSSFCellStyle copyOf(ExcelVO excelVO, CellStyleKey key) {
+        HSSFWorkbook workbook = excelVO.getWorkbook();
+        HSSFCellStyle style = workbook.createCellStyle();
+        style.cloneStyleFrom(excelVO.getCellStyle(key));
+        if (key.isBold()) {
+            HSSFFont font = workbook.createFont();
+            font.setBold(true);
+            style.setFont(font);
+        }
+        return style;
     }
 
 }
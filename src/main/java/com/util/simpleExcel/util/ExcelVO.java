@@ -6,7 +6,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.poi.hssf.usermodel.*;
-import org.apache.poi.util.StringUtil;
 import org.springframework.util.Assert;
 
 import java.time.format.DateTimeFormatter;
@@ -23,15 +22,34 @@ import java.util.Map;
  */
 public class ExcelVO {
 
-    private final HSSFWorkbook workbook = new HSSFWorkbook();
+    private final HSSFWorkbook workbook;
 
+    /**样式池, 相同样式在工作簿中只创建一次*/
+    private final CellStylePool stylePool;
 
-    /**Sheet存储容器*/
-    private Map<String, HSSFSheet> sheetsContainer = Maps.newLinkedHashMap();
-    /**Row存储容器*/
-    private Map<String, HSSFRow> rowContainer = Maps.newLinkedHashMap();
-    /**Cell存储容器*/
-    private Map<String, Map<Integer, HSSFCell>> cellContainer = Maps.newLinkedHashMap();
+    /**Sheet存储容器, 行和单元格直接按下标从sheet句柄获取, 不再单独缓存*/
+    private Map<String, SheetHandle> sheetsContainer = Maps.newLinkedHashMap();
+
+    /**已填充表格的堆内存累计估算, 用于{@link ExcelExportPlanner}的预算校验*/
+    private long estimatedBytes = ExcelExportPlanner.WORKBOOK_BYTES;
+
+    /**由{@link ExcelTemplate#newExcelVO()}创建时记录占位符的当前位置与填充状态*/
+    private ExcelTemplate.Layout templateLayout;
+
+    public ExcelVO() {
+        this(new HSSFWorkbook());
+    }
+
+    /**
+     * @description 基于已有工作簿构建, 如{@link ExcelTemplate#newExcelVO()}复制出的模板, 模板中的sheet按名称直接使用
+     * @date 2026/10/18
+     * @param workbook
+     */
+    public ExcelVO(HSSFWorkbook workbook) {
+        Assert.notNull(workbook, "workbook不能为空");
+        this.workbook = workbook;
+        this.stylePool = new CellStylePool(workbook);
+    }
 
     /**
      * @description 获取当前excel工作簿对象
@@ -44,6 +62,69 @@ public class ExcelVO {
         return workbook;
     }
 
+    /**
+     * @description 已填充表格的堆内存累计估算(字节)
+     * @date 2026/10/18
+     * @param
+     * @return
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    long addEstimatedBytes(long bytes) {
+        estimatedBytes += bytes;
+        return estimatedBytes;
+    }
+
+    ExcelTemplate.Layout getTemplateLayout() {
+        return templateLayout;
+    }
+
+    void setTemplateLayout(ExcelTemplate.Layout templateLayout) {
+        this.templateLayout = templateLayout;
+    }
+
+    /**
+     * @description 获取工作簿样式池
+     * @date 2026/10/18
+     * @param
+     * @return
+     */
+    public CellStylePool getStylePool() {
+        return stylePool;
+    }
+
+    /**
+     * @description 从样式池获取样式, 返回共享实例, 请勿直接修改
+     * @date 2026/10/18
+     * @param key
+     * @return
+     */
+    public HSSFCellStyle getCellStyle(CellStyleKey key) {
+        return (HSSFCellStyle) stylePool.get(key);
+    }
+
+    /**
+     * @description 根据名称获取sheet句柄,没有则创建, 批量读写单元格时先获取句柄再按下标访问
+     * @date 2026/10/18
+     * @param sheetName
+     * @return
+     */
+    public SheetHandle getSheetHandle(String sheetName) {
+        Assert.notNull(sheetName, "sheet名称不能为空");
+        SheetHandle handle = sheetsContainer.get(sheetName);
+        if (handle == null) {
+            HSSFSheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                sheet = workbook.createSheet(sheetName);
+            }
+            handle = new SheetHandle(sheet);
+            sheetsContainer.put(sheetName, handle);
+        }
+        return handle;
+    }
+
     /**
      * @param sheetName
      * @return
@@ -52,13 +133,7 @@ public class ExcelVO {
      * @date 2020/4/9 10:42
      */
     public HSSFSheet getSheet(String sheetName) {
-        Assert.notNull(sheetName, "sheet名称不能为空");
-        if (sheetsContainer.containsKey(sheetName)) {
-            return sheetsContainer.get(sheetName);
-        }
-        HSSFSheet sheet = workbook.createSheet(sheetName);
-        sheetsContainer.put(sheetName,sheet);
-        return  sheet;
+        return getSheetHandle(sheetName).getSheet();
     }
 
     /**
@@ -69,21 +144,12 @@ public class ExcelVO {
      * @param rowIndex
      * @return
      */
-    public HSSFRow getRow(String sheetName,Integer rowIndex){
-        Assert.state(rowIndex >= 0,"行数不能为负值");
-        Assert.notNull(sheetName, "sheet名称不能为空");
-        String rowContainerKey = getSnameRindexKey(sheetName, rowIndex);
-        if(rowContainer.containsKey(rowContainerKey)){
-            return rowContainer.get(rowContainerKey);
-        }
-        HSSFSheet sheet = getSheet(sheetName);
-        HSSFRow row = sheet.createRow(rowIndex);
-        rowContainer.put(rowContainerKey,row);
-        return row;
+    public HSSFRow getRow(String sheetName, int rowIndex){
+        return getSheetHandle(sheetName).getRow(rowIndex);
     }
 
     /**
-     * @description 创建单元格
+     * @description 创建单元格, 已存在时返回已有单元格
      * @author yanzhen
      * @date 2020/4/9 12:50
      * @param sheetName
@@ -91,35 +157,8 @@ public class ExcelVO {
      * @param cellColumn
      * @return
      */
-    public HSSFCell createCell(String sheetName,Integer rowIndex,Integer cellColumn){
-        Assert.state(rowIndex >= 0,"行数不能为负值");
-        Assert.state(cellColumn >= 0,"列数不能为负值");
-        Assert.notNull(sheetName, "sheet名称不能为空");
-        String cellContainerKey = getSnameRindexKey(sheetName, rowIndex);
-        if(!sheetsContainer.containsKey(sheetName)){
-           getSheet(sheetName);
-        }
-        if(!rowContainer.containsKey(rowIndex)){
-           getRow(sheetName,rowIndex);
-        }
-        if(cellContainer.containsKey(cellContainerKey)){
-            Map<Integer, HSSFCell> columnHSSFCellMap = cellContainer.get(cellContainerKey);
-            if(columnHSSFCellMap.containsKey(cellColumn)){
-                return columnHSSFCellMap.get(cellColumn);
-            }else{
-                HSSFRow row = rowContainer.get(cellContainerKey);
-                HSSFCell cell = row.createCell(cellColumn);
-                columnHSSFCellMap.put(cellColumn,cell);
-                return cell;
-            }
-        }else{
-            Map<Integer, HSSFCell> columnHSSFCellMap =  Maps.newLinkedHashMap();
-            HSSFRow row = rowContainer.get(cellContainerKey);
-            HSSFCell cell = row.createCell(cellColumn);
-            columnHSSFCellMap.put(cellColumn,cell);
-            cellContainer.put(cellContainerKey,columnHSSFCellMap);
-            return cell;
-        }
+    public HSSFCell createCell(String sheetName, int rowIndex, int cellColumn){
+        return getSheetHandle(sheetName).getCell(rowIndex, cellColumn);
     }
 
     /**
@@ -131,26 +170,78 @@ public class ExcelVO {
      * @param cellColumn
      * @return
      */
-    public HSSFCell getCell(String sheetName,Integer rowIndex,Integer cellColumn){
-        Assert.state(rowIndex >= 0,"行数不能为负值");
-        Assert.state(cellColumn >= 0,"列数不能为负值");
-        Assert.notNull(sheetName, "sheet名称不能为空");
-        String cellContainerKey = getSnameRindexKey(sheetName, rowIndex);
-        if(cellContainer.containsKey(cellContainerKey)){
-            Map<Integer, HSSFCell> coluHSSFCellMap = cellContainer.get(cellContainerKey);
-            if(coluHSSFCellMap.containsKey(cellColumn)){
-                return coluHSSFCellMap.get(cellColumn);
-            }else{
-                return createCell(sheetName,rowIndex,cellColumn);
-            }
-        }else{
-            return createCell(sheetName,rowIndex,cellColumn);
+    public HSSFCell getCell(String sheetName, int rowIndex, int cellColumn){
+        return getSheetHandle(sheetName).getCell(rowIndex, cellColumn);
+    }
+
+    /**
+     * @description 将startRow及以下的行整体下移, 保留行高, 合并区域随行移动, 移动后清空句柄缓存的行
+     * @date 2026/10/18
+     * @param sheetName
+     * @param startRow 起始行
+     * @param n        下移行数
+     */
+    public void shiftRows(String sheetName, int startRow, int n) {
+        SheetHandle handle = getSheetHandle(sheetName);
+        HSSFSheet sheet = handle.getSheet();
+        if (n <= 0 || startRow > sheet.getLastRowNum()) {
+            return;
         }
+        sheet.shiftRows(startRow, sheet.getLastRowNum(), n, true, false);
+        handle.rows = new HSSFRow[handle.rows.length];
     }
 
-    /**生成rowContainer和cellContainer的key*/
-    private String getSnameRindexKey(String sheetName, Integer rowIndex) {
-        return StringUtil.join("-", Arrays.asList(sheetName, rowIndex));
+    /**
+     * sheet句柄, 行按下标缓存在数组中, 单元格直接使用POI行内的数组, 按下标访问不产生额外对象
+     */
+    public static final class SheetHandle {
+        private final HSSFSheet sheet;
+        private HSSFRow[] rows = new HSSFRow[64];
+
+        private SheetHandle(HSSFSheet sheet) {
+            this.sheet = sheet;
+        }
+
+        public HSSFSheet getSheet() {
+            return sheet;
+        }
+
+        /**
+         * @description 获取行,没有则创建
+         * @param rowIndex
+         * @return
+         */
+        public HSSFRow getRow(int rowIndex) {
+            Assert.state(rowIndex >= 0, "行数不能为负值");
+            if (rowIndex >= rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(rowIndex + 1, rows.length * 2));
+            }
+            HSSFRow row = rows[rowIndex];
+            if (row == null) {
+                row = sheet.getRow(rowIndex);
+                if (row == null) {
+                    row = sheet.createRow(rowIndex);
+                }
+                rows[rowIndex] = row;
+            }
+            return row;
+        }
+
+        /**
+         * @description 获取单元格,没有则创建
+         * @param rowIndex
+         * @param cellColumn
+         * @return
+         */
+        public HSSFCell getCell(int rowIndex, int cellColumn) {
+            Assert.state(cellColumn >= 0, "列数不能为负值");
+            HSSFRow row = getRow(rowIndex);
+            HSSFCell cell = row.getCell(cellColumn);
+            if (cell == null) {
+                cell = row.createCell(cellColumn);
+            }
+            return cell;
+        }
     }
 
 
@@ -188,8 +279,12 @@ public class ExcelVO {
         private Boolean hasBorder = Boolean.FALSE;
         // 绘制默认表头时的样式 为null时不单独设置样式
         private HSSFCellStyle headerStyle;
+        // true 表示日期写为原生日期单元格、BigDecimal写为数值单元格, false时按文本写入
+        private Boolean typedCell = Boolean.TRUE;
         private Class<C> tClass;
         private List<C> dataList;
+        // 按需拉取的数据源, 设置后优先于dataList; 列数量不固定的表格中每行为List<String>
+        private ExcelDataSource<C> dataSource;
 
     }
 
@@ -0,0 +1,87 @@
+package com.util.simpleExcel.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @className: MicrometerExcelMetricsListener
+ * @description: 基于Micrometer的指标实现. 指标先在内部的组合注册表上创建, 绑定到多个注册表或重复绑定时不会重复计数.
+ * 指标: excel.phase(按phase标签的阶段耗时)、excel.rows.written、excel.cells.written、excel.rows.per.second、
+ * excel.bytes.written、excel.styles.created、excel.import.rows.parsed、excel.import.rows.rejected
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class MicrometerExcelMetricsListener implements ExcelMetricsListener, MeterBinder {
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Map<ExcelPhase, Timer> phaseTimers = new EnumMap<>(ExcelPhase.class);
+    private final Counter rowsWritten;
+    private final Counter cellsWritten;
+    private final DistributionSummary rowsPerSecond;
+    private final DistributionSummary bytesWritten;
+    private final DistributionSummary stylesCreated;
+    private final Counter rowsParsed;
+    private final Counter rowsRejected;
+
+    public MicrometerExcelMetricsListener() {
+        for (ExcelPhase phase : ExcelPhase.values()) {
+            phaseTimers.put(phase, Timer.builder("excel.phase")
+                    .description("导入导出各阶段耗时")
+                    .tag("phase", phase.name().toLowerCase())
+                    .register(registry));
+        }
+        rowsWritten = Counter.builder("excel.rows.written").description("导出写入的数据行数").register(registry);
+        cellsWritten = Counter.builder("excel.cells.written").description("导出写入的单元格数").register(registry);
+        rowsPerSecond = DistributionSummary.builder("excel.rows.per.second")
+                .description("每个sheet或表格的写入速度").baseUnit("rows").register(registry);
+        bytesWritten = DistributionSummary.builder("excel.bytes.written")
+                .description("每次输出的文件大小").baseUnit("bytes").register(registry);
+        stylesCreated = DistributionSummary.builder("excel.styles.created")
+                .description("每个工作簿创建的样式数").register(registry);
+        rowsParsed = Counter.builder("excel.import.rows.parsed").description("导入解析的数据行数").register(registry);
+        rowsRejected = Counter.builder("excel.import.rows.rejected").description("导入绑定失败的行数").register(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    @Override
+    public void onPhase(ExcelPhase phase, long nanos) {
+        phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onRowsWritten(long rows, long cells, long nanos) {
+        rowsWritten.increment(rows);
+        cellsWritten.increment(cells);
+        if (rows > 0 && nanos > 0) {
+            rowsPerSecond.record(rows * 1e9 / nanos);
+        }
+    }
+
+    @Override
+    public void onBytesWritten(long bytes) {
+        bytesWritten.record(bytes);
+    }
+
+    @Override
+    public void onStylesCreated(int styles) {
+        stylesCreated.record(styles);
+    }
+
+    @Override
+    public void onRowsParsed(long parsed, long rejected, long nanos) {
+        rowsParsed.increment(parsed);
+        rowsRejected.increment(rejected);
+    }
+}
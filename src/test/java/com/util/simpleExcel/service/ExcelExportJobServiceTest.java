@@ -0,0 +1,124 @@
+package com.util.simpleExcel.service;
+
+import com.util.simpleExcel.util.ExcelDataSource;
+import com.util.simpleExcel.util.ExcelUtil;
+import com.util.simpleExcel.util.ImportRow;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: ExcelExportJobServiceTest
+ * @description: 异步导出任务的取消、关闭与暂存目录清理
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelExportJobServiceTest {
+
+    private Path spoolDir;
+    private ExcelExportJobService service;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        spoolDir = Files.createTempDirectory("spool");
+        // 其他程序放在共用目录中的文件
+        Files.createFile(spoolDir.resolve("foreign.xlsx"));
+        service = new ExcelExportJobService(1, 1, spoolDir.toString(), Duration.ofHours(1), Duration.ofMinutes(5));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+        service.destroy();
+        Files.deleteIfExists(spoolDir.resolve("foreign.xlsx"));
+        Files.deleteIfExists(spoolDir);
+    }
+
+    @Test
+    public void foreignFilesSurvive() throws Exception {
+        service.destroy();
+        assertTrue(Files.exists(spoolDir.resolve("foreign.xlsx")));
+        // 本实例的子目录已删除
+        assertEquals(1, count(spoolDir));
+    }
+
+    @Test
+    public void cancelledQueuedJobReleasesQueueSlot() throws InterruptedException {
+        ExcelExportJob running = service.submit(blockingSheets(), null, null, null);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        ExcelExportJob queued = service.submit(blockingSheets(), null, null, null);
+        assertEquals(1, service.getQueuedCount());
+
+        assertTrue(service.cancel(queued.getId()));
+        assertEquals(ExcelExportJob.Status.CANCELLED, queued.getStatus());
+        assertEquals(0, service.getQueuedCount());
+        // 队列已空出, 可以再提交
+        service.submit(blockingSheets(), null, null, null);
+        assertEquals(ExcelExportJob.Status.RUNNING, running.getStatus());
+    }
+
+    @Test
+    public void shutdownCancelsRunningJob() throws Exception {
+        ExcelExportJob running = service.submit(blockingSheets(), null, null, null);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        service.destroy();
+        assertEquals(ExcelExportJob.Status.CANCELLED, running.getStatus());
+        assertFalse(Files.exists(running.getFile()));
+        assertFalse(Files.exists(running.getFile().getParent()));
+        assertTrue(Files.exists(spoolDir.resolve("foreign.xlsx")));
+    }
+
+    /**
+     * 第一行数据等待release, 期间任务保持执行中
+     */
+    private List<ExcelUtil.ExcelSheet<ImportRow>> blockingSheets() {
+        Iterator<ImportRow> rows = new Iterator<ImportRow>() {
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("导出被中断", e);
+                }
+                return !done;
+            }
+
+            @Override
+            public ImportRow next() {
+                done = true;
+                return new ImportRow();
+            }
+        };
+        ExcelUtil.ExcelSheet<ImportRow> sheet = new ExcelUtil.ExcelSheet<>();
+        sheet.setSheetName("data");
+        sheet.setDataSource(ExcelDataSource.of(rows));
+        return Collections.singletonList(sheet);
+    }
+
+    private static long count(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
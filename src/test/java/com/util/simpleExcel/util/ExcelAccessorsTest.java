@@ -0,0 +1,82 @@
+package com.util.simpleExcel.util;
+
+import org.junit.Test;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: ExcelAccessorsTest
+ * @description: 公开bean通过LambdaMetafactory生成读写器, 私有类或缺少访问方法时回退为字段反射
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelAccessorsTest {
+
+    @Test
+    public void publicBeanUsesLambda() throws Exception {
+        Field count = ImportRow.class.getDeclaredField("count");
+        Function<Object, Object> getter = ExcelAccessors.getter(count);
+        BiConsumer<Object, Object> setter = ExcelAccessors.setter(count);
+        Supplier<Object> constructor = ExcelAccessors.constructor(ImportRow.class);
+        assertTrue(isLambda(getter));
+        assertTrue(isLambda(setter));
+        assertTrue(isLambda(constructor));
+
+        Object row = constructor.get();
+        setter.accept(row, 12);
+        assertEquals(12, getter.apply(row));
+        assertEquals(Integer.valueOf(12), ((ImportRow) row).getCount());
+    }
+
+    @Test
+    public void privateBeanFallsBackToField() throws Exception {
+        Field flag = HiddenRow.class.getDeclaredField("flag");
+        Function<Object, Object> getter = ExcelAccessors.getter(flag);
+        BiConsumer<Object, Object> setter = ExcelAccessors.setter(flag);
+        Supplier<Object> constructor = ExcelAccessors.constructor(HiddenRow.class);
+        assertFalse(isLambda(getter));
+
+        Object row = constructor.get();
+        setter.accept(row, true);
+        assertEquals(true, getter.apply(row));
+    }
+
+    @Test
+    public void staticFunction() throws Exception {
+        Function<Object, Object> function = ExcelAccessors.function(Integer.class.getMethod("valueOf", String.class));
+        assertTrue(isLambda(function));
+        assertEquals(42, function.apply("42"));
+    }
+
+    /**
+     * @description LambdaMetafactory生成的类没有捕获字段反射对象
+     */
+    private static boolean isLambda(Object accessor) {
+        for (Field field : accessor.getClass().getDeclaredFields()) {
+            if (field.getType() == Field.class || Executable.class.isAssignableFrom(field.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class HiddenRow {
+        private boolean flag;
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+    }
+}
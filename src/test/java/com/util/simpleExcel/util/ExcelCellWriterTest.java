@@ -0,0 +1,87 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @className: ExcelCellWriterTest
+ * @description: 日期格式转换为excel格式, 无法转换时按文本写入, LocalDate只使用日期部分
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelCellWriterTest {
+
+    @Test
+    public void translatesPatterns() {
+        assertEquals("yyyy/mm/dd", ExcelDatePattern.toExcel("yyyy/MM/dd"));
+        assertEquals("yyyy-mm-dd\"T\"hh:mm:ss", ExcelDatePattern.toExcel("yyyy-MM-dd'T'HH:mm:ss"));
+        assertEquals("yyyy\"年\"m\"月\"d\"日\" hh:mm:ss.000", ExcelDatePattern.toExcel("yyyy年M月d日 HH:mm:ss.SSS"));
+        assertEquals("dd/mm/yy h:mm AM/PM", ExcelDatePattern.toExcel("dd/MM/yy h:mm a"));
+        assertEquals("dddd, mmmm d", ExcelDatePattern.toExcel("EEEE, MMMM d"));
+        assertEquals("\"'\"yy", ExcelDatePattern.toExcel("''yy"));
+    }
+
+    @Test
+    public void rejectsUntranslatablePatterns() {
+        // 12小时制缺少AM/PM, 24小时制带AM/PM
+        assertNull(ExcelDatePattern.toExcel("hh:mm"));
+        assertNull(ExcelDatePattern.toExcel("HH:mm a"));
+        // 单独的分钟会被excel当作月份
+        assertNull(ExcelDatePattern.toExcel("yyyy/MM/dd mm"));
+        assertNull(ExcelDatePattern.toExcel("yyyy-MM-dd HH:mm:ss.SSSS"));
+        assertNull(ExcelDatePattern.toExcel("yyyy-MM-dd VV"));
+        assertNull(ExcelDatePattern.toExcel("yyyy-MM-dd[ HH:mm]"));
+        assertNull(ExcelDatePattern.toExcel("yyyy 'Q'Q"));
+    }
+
+    @Test
+    public void dateOnlyPatterns() {
+        assertEquals("yyyy/MM/dd", ExcelDatePattern.dateOnly("yyyy/MM/dd"));
+        assertEquals("yyyy-MM-dd", ExcelDatePattern.dateOnly("yyyy-MM-dd'T'HH:mm:ss"));
+        assertEquals("yyyy年M月d日", ExcelDatePattern.dateOnly("yyyy年M月d日 HH:mm"));
+        assertEquals(ExcelUtil.PATTERN, ExcelDatePattern.dateOnly("HH:mm dd/MM"));
+        assertEquals(ExcelUtil.PATTERN, ExcelDatePattern.dateOnly("HH:mm:ss"));
+    }
+
+    @Test
+    public void writesTypedDates() throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            ExcelCellWriter writer = new ExcelCellWriter(new CellStylePool(workbook), null, "yyyy-MM-dd HH:mm", true);
+            Cell dateTime = workbook.createSheet().createRow(0).createCell(0);
+            Cell date = dateTime.getRow().createCell(1);
+            writer.setCellValue(dateTime, LocalDateTime.of(2020, 4, 9, 13, 5));
+            writer.setCellValue(date, LocalDate.of(2020, 4, 9));
+
+            assertEquals(CellType.NUMERIC, dateTime.getCellType());
+            assertEquals("yyyy-mm-dd hh:mm", dateTime.getCellStyle().getDataFormatString());
+            // LocalDate不显示00:00
+            assertEquals(CellType.NUMERIC, date.getCellType());
+            assertEquals("yyyy-mm-dd", date.getCellStyle().getDataFormatString());
+        }
+    }
+
+    @Test
+    public void untranslatablePatternWritesText() throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            ExcelCellWriter writer = new ExcelCellWriter(new CellStylePool(workbook), null,
+                    "yyyy-MM-dd HH:mm:ss.SSSSSS", true);
+            Cell cell = workbook.createSheet().createRow(0).createCell(0);
+            writer.setCellValue(cell, LocalDateTime.of(2020, 4, 9, 13, 5, 1, 123456000));
+
+            assertEquals(CellType.STRING, cell.getCellType());
+            assertEquals("2020-04-09 13:05:01.123456", cell.getStringCellValue());
+            // 日期部分可以转换, LocalDate仍写为日期单元格
+            assertEquals(LocalDate.of(2020, 4, 9), writer.format(LocalDate.of(2020, 4, 9)));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.util.simpleExcel.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: ExcelCsvTest
+ * @description: CSV/TSV解析与导出
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelCsvTest {
+
+    @Test
+    public void readsQuotedDelimitersAndNewlines() throws IOException {
+        List<List<Object>> rows = read("a,\"b,c\",\"line1\nline2\"\r\nd,,\"\"\n", CsvOptions.csv());
+        assertEquals(2, rows.size());
+        assertEquals(Arrays.asList("a", "b,c", "line1\nline2"), rows.get(0));
+        // 空字段按空单元格处理
+        assertEquals(Arrays.asList("d"), rows.get(1));
+    }
+
+    @Test
+    public void readsEscapedQuotes() throws IOException {
+        List<List<Object>> rows = read("\"say \"\"hi\"\"\",x", CsvOptions.csv());
+        assertEquals(Collections.singletonList(Arrays.asList("say \"hi\"", "x")), rows);
+    }
+
+    @Test
+    public void skipsBom() throws IOException {
+        List<List<Object>> rows = read("﻿名称,数量\n", CsvOptions.csv());
+        assertEquals(Arrays.asList("名称", "数量"), rows.get(0));
+    }
+
+    @Test
+    public void readsTsv() throws IOException {
+        List<List<Object>> rows = read("a\tb,c\t\"d\te\"\n", CsvOptions.tsv());
+        assertEquals(Arrays.asList("a", "b,c", "d\te"), rows.get(0));
+    }
+
+    @Test
+    public void writesTotalOutsideColumns() throws IOException {
+        ExcelUtil.ExcelSheet<ImportRow> sheet = sheet(row("a", 1));
+        sheet.setTotal("合计");
+        sheet.setTotalAmount(new BigDecimal("12.50"));
+        sheet.setIndex(4);
+        assertEquals("名称,数量,金额\r\na,1,\r\n合计,,,,12.50\r\n", write(sheet, CsvOptions.csv()));
+    }
+
+    @Test
+    public void escapesFormulasWhenEnabled() throws IOException {
+        CsvOptions options = CsvOptions.csv();
+        options.setBom(false);
+        assertEquals("名称,数量,金额\r\n=1+1,-1,\r\n", write(sheet(row("=1+1", -1)), options));
+        options.setEscapeFormulas(true);
+        // 数值不转义
+        assertEquals("名称,数量,金额\r\n'=1+1,-1,\r\n'@SUM(A1),2,\r\n",
+                write(sheet(row("=1+1", -1), row("@SUM(A1)", 2)), options));
+    }
+
+    @Test
+    public void formatsDatesAsText() {
+        ExcelCellWriter cellWriter = new ExcelCellWriter(null, null, "yyyy/MM/dd", false);
+        Date date = Date.from(LocalDate.of(2020, 4, 9).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        assertEquals("2020/04/09", cellWriter.format(date));
+        assertEquals("2020/04/09", cellWriter.format(new java.sql.Date(date.getTime())));
+    }
+
+    private static List<List<Object>> read(String text, CsvOptions options) throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+        ExcelCsvReader.read(new StringReader(text), options, (rowNum, values) -> rows.add(Arrays.asList(values.clone())));
+        return rows;
+    }
+
+    private static ImportRow row(String name, Integer count) {
+        ImportRow row = new ImportRow();
+        row.setName(name);
+        row.setCount(count);
+        return row;
+    }
+
+    private static ExcelUtil.ExcelSheet<ImportRow> sheet(ImportRow... rows) {
+        ExcelUtil.ExcelSheet<ImportRow> sheet = new ExcelUtil.ExcelSheet<>();
+        sheet.setDataset(Arrays.asList(rows));
+        return sheet;
+    }
+
+    private static String write(ExcelUtil.ExcelSheet<ImportRow> sheet, CsvOptions options) throws IOException {
+        options.setBom(false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ExcelCsvWriter(out, options).write(sheet, null, null);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
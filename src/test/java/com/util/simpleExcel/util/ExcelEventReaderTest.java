@@ -0,0 +1,165 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.hab.param.ImportParams;
+import cn.jointwisdom.mrad.commons.api.constant.RespResult;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.LittleEndian;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: ExcelEventReaderTest
+ * @description: 流式导入测试
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelEventReaderTest {
+
+    @Test
+    public void importXlsFromStream() throws IOException {
+        assertStreamImport(new HSSFWorkbook(), "data.xls");
+    }
+
+    @Test
+    public void importXlsxFromStream() throws IOException {
+        assertStreamImport(new XSSFWorkbook(), "data.xlsx");
+    }
+
+    @Test
+    public void importXlsSheetsInFileOrder() throws IOException {
+        List<String> handled = new ArrayList<>();
+        List<ExcelSheetImport<?>> sheets = Arrays.asList(
+                ExcelSheetImport.of("二", ImportRow.class, (rowNum, row) -> handled.add("二:" + row.getName())),
+                ExcelSheetImport.of(0, ImportRow.class, (rowNum, row) -> handled.add("一:" + row.getName())));
+        RespResult<Map<String, ExcelImportResult>> result = new ExcelUtil().importExcel(
+                new ByteArrayInputStream(multiSheetXls()), params("data.xls"), sheets, null);
+
+        // 结果与回调按sheet在文件中的顺序, 而不是映射的顺序
+        assertEquals(Arrays.asList("一", "二"), new ArrayList<>(result.getData().keySet()));
+        assertEquals(Arrays.asList("一:a", "二:b"), handled);
+        assertEquals(1, result.getData().get("二").getImported());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void rejectsSheetMappedTwice() throws IOException {
+        List<ExcelSheetImport<?>> sheets = Arrays.asList(
+                ExcelSheetImport.of("二", ImportRow.class, (rowNum, row) -> { }),
+                ExcelSheetImport.of(1, ImportRow.class, (rowNum, row) -> { }));
+        new ExcelUtil().importExcel(new ByteArrayInputStream(multiSheetXls()), params("data.xls"), sheets, null);
+    }
+
+    @Test
+    public void chartSheetKeepsXlsSheetIndex() throws IOException {
+        List<String> handled = new ArrayList<>();
+        List<ExcelSheetImport<?>> sheets = Arrays.asList(
+                ExcelSheetImport.of(1, ImportRow.class, (rowNum, row) -> handled.add("1:" + row.getName())),
+                ExcelSheetImport.of("三", ImportRow.class, (rowNum, row) -> handled.add("三:" + row.getName())));
+        // 第一个sheet改为图表子流: 占用下标0, 但不回调也不消耗映射
+        RespResult<Map<String, ExcelImportResult>> result = new ExcelUtil().importExcel(
+                new ByteArrayInputStream(markChartSheet(multiSheetXls(), 0)), params("data.xls"), sheets, null);
+
+        assertEquals(Arrays.asList("二", "三"), new ArrayList<>(result.getData().keySet()));
+        assertEquals(Arrays.asList("1:b", "三:c"), handled);
+    }
+
+    private static byte[] multiSheetXls() throws IOException {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        String[] names = {"一", "二", "三"};
+        for (int i = 0; i < names.length; i++) {
+            Sheet sheet = workbook.createSheet(names[i]);
+            writeRow(sheet, 0, "名称", "数量", "金额");
+            writeRow(sheet, 1, String.valueOf((char) ('a' + i)), 1d, 10d);
+        }
+        return toBytes(workbook);
+    }
+
+    /**
+     * @description 将第sheet个工作表子流的BOF类型改为图表, usermodel无法直接创建图表sheet
+     */
+    private static byte[] markChartSheet(byte[] xls, int sheet) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(new ByteArrayInputStream(xls))) {
+            byte[] stream = IOUtils.toByteArray(fs.createDocumentInputStream("Workbook"));
+            // 第一个BOF属于工作簿全局子流
+            int bof = -1;
+            for (int pos = 0; pos + 4 <= stream.length; pos += 4 + LittleEndian.getUShort(stream, pos + 2)) {
+                if (LittleEndian.getUShort(stream, pos) == BOFRecord.sid && bof++ == sheet) {
+                    LittleEndian.putUShort(stream, pos + 6, BOFRecord.TYPE_CHART);
+                    break;
+                }
+            }
+            fs.createOrUpdateDocument(new ByteArrayInputStream(stream), "Workbook");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            fs.writeFilesystem(out);
+            return out.toByteArray();
+        }
+    }
+
+    private void assertStreamImport(Workbook workbook, String fileName) throws IOException {
+        Sheet sheet = workbook.createSheet("数据");
+        writeRow(sheet, 0, "名称", "数量", "金额");
+        writeRow(sheet, 1, "a", 1d, 10d);
+        writeRow(sheet, 2, "b", 2d, 20d);
+        byte[] bytes = toBytes(workbook);
+        int spooled = countSpooledFiles();
+
+        List<ImportRow> rows = new ArrayList<>();
+        RespResult<Integer> result = new ExcelUtil().importExcel(new ByteArrayInputStream(bytes), ImportRow.class,
+                params(fileName), (rowNum, row) -> rows.add(row));
+
+        assertEquals(Integer.valueOf(2), result.getData());
+        assertEquals("a", rows.get(0).getName());
+        assertEquals(Integer.valueOf(2), rows.get(1).getCount());
+        assertEquals(Long.valueOf(20), rows.get(1).getAmount());
+        // 转存的临时文件在导入结束后删除
+        assertEquals(spooled, countSpooledFiles());
+    }
+
+    static ImportParams params(String fileName) {
+        ImportParams params = new ImportParams();
+        params.setFileName(fileName);
+        params.setHeadRow(0);
+        params.setSheetNum(0);
+        return params;
+    }
+
+    static void writeRow(Sheet sheet, int rowNum, Object... values) {
+        Row row = sheet.createRow(rowNum);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Double) {
+                row.createCell(i).setCellValue((Double) values[i]);
+            } else if (values[i] != null) {
+                row.createCell(i).setCellValue(String.valueOf(values[i]));
+            }
+        }
+    }
+
+    static byte[] toBytes(Workbook workbook) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return out.toByteArray();
+    }
+
+    private static int countSpooledFiles() {
+        String[] names = new File(System.getProperty("java.io.tmpdir"))
+                .list((dir, name) -> name.endsWith(".import"));
+        return names == null ? 0 : names.length;
+    }
+}
@@ -0,0 +1,39 @@
+package com.util.simpleExcel.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: ExcelGridTest
+ * @description: 列数量不固定表格的数据源
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelGridTest {
+
+    @Test
+    public void autoGridReadsDataSource() {
+        ExcelVO excelVo = new ExcelVO();
+        ExcelVO.DataGridVo<List<String>> dataGridVo = new ExcelVO.DataGridVo<>();
+        dataGridVo.setStartRowIdx(2);
+        List<List<String>> rows = Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d", "e"));
+        // 未提供行数的数据源
+        dataGridVo.setDataSource(ExcelDataSource.of(rows.iterator()));
+        ExcelUtil.fillAutoColuSizeDataGrid(excelVo, "sheet", Collections.singletonList(dataGridVo), true);
+
+        assertEquals("a", excelVo.getCell("sheet", 2, 0).getStringCellValue());
+        assertEquals("e", excelVo.getCell("sheet", 3, 2).getStringCellValue());
+        assertEquals(ExcelUtil.getFrameStyle(excelVo).getIndex(), excelVo.getCell("sheet", 3, 2).getCellStyle().getIndex());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void autoGridWithoutData() {
+        ExcelUtil.fillAutoColuSizeDataGrid(new ExcelVO(), "sheet",
+                Collections.singletonList(new ExcelVO.DataGridVo<List<String>>()), false);
+    }
+}
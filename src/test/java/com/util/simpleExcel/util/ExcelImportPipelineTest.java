@@ -0,0 +1,194 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.base.annotation.Excel;
+import cn.jointwisdom.mrad.ai.base.annotation.ExcelEnum;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ExcelImportPipelineTest
+ * @description: 导入流水线的错误上限、快速失败及表头预检
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelImportPipelineTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final List<Integer> handled = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void failFastStopsAtMaxErrors() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setMaxErrors(2);
+        options.setFailFast(true);
+        ExcelImportPipeline<ImportRow> pipeline = pipeline(options);
+        pipeline.onRow(0, header());
+        int rowNum = 1;
+        try {
+            for (; rowNum <= 10; rowNum++) {
+                pipeline.onRow(rowNum, bad());
+            }
+            fail("达到错误上限后应停止解析");
+        } catch (ExcelImportPipeline.StopException e) {
+            assertTrue(rowNum < 10);
+        }
+        ExcelImportResult result = pipeline.finish();
+        assertTrue(result.isStopped());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(2, result.getRejected());
+        assertEquals(2, result.getErrors().get(1).getRowNum());
+    }
+
+    @Test
+    public void failFastStopsBeforeInFlightLimit() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setMaxErrors(2);
+        options.setFailFast(true);
+        // 批次同步完成, 处理中批次数上限远大于错误上限
+        ExcelImportPipeline<ImportRow> pipeline = new ExcelImportPipeline<>(MoreExecutors.newDirectExecutorService(),
+                1, 64, ImportRow.class, 0, null, (rowNum, row) -> handled.add(rowNum), options);
+        pipeline.onRow(0, header());
+        pipeline.onRow(1, bad());
+        try {
+            pipeline.onRow(2, bad());
+            pipeline.onRow(3, bad());
+            fail("达到错误上限后应立即停止解析");
+        } catch (ExcelImportPipeline.StopException e) {
+            assertTrue(pipeline.isStopped());
+        }
+        assertEquals(2, pipeline.finish().getRejected());
+    }
+
+    @Test
+    public void enumColumnHeaderChecked() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setCheckHeader(true);
+        ExcelImportPipeline<LevelRow> pipeline = new ExcelImportPipeline<>(executor, 1, 1, LevelRow.class, 0, null,
+                (rowNum, row) -> { }, options);
+        try {
+            pipeline.onRow(0, new Object[]{"名称", null});
+            fail("@ExcelEnum列缺少表头时应停止解析");
+        } catch (ExcelImportPipeline.StopException e) {
+            // expected
+        }
+        ExcelRowError error = pipeline.finish().getErrors().get(0);
+        assertEquals(1, error.getColumn());
+
+        ExcelImportPipeline<LevelRow> valid = new ExcelImportPipeline<>(executor, 1, 1, LevelRow.class, 0, null,
+                (rowNum, row) -> handled.add(row.level), options);
+        valid.onRow(0, new Object[]{"名称", "级别"});
+        valid.onRow(1, new Object[]{"a", "high"});
+        assertEquals(1, valid.finish().getImported());
+        assertEquals(3, (int) handled.get(0));
+    }
+
+    @Test
+    public void errorsTruncatedAtCap() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setMaxErrors(2);
+        ExcelImportPipeline<ImportRow> pipeline = pipeline(options);
+        pipeline.onRow(0, header());
+        for (int rowNum = 1; rowNum <= 5; rowNum++) {
+            pipeline.onRow(rowNum, bad());
+        }
+        pipeline.onRow(6, new Object[]{"a", 1D, 2D});
+        ExcelImportResult result = pipeline.finish();
+        assertFalse(result.isStopped());
+        assertTrue(result.isTruncated());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(5, result.getRejected());
+        assertEquals(1, result.getImported());
+        assertEquals(6, (int) handled.get(0));
+        assertEquals("数量", result.getErrors().get(0).getColumnName());
+    }
+
+    @Test
+    public void missingHeaderStops() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setCheckHeader(true);
+        ExcelImportPipeline<ImportRow> pipeline = pipeline(options);
+        try {
+            // 表头行为空白行, 解析器直接回调第一行数据
+            pipeline.onRow(1, new Object[]{"a", 1D, 2D});
+            fail("缺少表头时应停止解析");
+        } catch (ExcelImportPipeline.StopException e) {
+            // expected
+        }
+        ExcelImportResult result = pipeline.finish();
+        assertTrue(result.isStopped());
+        assertEquals(1, result.getRejected());
+        assertEquals("缺少表头行", result.getErrors().get(0).getMessage());
+        assertTrue(handled.isEmpty());
+    }
+
+    @Test
+    public void missingHeaderWithoutDataRows() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setCheckHeader(true);
+        ExcelImportResult result = pipeline(options).finish();
+        assertTrue(result.isStopped());
+        assertEquals(1, result.getErrors().size());
+    }
+
+    @Test
+    public void headerErrorsCountTowardsCap() {
+        ExcelImportOptions options = new ExcelImportOptions();
+        options.setCheckHeader(true);
+        options.setMaxErrors(1);
+        ExcelImportPipeline<ImportRow> pipeline = pipeline(options);
+        try {
+            pipeline.onRow(0, new Object[]{"名", "数", "金"});
+            fail("表头不一致时应停止解析");
+        } catch (ExcelImportPipeline.StopException e) {
+            // expected
+        }
+        ExcelImportResult result = pipeline.finish();
+        assertTrue(result.isStopped());
+        assertTrue(result.isTruncated());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getRejected());
+    }
+
+    private ExcelImportPipeline<ImportRow> pipeline(ExcelImportOptions options) {
+        return new ExcelImportPipeline<>(executor, 1, 1, ImportRow.class, 0, null,
+                (rowNum, row) -> handled.add(rowNum), options);
+    }
+
+    private static Object[] header() {
+        return new Object[]{"名称", "数量", "金额"};
+    }
+
+    private static Object[] bad() {
+        return new Object[]{"a", "x", 2D};
+    }
+
+    /**
+     * @description @ExcelEnum转换方法
+     */
+    public static Integer level(String text) {
+        return "high".equals(text) ? 3 : 1;
+    }
+
+    static class LevelRow {
+        @Excel(name = "名称", index = 1)
+        private String name;
+        @ExcelEnum(index = 2, className = "com.util.simpleExcel.util.ExcelImportPipelineTest", methodName = "level")
+        private Integer level;
+    }
+}
@@ -0,0 +1,54 @@
+package com.util.simpleExcel.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: ExcelImportPlanTest
+ * @description: 导入类型转换, 数值单元格(Double)直接转换为整数字段
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelImportPlanTest {
+
+    @Test
+    public void doubleToInteger() throws Exception {
+        ExcelImportPlan.Converter converter = ExcelImportPlan.converter(Integer.class);
+        assertEquals(12, converter.convert(12.0));
+        assertEquals(-3, converter.convert(-3.0));
+        assertEquals(7, converter.convert("7"));
+    }
+
+    @Test
+    public void doubleToLong() throws Exception {
+        ExcelImportPlan.Converter converter = ExcelImportPlan.converter(Long.class);
+        assertEquals(10000000000L, converter.convert(1e10));
+        assertEquals(20L, converter.convert("20"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void fractionToIntegerFails() throws Exception {
+        ExcelImportPlan.converter(Integer.class).convert(12.5);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void fractionToLongFails() throws Exception {
+        ExcelImportPlan.converter(Long.class).convert(0.1);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void integerOverflowFails() throws Exception {
+        ExcelImportPlan.converter(Integer.class).convert(3e9);
+    }
+
+    @Test
+    public void doubleToTextAndDecimal() throws Exception {
+        // 与Excel显示一致, 整数不带小数位
+        assertEquals("12", ExcelImportPlan.converter(String.class).convert(12.0));
+        assertEquals(new BigDecimal("12.5"), ExcelImportPlan.converter(BigDecimal.class).convert(12.5));
+        assertEquals((short) 4, ExcelImportPlan.converter(Short.class).convert(4.0));
+    }
+}
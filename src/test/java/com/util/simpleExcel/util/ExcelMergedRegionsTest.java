@@ -0,0 +1,89 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @className: ExcelMergedRegionsTest
+ * @description: 批量合并单元格的重叠检查
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelMergedRegionsTest {
+
+    @Test
+    public void touchingRegionsDoNotOverlap() {
+        ExcelMergedRegions.checkOverlaps(regions(
+                new CellRangeAddress(0, 1, 0, 1),
+                // 右侧相邻
+                new CellRangeAddress(0, 1, 2, 3),
+                // 下方相邻
+                new CellRangeAddress(2, 3, 0, 3),
+                // 对角相邻
+                new CellRangeAddress(4, 4, 4, 5)));
+    }
+
+    @Test
+    public void nestedRegionOverlaps() {
+        assertOverlaps(new CellRangeAddress(0, 5, 0, 5), new CellRangeAddress(2, 3, 2, 3));
+    }
+
+    @Test
+    public void duplicateRegionOverlaps() {
+        assertOverlaps(new CellRangeAddress(1, 2, 1, 2), new CellRangeAddress(1, 2, 1, 2));
+    }
+
+    @Test
+    public void overlapAcrossActiveRegions() {
+        // 新区域跨越两个活动区域之间的空隙, 与右侧区域重叠
+        assertOverlaps(new CellRangeAddress(0, 3, 0, 1), new CellRangeAddress(0, 3, 5, 6),
+                new CellRangeAddress(2, 2, 3, 5));
+    }
+
+    @Test
+    public void endedRegionIsReleased() {
+        ExcelMergedRegions.checkOverlaps(regions(
+                new CellRangeAddress(0, 1, 0, 3),
+                new CellRangeAddress(2, 5, 1, 2),
+                new CellRangeAddress(0, 5, 4, 4)));
+    }
+
+    @Test
+    public void overlapWithExistingMerge() {
+        HSSFSheet sheet = new HSSFWorkbook().createSheet();
+        sheet.addMergedRegion(new CellRangeAddress(3, 4, 0, 2));
+        try {
+            ExcelMergedRegions.addAll(sheet, Arrays.asList(new CellRangeAddress(0, 1, 0, 1),
+                    new CellRangeAddress(4, 5, 2, 3)));
+            fail("与已有合并区域重叠");
+        } catch (IllegalStateException e) {
+            // 整批不添加
+            assertEquals(1, sheet.getNumMergedRegions());
+        }
+        ExcelMergedRegions.addAll(sheet, Collections.singletonList(new CellRangeAddress(5, 6, 0, 2)));
+        assertEquals(2, sheet.getNumMergedRegions());
+    }
+
+    private static void assertOverlaps(CellRangeAddress... regions) {
+        try {
+            ExcelMergedRegions.checkOverlaps(regions(regions));
+            fail("合并区域重叠");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static List<CellRangeAddress> regions(CellRangeAddress... regions) {
+        return new ArrayList<>(Arrays.asList(regions));
+    }
+}
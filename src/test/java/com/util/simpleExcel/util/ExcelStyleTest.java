@@ -0,0 +1,69 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFCellStyle;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @className: ExcelStyleTest
+ * @description: 公共样式方法返回样式池中的共享样式, copy方法返回可修改的独立样式
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelStyleTest {
+
+    @Test
+    public void publicStylesAreShared() {
+        ExcelVO excelVo = new ExcelVO();
+        ExcelVO.DataGridVo dataGridVo = new ExcelVO.DataGridVo();
+        dataGridVo.setDataList(Collections.singletonList(Arrays.asList("a", "b")));
+        ExcelUtil.fillAutoColuSizeDataGrid(excelVo, "sheet", Collections.singletonList(dataGridVo), true);
+        int styles = excelVo.getWorkbook().getNumCellStyles();
+
+        // 按表格重复调用不会增加样式数量
+        for (int i = 0; i < 100; i++) {
+            assertEquals(excelVo.getCell("sheet", 0, 0).getCellStyle().getIndex(),
+                    ExcelUtil.getFrameStyle(excelVo).getIndex());
+            assertEquals(ExcelUtil.getDefaultHeaderStyle(excelVo, true).getIndex(),
+                    ExcelUtil.getDefaultHeaderStyle(excelVo, true).getIndex());
+            assertEquals(ExcelUtil.getGreyColorCell(excelVo, false).getIndex(),
+                    ExcelUtil.getGreyColorCell(excelVo, false).getIndex());
+        }
+        // 表头与灰色背景各两种边框组合最多新增4个
+        assertTrue(excelVo.getWorkbook().getNumCellStyles() <= styles + 4);
+    }
+
+    @Test
+    public void copiedStylesAreIndependent() {
+        ExcelVO excelVo = new ExcelVO();
+        HSSFCellStyle frame = ExcelUtil.copyFrameStyle(excelVo);
+        frame.setAlignment(HorizontalAlignment.RIGHT);
+        assertNotEquals(frame.getIndex(), ExcelUtil.getFrameStyle(excelVo).getIndex());
+        assertEquals(HorizontalAlignment.GENERAL, ExcelUtil.getFrameStyle(excelVo).getAlignment());
+        assertEquals(BorderStyle.THIN, frame.getBorderTop());
+
+        HSSFCellStyle header = ExcelUtil.copyDefaultHeaderStyle(excelVo, true);
+        header.getFont(excelVo.getWorkbook()).setBold(false);
+        assertTrue(ExcelUtil.getDefaultHeaderStyle(excelVo, true).getFont(excelVo.getWorkbook()).getBold());
+        assertEquals(BorderStyle.THIN, header.getBorderLeft());
+    }
+
+    @Test
+    public void changeDgBorderStyleBordersEmptyCells() {
+        ExcelVO excelVo = new ExcelVO();
+        excelVo.getCell("sheet", 0, 0).setCellValue("a");
+        HSSFCellStyle frame = ExcelUtil.getFrameStyle(excelVo);
+        ExcelUtil.changeDgBorderStyle(excelVo, "sheet", 0, 2, 0, 1, frame);
+        // 没有内容的位置同样创建单元格并设置边框
+        assertEquals(frame.getIndex(), excelVo.getSheet("sheet").getRow(2).getCell(1).getCellStyle().getIndex());
+        assertEquals("a", excelVo.getSheet("sheet").getRow(0).getCell(0).getStringCellValue());
+    }
+}
@@ -0,0 +1,99 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: ExcelTemplateTest
+ * @description: 模板占位符与表格填充, 表格下方的内容随表格下移
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class ExcelTemplateTest {
+
+    @Test
+    public void fillAfterGrid() throws IOException {
+        ExcelTemplate template = template();
+        ExcelVO excelVo = template.newExcelVO();
+        template.fillGrid(excelVo, "rows", grid());
+        template.fill(excelVo, values());
+        assertFilled(excelVo);
+    }
+
+    @Test
+    public void fillBeforeGrid() throws IOException {
+        ExcelTemplate template = template();
+        ExcelVO excelVo = template.newExcelVO();
+        template.fill(excelVo, values());
+        template.fillGrid(excelVo, "rows", grid());
+        assertFilled(excelVo);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void gridPlaceholderFilledOnce() throws IOException {
+        ExcelTemplate template = template();
+        ExcelVO excelVo = template.newExcelVO();
+        template.fillGrid(excelVo, "rows", grid());
+        template.fillGrid(excelVo, "rows", grid());
+    }
+
+    /**
+     * 标题、表格占位符、合计行及合计行下方的合并区域
+     */
+    private static ExcelTemplate template() throws IOException {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        HSSFSheet sheet = workbook.createSheet("data");
+        ExcelEventReaderTest.writeRow(sheet, 0, "${title}");
+        ExcelEventReaderTest.writeRow(sheet, 1, "${rows}");
+        ExcelEventReaderTest.writeRow(sheet, 2, "合计: ${total}");
+        ExcelEventReaderTest.writeRow(sheet, 3, "备注");
+        sheet.addMergedRegion(new CellRangeAddress(3, 3, 0, 2));
+        return ExcelTemplate.load(new ByteArrayInputStream(ExcelEventReaderTest.toBytes(workbook)));
+    }
+
+    private static ExcelVO.DataGridVo<ImportRow> grid() {
+        ExcelVO.DataGridVo<ImportRow> grid = new ExcelVO.DataGridVo<>();
+        grid.setTClass(ImportRow.class);
+        grid.setIncludeBaseheader(Boolean.TRUE);
+        grid.setDataList(Arrays.asList(row("a", 1), row("b", 2), row("c", 3)));
+        return grid;
+    }
+
+    private static ImportRow row(String name, int count) {
+        ImportRow row = new ImportRow();
+        row.setName(name);
+        row.setCount(count);
+        return row;
+    }
+
+    private static Map<String, Object> values() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", "报表");
+        values.put("total", 6);
+        return values;
+    }
+
+    private static void assertFilled(ExcelVO excelVo) {
+        HSSFSheet sheet = excelVo.getSheet("data");
+        assertEquals("报表", sheet.getRow(0).getCell(0).getStringCellValue());
+        // 表头 + 3行数据占用第1-4行
+        assertEquals("名称", sheet.getRow(1).getCell(0).getStringCellValue());
+        assertEquals("a", sheet.getRow(2).getCell(0).getStringCellValue());
+        assertEquals("c", sheet.getRow(4).getCell(0).getStringCellValue());
+        assertEquals(3, (int) sheet.getRow(4).getCell(1).getNumericCellValue());
+        assertEquals("合计: 6", sheet.getRow(5).getCell(0).getStringCellValue());
+        assertEquals("备注", sheet.getRow(6).getCell(0).getStringCellValue());
+        assertEquals(1, sheet.getNumMergedRegions());
+        assertEquals(6, sheet.getMergedRegion(0).getFirstRow());
+    }
+}
@@ -0,0 +1,20 @@
+package com.util.simpleExcel.util;
+
+import cn.jointwisdom.mrad.ai.base.annotation.Excel;
+import lombok.Data;
+
+/**
+ * @className: ImportRow
+ * @description: 导入测试用的绑定对象, 第一列为名称, 第二列为数量, 第三列为金额
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+@Data
+public class ImportRow {
+    @Excel(name = "名称", index = 1)
+    private String name;
+    @Excel(name = "数量", index = 2)
+    private Integer count;
+    @Excel(name = "金额", index = 3)
+    private Long amount;
+}
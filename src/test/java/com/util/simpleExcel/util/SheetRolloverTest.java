@@ -0,0 +1,74 @@
+package com.util.simpleExcel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @className: SheetRolloverTest
+ * @description: 行数达到maxRowsPerSheet时续写到新sheet
+ * @date: 2026/10/18
+ * @version: 1.0
+ */
+public class SheetRolloverTest {
+
+    @Test
+    public void rollsOverAtMaxRowsPerSheet() throws IOException {
+        Workbook workbook = export(Arrays.asList(sheet("data", 5, 3)));
+        assertEquals(3, workbook.getNumberOfSheets());
+        assertSheet(workbook.getSheetAt(0), "data", "r0", "r1");
+        assertSheet(workbook.getSheetAt(1), "data_2", "r2", "r3");
+        assertSheet(workbook.getSheetAt(2), "data_3", "r4");
+    }
+
+    @Test
+    public void skipsNamesOfOtherSheets() throws IOException {
+        // 第二个sheet名为"data_2", 第一个sheet续写时需要避开
+        Workbook workbook = export(Arrays.asList(sheet("data", 3, 3), sheet("DATA_2", 1, 3)));
+        assertEquals(3, workbook.getNumberOfSheets());
+        assertSheet(workbook.getSheetAt(0), "data", "r0", "r1");
+        assertSheet(workbook.getSheetAt(1), "data_3", "r2");
+        assertSheet(workbook.getSheetAt(2), "DATA_2", "r0");
+    }
+
+    private static ExcelUtil.ExcelSheet<ImportRow> sheet(String name, int rows, int maxRowsPerSheet) {
+        List<ImportRow> dataset = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            ImportRow row = new ImportRow();
+            row.setName("r" + i);
+            row.setCount(i);
+            dataset.add(row);
+        }
+        ExcelUtil.ExcelSheet<ImportRow> sheet = new ExcelUtil.ExcelSheet<>();
+        sheet.setSheetName(name);
+        sheet.setDataset(dataset);
+        sheet.setMaxRowsPerSheet(maxRowsPerSheet);
+        sheet.setWidthStrategy(ColumnWidthStrategy.EXACT);
+        return sheet;
+    }
+
+    private static Workbook export(List<ExcelUtil.ExcelSheet<ImportRow>> sheets) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelUtil.exportExcel(sheets, null, null, out);
+        return new HSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertSheet(Sheet sheet, String name, String... names) {
+        assertEquals(name, sheet.getSheetName());
+        assertEquals("名称", sheet.getRow(0).getCell(0).getStringCellValue());
+        assertEquals(names.length, sheet.getLastRowNum());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], sheet.getRow(i + 1).getCell(0).getStringCellValue());
+        }
+    }
+}